@@ -9,24 +9,33 @@ package org.opendaylight.genius.alivenessmonitor.protocols.internal;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Strings;
+import com.google.common.primitives.Bytes;
 import com.google.common.util.concurrent.JdkFutureAdapters;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.StringUtils;
 import org.opendaylight.controller.liblldp.EtherTypes;
 import org.opendaylight.controller.liblldp.LLDP;
 import org.opendaylight.controller.liblldp.LLDPTLV;
 import org.opendaylight.controller.liblldp.LLDPTLV.TLVType;
 import org.opendaylight.controller.liblldp.PacketException;
+import org.opendaylight.controller.md.sal.binding.api.ClusteredDataTreeChangeListener;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.genius.alivenessmonitor.protocols.AlivenessProtocolHandlerRegistry;
 import org.opendaylight.genius.interfacemanager.globals.IfmConstants;
@@ -39,6 +48,9 @@ import org.opendaylight.infrautils.utils.concurrent.ListenableFutures;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.iana._if.type.rev140508.Tunnel;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Uri;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.InterfaceType;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.Interfaces;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.InterfacesState;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces.state.InterfaceKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.endpoint.EndpointType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.endpoint.endpoint.type.Interface;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitor.configs.MonitoringInfo;
@@ -46,6 +58,9 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeCon
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketProcessingService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketInputBuilder;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,8 +72,25 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
     // TODO org.opendaylight.controller.liblldp.LLDPTLV uses Charset.defaultCharset() .. bug there?
     private static final Charset LLDPTLV_CHARSET = StandardCharsets.US_ASCII;
 
+    // getPacketId() wraps at 16000, so the packet id always fits in 5 digits
+    private static final int PACKET_ID_DIGITS = 5;
+
+    private static final InstanceIdentifier<org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces
+        .rev140508.interfaces.state.Interface> INTERFACE_STATE_PATH = InstanceIdentifier.create(InterfacesState.class)
+            .child(org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces.state
+                    .Interface.class);
+
+    private static final InstanceIdentifier<org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces
+        .rev140508.interfaces.Interface> INTERFACE_CONFIG_PATH = InstanceIdentifier.create(Interfaces.class)
+            .child(org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces
+                    .Interface.class);
+
     private final PacketProcessingService packetProcessingService;
     private final AtomicInteger packetId = new AtomicInteger(0);
+    private final ConcurrentMap<String, LldpProbe> probes = new ConcurrentHashMap<>();
+    private final AtomicLong probeInvalidations = new AtomicLong();
+    private final ListenerRegistration<?> interfaceStateListenerRegistration;
+    private final ListenerRegistration<?> interfaceConfigListenerRegistration;
 
     public AlivenessProtocolHandlerLLDP(
             final DataBroker dataBroker,
@@ -67,6 +99,14 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
         super(dataBroker, alivenessProtocolHandlerRegistry,
                 org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.EtherTypes.Lldp);
         this.packetProcessingService = packetProcessingService;
+        this.interfaceStateListenerRegistration = dataBroker.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.OPERATIONAL, INTERFACE_STATE_PATH),
+                (ClusteredDataTreeChangeListener<org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf
+                        .interfaces.rev140508.interfaces.state.Interface>) this::onInterfaceStateChanged);
+        this.interfaceConfigListenerRegistration = dataBroker.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.CONFIGURATION, INTERFACE_CONFIG_PATH),
+                (ClusteredDataTreeChangeListener<org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf
+                        .interfaces.rev140508.interfaces.Interface>) this::onInterfaceConfigChanged);
     }
 
     @Override
@@ -124,6 +164,28 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
             return;
         }
 
+        LldpProbe probe = probes.get(sourceInterface);
+        if (probe == null) {
+            probe = buildProbe(sourceInterface);
+            if (probe == null) {
+                return;
+            }
+        }
+
+        TransmitPacketInput transmitPacketInput = probe.getPacketOut(getPacketId());
+        Future<RpcResult<Void>> futureResult = packetProcessingService.transmitPacket(transmitPacketInput);
+        // TODO This is too ugly and there will be a new util in infrautils to significantly shorten this ASAP:
+        ListenableFutures.addErrorLogging(JdkFutureAdapters.listenInPoolThread(futureResult), LOG,
+                "transmitPacket() failed: {}", transmitPacketInput);
+    }
+
+    /**
+     * Builds the LLDP probe of the source interface from its state, and caches it until the state or the
+     * configuration of the interface changes, as its egress actions depend on both.
+     */
+    private LldpProbe buildProbe(String sourceInterface) {
+        long invalidationsBefore = probeInvalidations.get();
+
         // Get Mac Address for the source interface
         org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508
             .interfaces.state.Interface interfaceState;
@@ -131,14 +193,14 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
             interfaceState = getInterfaceFromOperDS(sourceInterface);
         } catch (ReadFailedException e) {
             LOG.error("getInterfaceFromOperDS failed for sourceInterface: {}", sourceInterface, e);
-            return;
+            return null;
         }
 
         Optional<byte[]> optSourceMac = getMacAddress(interfaceState);
         if (!optSourceMac.isPresent()) {
             LOG.error("Could not read mac address for the source interface {} from the Inventory. "
                     + "LLDP packet cannot be send.", sourceInterface);
-            return;
+            return null;
         }
         byte[] sourceMac = optSourceMac.get();
 
@@ -146,25 +208,76 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
         NodeConnectorId nodeConnectorId = new NodeConnectorId(lowerLayerIf);
         long nodeId = Long.parseLong(getDpnFromNodeConnectorId(nodeConnectorId));
         long portNum = Long.parseLong(getPortNoFromNodeConnectorId(nodeConnectorId));
-        Ethernet ethenetLLDPPacket = makeLLDPPacket(Long.toString(nodeId), portNum, sourceMac, sourceInterface);
+        String customValue = sourceInterface + "#" + Strings.repeat("0", PACKET_ID_DIGITS);
+        Ethernet ethenetLLDPPacket = buildLLDPPacket(Long.toString(nodeId), portNum, sourceMac, customValue);
 
+        LldpProbe probe;
         try {
             List<ActionInfo> actions = getInterfaceActions(interfaceState, portNum);
             if (actions.isEmpty()) {
                 LOG.error("No interface actions to send packet out over interface {}", sourceInterface);
-                return;
+                return null;
             }
             TransmitPacketInput transmitPacketInput = MDSALUtil.getPacketOut(actions, ethenetLLDPPacket.serialize(),
                     nodeId, MDSALUtil.getNodeConnRef(BigInteger.valueOf(nodeId), "0xfffffffd"));
-            Future<RpcResult<Void>> futureResult = packetProcessingService.transmitPacket(transmitPacketInput);
-            // TODO This is too ugly and there will be a new util in infrautils to significantly shorten this ASAP:
-            ListenableFutures.addErrorLogging(JdkFutureAdapters.listenInPoolThread(futureResult), LOG,
-                    "transmitPacket() failed: {}", transmitPacketInput);
+            probe = new LldpProbe(transmitPacketInput, customValue);
         } catch (InterruptedException | ExecutionException | PacketException e) {
-            LOG.error("Error while sending LLDP Packet", e);
+            LOG.error("Error while building LLDP Packet", e);
+            return null;
+        }
+
+        // Do not cache a probe built from an interface state which changed in the meantime
+        if (probeInvalidations.get() == invalidationsBefore) {
+            probes.put(sourceInterface, probe);
+        }
+        return probe;
+    }
+
+    private void onInterfaceStateChanged(Collection<DataTreeModification<org.opendaylight.yang.gen.v1.urn.ietf.params
+            .xml.ns.yang.ietf.interfaces.rev140508.interfaces.state.Interface>> changes) {
+        probeInvalidations.incrementAndGet();
+        for (DataTreeModification<org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508
+                .interfaces.state.Interface> change : changes) {
+            InterfaceKey interfaceKey = change.getRootPath().getRootIdentifier().firstKeyOf(
+                    org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces
+                        .state.Interface.class);
+            if (interfaceKey != null) {
+                invalidateProbe(interfaceKey.getName(), "state");
+            }
+        }
+    }
+
+    private void onInterfaceConfigChanged(Collection<DataTreeModification<org.opendaylight.yang.gen.v1.urn.ietf.params
+            .xml.ns.yang.ietf.interfaces.rev140508.interfaces.Interface>> changes) {
+        probeInvalidations.incrementAndGet();
+        for (DataTreeModification<org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508
+                .interfaces.Interface> change : changes) {
+            org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces
+                .InterfaceKey interfaceKey = change.getRootPath().getRootIdentifier().firstKeyOf(
+                    org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces
+                        .Interface.class);
+            if (interfaceKey != null) {
+                invalidateProbe(interfaceKey.getName(), "configuration");
+            }
         }
     }
 
+    private void invalidateProbe(String interfaceName, String changed) {
+        if (probes.remove(interfaceName) != null) {
+            LOG.debug("Interface {} of {} changed, rebuilding its LLDP probe", changed, interfaceName);
+        }
+    }
+
+    public void close() {
+        if (interfaceStateListenerRegistration != null) {
+            interfaceStateListenerRegistration.close();
+        }
+        if (interfaceConfigListenerRegistration != null) {
+            interfaceConfigListenerRegistration.close();
+        }
+        probes.clear();
+    }
+
     public static String getDpnFromNodeConnectorId(NodeConnectorId portId) {
         /*
          * NodeConnectorId is of form 'openflow:dpnid:portnum'
@@ -217,7 +330,10 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
     }
 
     public Ethernet makeLLDPPacket(String nodeId, long portNum, byte[] srcMac, String sourceInterface) {
+        return buildLLDPPacket(nodeId, portNum, srcMac, sourceInterface + "#" + getPacketId());
+    }
 
+    private Ethernet buildLLDPPacket(String nodeId, long portNum, byte[] srcMac, String customValue) {
         // Create LLDP TTL TLV
         LLDPTLV lldpTlvTTL = buildLLDTLV(LLDPTLV.TLVType.TTL, new byte[] { (byte) 0, (byte) 120 });
 
@@ -227,8 +343,6 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
 
         LLDPTLV lldpTlvPortId = buildLLDTLV(TLVType.PortID, LLDPTLV.createPortIDTLVValue(Long.toHexString(portNum)));
 
-        String customValue = sourceInterface + "#" + getPacketId();
-
         LOG.debug("Sending LLDP packet, custome value {}", customValue);
 
         LLDPTLV lldpTlvCustom = buildLLDTLV(TLVType.Custom, customValue.getBytes(LLDPTLV_CHARSET));
@@ -267,4 +381,37 @@ public class AlivenessProtocolHandlerLLDP extends AbstractAlivenessProtocolHandl
         }
         return interfaceName;
     }
+
+    /**
+     * Pre-built LLDP packet out of a monitored interface. Only the packet id, in the custom TLV, differs between
+     * the LLDP packets of an interface, and it has a fixed width; so it is patched into a copy of the frame.
+     */
+    static final class LldpProbe {
+        private final TransmitPacketInput template;
+        private final int packetIdOffset;
+
+        /**
+         * Constructor.
+         *
+         * @param template the packet out, with a zero packet id
+         * @param customValue the value of the custom TLV in the template, ending with the zero packet id
+         */
+        LldpProbe(TransmitPacketInput template, String customValue) {
+            this.template = template;
+            byte[] customValueBytes = customValue.getBytes(LLDPTLV_CHARSET);
+            this.packetIdOffset = Bytes.lastIndexOf(template.getPayload(), customValueBytes)
+                    + customValueBytes.length - PACKET_ID_DIGITS;
+        }
+
+        TransmitPacketInput getPacketOut(int packetId) {
+            // A copy, as earlier packets may still be in flight
+            byte[] frame = template.getPayload().clone();
+            int id = packetId;
+            for (int i = packetIdOffset + PACKET_ID_DIGITS - 1; i >= packetIdOffset; i--) {
+                frame[i] = (byte) ('0' + id % 10);
+                id /= 10;
+            }
+            return new TransmitPacketInputBuilder(template).setPayload(frame).build();
+        }
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.protocols.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.opendaylight.genius.alivenessmonitor.protocols.internal.AlivenessProtocolHandlerLLDP.LldpProbe;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.TransmitPacketInputBuilder;
+
+public class LldpProbeTest {
+
+    // the interface name also appears earlier in the frame, the custom TLV is the last occurrence
+    private static final String TEMPLATE = "headertap0#00000 system name tap0#00000trailer";
+
+    private final TransmitPacketInput template = new TransmitPacketInputBuilder()
+            .setPayload(TEMPLATE.getBytes(StandardCharsets.US_ASCII)).build();
+    private final LldpProbe probe = new LldpProbe(template, "tap0#00000");
+
+    @Test
+    public void testPacketIdIsPatchedIntoTheCustomValue() {
+        assertEquals("headertap0#00000 system name tap0#00042trailer", payload(probe.getPacketOut(42)));
+        assertEquals("headertap0#00000 system name tap0#16000trailer", payload(probe.getPacketOut(16000)));
+    }
+
+    @Test
+    public void testTemplateIsNotChanged() {
+        TransmitPacketInput first = probe.getPacketOut(1);
+        probe.getPacketOut(2);
+
+        assertEquals(TEMPLATE, payload(template));
+        assertEquals("headertap0#00000 system name tap0#00001trailer", payload(first));
+    }
+
+    private static String payload(TransmitPacketInput packetOut) {
+        return new String(packetOut.getPayload(), StandardCharsets.US_ASCII);
+    }
+}
@@ -28,7 +28,10 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
@@ -36,7 +39,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
@@ -56,6 +58,7 @@ import org.opendaylight.genius.alivenessmonitor.protocols.AlivenessProtocolHandl
 import org.opendaylight.genius.infra.ManagedNewTransactionRunner;
 import org.opendaylight.genius.infra.ManagedNewTransactionRunnerImpl;
 import org.opendaylight.genius.mdsalutil.packet.Ethernet;
+import org.opendaylight.genius.mdsalutil.packet.EthernetView;
 import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.AlivenessMonitorService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.EtherTypes;
@@ -122,11 +125,15 @@ public class AlivenessMonitor
     private static final Logger LOG = LoggerFactory.getLogger(AlivenessMonitor.class);
 
     private static final int THREAD_POOL_SIZE = 4;
-    private static final boolean INTERRUPT_TASK = true;
-    private static final int NO_DELAY = 0;
     private static final Long INITIAL_COUNT = 0L;
     private static final boolean CREATE_MISSING_PARENT = true;
     private static final int INVALID_ID = 0;
+    private static final short ETH_TYPE_ARP = org.opendaylight.controller.liblldp.EtherTypes.ARP.shortValue();
+    private static final short ETH_TYPE_LLDP = org.opendaylight.controller.liblldp.EtherTypes.LLDP.shortValue();
+    private static final long CHECKPOINT_INTERVAL_MILLIS =
+            Long.getLong("alivenessmonitor.checkpoint.interval.ms", 10000L);
+    private static final long PROBE_TICK_MILLIS = Long.getLong("alivenessmonitor.probe.tick.ms", 10L);
+    private static final int PROBE_WHEEL_SIZE = Integer.getInteger("alivenessmonitor.probe.wheel.size", 1024);
 
     private static class FutureCallbackImpl implements FutureCallback<Void> {
         private final String message;
@@ -146,30 +153,19 @@ public class AlivenessMonitor
         }
     }
 
-    private class AlivenessMonitorTask implements Runnable {
-        private final MonitoringInfo monitoringInfo;
-
-        AlivenessMonitorTask(MonitoringInfo monitoringInfo) {
-            this.monitoringInfo = monitoringInfo;
-        }
-
-        @Override
-        public void run() {
-            LOG.trace("send monitor packet - {}", monitoringInfo);
-            sendMonitorPacket(monitoringInfo);
-        }
-    }
-
     private final DataBroker dataBroker;
     private final ManagedNewTransactionRunner txRunner;
     private final IdManagerService idManager;
     private final NotificationPublishService notificationPublishService;
     private final AlivenessProtocolHandlerRegistry alivenessProtocolHandlerRegistry;
-    private final ConcurrentMap<Long, ScheduledFuture<?>> monitoringTasks = new ConcurrentHashMap<>();
     private final ScheduledExecutorService monitorService;
+    private final ProbeTimingWheel<MonitoringInfo> probeScheduler;
     private final ExecutorService callbackExecutorService;
     private final LoadingCache<Long, String> monitorIdKeyCache;
     private final ConcurrentMap<String, Semaphore> lockMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MonitoringStateMachine> monitoringStates = new ConcurrentHashMap<>();
+    // Serializes the submission of monitoring state writes with their deletion by monitorStop()
+    private final Object monitoringStateWriteLock = new Object();
 
     @Inject
     public AlivenessMonitor(final DataBroker dataBroker, final IdManagerService idManager,
@@ -186,6 +182,11 @@ public class AlivenessMonitor
         callbackExecutorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE,
                 ThreadFactoryProvider.builder().namePrefix("Aliveness Callback Handler").logger(LOG).build().get());
 
+        probeScheduler = new ProbeTimingWheel<>(PROBE_TICK_MILLIS, PROBE_WHEEL_SIZE, this::sendMonitorPackets,
+                monitorService);
+        monitorService.scheduleWithFixedDelay(this::checkpointMonitoringStates, CHECKPOINT_INTERVAL_MILLIS,
+                CHECKPOINT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
         createIdPool();
         monitorIdKeyCache = CacheBuilder.newBuilder().build(new CacheLoader<Long, String>() {
             @Override
@@ -202,11 +203,20 @@ public class AlivenessMonitor
     @PreDestroy
     public void close() {
         monitorIdKeyCache.cleanUp();
+        probeScheduler.close();
         monitorService.shutdown();
+        checkpointMonitoringStates();
         callbackExecutorService.shutdown();
         LOG.info("{} close", getClass().getSimpleName());
     }
 
+    /**
+     * Returns the scheduler of the monitor packets, with its per tick send latency.
+     */
+    public ProbeTimingWheel<?> getProbeScheduler() {
+        return probeScheduler;
+    }
+
     Semaphore getLock(String key) {
         return lockMap.get(key);
     }
@@ -276,8 +286,14 @@ public class AlivenessMonitor
         }
 
         if (pktInReason == SendToController.class) {
-            Packet packetInFormatted;
             byte[] data = packetReceived.getPayload();
+            // Most punted packets are not monitor packets: only deserialize the ones the handlers decode
+            if (!isMonitorPacket(new EthernetView().wrap(data))) {
+                LOG.trace("Unsupported packet type. Ignoring the packet...");
+                return;
+            }
+
+            Packet packetInFormatted;
             Ethernet res = new Ethernet();
 
             try {
@@ -319,107 +335,150 @@ public class AlivenessMonitor
         }
     }
 
+    private static boolean isMonitorPacket(EthernetView ethernet) {
+        if (!ethernet.isValid()) {
+            return false;
+        }
+        short etherType = ethernet.getEtherType();
+        return etherType == ETH_TYPE_ARP || etherType == ETH_TYPE_LLDP;
+    }
+
     private void processReceivedMonitorKey(final String monitorKey) {
         Preconditions.checkNotNull(monitorKey, "Monitor Key required to process the state");
 
         LOG.debug("Processing monitorKey: {} for received packet", monitorKey);
 
-        final Semaphore lock = lockMap.get(monitorKey);
-        LOG.debug("Acquiring lock for monitor key : {} to process monitor packet", monitorKey);
-        acquireLock(lock);
-
-        final ReadWriteTransaction tx = dataBroker.newReadWriteTransaction();
+        MonitoringStateMachine monitoringState = monitoringStates.get(monitorKey);
+        if (monitoringState != null) {
+            processResponse(monitoringState);
+            return;
+        }
 
+        // This node did not start the monitor itself, e.g. after a restart: the state is loaded from the datastore
+        // without blocking the packet-in thread
+        final ReadOnlyTransaction tx = dataBroker.newReadOnlyTransaction();
         ListenableFuture<Optional<MonitoringState>> stateResult = tx.read(LogicalDatastoreType.OPERATIONAL,
                 getMonitorStateId(monitorKey));
-
-        // READ Callback
         Futures.addCallback(stateResult, new FutureCallback<Optional<MonitoringState>>() {
 
             @Override
             public void onSuccess(@Nonnull Optional<MonitoringState> optState) {
-
-                if (optState.isPresent()) {
-                    final MonitoringState currentState = optState.get();
-
-                    if (LOG.isTraceEnabled()) {
-                        LOG.trace("OnPacketReceived : Monitoring state from ODS : {} ", currentState);
-                    }
-
-                    // Long responsePendingCount = currentState.getResponsePendingCount();
-                    //
-                    // Need to relook at the pending count logic to support N
-                    // out of M scenarios
-                    // if (currentState.getState() != LivenessState.Up) {
-                    // //Reset responsePendingCount when state changes from DOWN
-                    // to UP
-                    // responsePendingCount = INITIAL_COUNT;
-                    // }
-                    //
-                    // if (responsePendingCount > INITIAL_COUNT) {
-                    // responsePendingCount =
-                    // currentState.getResponsePendingCount() - 1;
-                    // }
-                    Long responsePendingCount = INITIAL_COUNT;
-
-                    final boolean stateChanged = currentState.getState() == LivenessState.Down
-                            || currentState.getState() == LivenessState.Unknown;
-
-                    final MonitoringState state = new MonitoringStateBuilder().setMonitorKey(monitorKey)
-                            .setState(LivenessState.Up).setResponsePendingCount(responsePendingCount).build();
-                    tx.merge(LogicalDatastoreType.OPERATIONAL, getMonitorStateId(monitorKey), state);
-                    ListenableFuture<Void> writeResult = tx.submit();
-
-                    // WRITE Callback
-                    Futures.addCallback(writeResult, new FutureCallback<Void>() {
-                        @Override
-                        public void onSuccess(Void noarg) {
-                            releaseLock(lock);
-                            if (stateChanged) {
-                                // send notifications
-                                if (LOG.isTraceEnabled()) {
-                                    LOG.trace("Sending notification for monitor Id : {} with Current State: {}",
-                                            currentState.getMonitorId(), LivenessState.Up);
-                                }
-                                publishNotification(currentState.getMonitorId(), LivenessState.Up);
-                            } else {
-                                if (LOG.isTraceEnabled()) {
-                                    LOG.trace("Successful in writing monitoring state {} to ODS", state);
-                                }
-                            }
-                        }
-
-                        @Override
-                        public void onFailure(Throwable error) {
-                            releaseLock(lock);
-                            LOG.warn("Error in writing monitoring state : {} to Datastore", monitorKey, error);
-                            if (LOG.isTraceEnabled()) {
-                                LOG.trace("Error in writing monitoring state: {} to Datastore", state);
-                            }
-                        }
-                    }, callbackExecutorService);
-                } else {
+                tx.close();
+                if (!optState.isPresent()) {
                     if (LOG.isTraceEnabled()) {
                         LOG.trace("Monitoring State not available for key: {} to process the Packet received",
                                 monitorKey);
                     }
-                    // Complete the transaction
-                    tx.submit();
-                    releaseLock(lock);
+                    return;
                 }
+                processResponse(cacheMonitoringState(monitorKey, optState.get()));
             }
 
             @Override
             public void onFailure(Throwable error) {
-                LOG.error("Error when reading Monitoring State for key: {} to process the Packet received", monitorKey,
+                tx.close();
+                LOG.warn("Error reading monitoring state for key: {} to process the Packet received", monitorKey,
                         error);
-                // FIXME: Not sure if the transaction status is valid to cancel
-                tx.cancel();
-                releaseLock(lock);
             }
         }, callbackExecutorService);
     }
 
+    private void processResponse(MonitoringStateMachine monitoringState) {
+        monitoringState.responseReceived();
+        monitoringState.reportTransitions(state -> {
+            // send notifications
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Sending notification for monitor Id : {} with Current State: {}",
+                        state.getMonitorId(), state.getState());
+            }
+            reportTransition(monitoringState, state);
+        });
+    }
+
+    /**
+     * Returns the in-memory state of a monitor, loading it from the datastore if this node did not start
+     * the monitor itself, e.g. after a restart; or null if there is no such monitor. The load blocks, so this is
+     * not used for the received packets.
+     */
+    private MonitoringStateMachine getMonitoringState(String monitorKey) {
+        MonitoringStateMachine monitoringState = monitoringStates.get(monitorKey);
+        if (monitoringState != null) {
+            return monitoringState;
+        }
+        Optional<MonitoringState> optState = read(LogicalDatastoreType.OPERATIONAL, getMonitorStateId(monitorKey));
+        if (!optState.isPresent()) {
+            return null;
+        }
+        return cacheMonitoringState(monitorKey, optState.get());
+    }
+
+    /**
+     * Keeps the state of a monitor loaded from the datastore in memory, unless it was meanwhile loaded or started.
+     */
+    private MonitoringStateMachine cacheMonitoringState(String monitorKey, MonitoringState state) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Monitoring state from ODS : {} ", state);
+        }
+        MonitoringStateMachine monitoringState = new MonitoringStateMachine(state);
+        MonitoringStateMachine existingState = monitoringStates.putIfAbsent(monitorKey, monitoringState);
+        return existingState != null ? existingState : monitoringState;
+    }
+
+    /**
+     * Persists and notifies a state transition of a monitor, unless the monitor was stopped meanwhile.
+     */
+    private void reportTransition(MonitoringStateMachine monitoringState, MonitoringState state) {
+        synchronized (monitoringStateWriteLock) {
+            if (monitoringState.isStopped()) {
+                return;
+            }
+            Futures.addCallback(txRunner.callWithNewWriteOnlyTransactionAndSubmit(
+                tx -> tx.merge(LogicalDatastoreType.OPERATIONAL, getMonitorStateId(state.getMonitorKey()), state)),
+                    new FutureCallbackImpl(String.format("Write of monitoring state %s", state)),
+                    MoreExecutors.directExecutor());
+        }
+        publishNotification(state.getMonitorId(), state.getState());
+    }
+
+    /**
+     * Persists the counters of all monitors which changed since the last checkpoint, in one transaction.
+     */
+    private void checkpointMonitoringStates() {
+        List<MonitoringStateMachine> checkpointed = new ArrayList<>();
+        List<MonitoringState> states = new ArrayList<>();
+        ListenableFuture<Void> checkpointFuture;
+        synchronized (monitoringStateWriteLock) {
+            for (MonitoringStateMachine monitoringState : monitoringStates.values()) {
+                MonitoringState state = monitoringState.checkpoint();
+                if (state != null) {
+                    checkpointed.add(monitoringState);
+                    states.add(state);
+                }
+            }
+            if (states.isEmpty()) {
+                return;
+            }
+            LOG.trace("Checkpointing {} monitoring states", states.size());
+            checkpointFuture = txRunner.callWithNewWriteOnlyTransactionAndSubmit(tx -> {
+                for (MonitoringState state : states) {
+                    tx.merge(LogicalDatastoreType.OPERATIONAL, getMonitorStateId(state.getMonitorKey()), state);
+                }
+            });
+        }
+        Futures.addCallback(checkpointFuture, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void noarg) {
+                LOG.trace("Checkpointed {} monitoring states", states.size());
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                LOG.warn("Error in checkpointing {} monitoring states to Datastore", states.size(), error);
+                checkpointed.forEach(MonitoringStateMachine::checkpointFailed);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
     private String getIpAddress(EndpointType endpoint) {
         String ipAddress = "";
         if (endpoint instanceof IpAddress) {
@@ -545,14 +604,16 @@ public class AlivenessMonitor
 
                     @Override
                     public void onSuccess(Void noarg) {
-                        lockMap.put(monitoringKey, new Semaphore(1, true));
                         if (ethType == EtherTypes.Bfd) {
+                            lockMap.put(monitoringKey, new Semaphore(1, true));
                             handler.startMonitoringTask(monitoringInfo);
                             return;
                         }
+                        monitoringStates.put(monitoringKey,
+                                new MonitoringStateMachine(monitoringKey, monitorId, LivenessState.Unknown));
                         // Schedule task
                         LOG.debug("Scheduling monitor task for config: {}", in);
-                        scheduleMonitoringTask(monitoringInfo, profile.getMonitorInterval());
+                        scheduleMonitoringTask(monitoringInfo, profile);
                     }
                 }, callbackExecutorService);
             }
@@ -602,11 +663,8 @@ public class AlivenessMonitor
                 MoreExecutors.directExecutor());
     }
 
-    private void scheduleMonitoringTask(MonitoringInfo monitoringInfo, long monitorInterval) {
-        AlivenessMonitorTask monitorTask = new AlivenessMonitorTask(monitoringInfo);
-        ScheduledFuture<?> scheduledFutureResult = monitorService.scheduleAtFixedRate(monitorTask, NO_DELAY,
-                monitorInterval, TimeUnit.MILLISECONDS);
-        monitoringTasks.put(monitoringInfo.getId(), scheduledFutureResult);
+    private void scheduleMonitoringTask(MonitoringInfo monitoringInfo, MonitorProfile profile) {
+        probeScheduler.schedule(monitoringInfo.getId(), monitoringInfo, profile.getMonitorInterval());
     }
 
     @Override
@@ -683,7 +741,7 @@ public class AlivenessMonitor
                                     ((HwVtepTunnelsStateHandler) alivenessProtocolHandlerRegistry.get(protocolType))
                                             .resetMonitoringTask(true);
                                 } else {
-                                    scheduleMonitoringTask(info, profile.getMonitorInterval());
+                                    scheduleMonitoringTask(info, profile);
                                 }
                                 result.set(RpcResultBuilder.<Void>success().build());
                             } else {
@@ -708,10 +766,6 @@ public class AlivenessMonitor
     }
 
     private boolean stopMonitoringTask(Long monitorId) {
-        return stopMonitoringTask(monitorId, INTERRUPT_TASK);
-    }
-
-    private boolean stopMonitoringTask(Long monitorId, boolean interruptTask) {
         Optional<MonitoringInfo> optInfo = read(LogicalDatastoreType.OPERATIONAL, getMonitoringInfoId(monitorId));
         if (!optInfo.isPresent()) {
             LOG.warn("There is no monitoring info present for monitor id {}", monitorId);
@@ -727,12 +781,7 @@ public class AlivenessMonitor
                     .resetMonitoringTask(false);
             return true;
         }
-        ScheduledFuture<?> scheduledFutureResult = monitoringTasks.get(monitorId);
-        if (scheduledFutureResult != null) {
-            scheduledFutureResult.cancel(interruptTask);
-            return true;
-        }
-        return false;
+        return probeScheduler.cancel(monitorId);
     }
 
     Optional<MonitorProfile> getMonitorProfile(Long profileId) {
@@ -771,102 +820,63 @@ public class AlivenessMonitor
         }
     }
 
-    private void sendMonitorPacket(final MonitoringInfo monitoringInfo) {
-        // TODO: Handle interrupts
+    private void sendMonitorPackets(List<MonitoringInfo> probes) {
+        // The profiles are read again for each batch, so a deleted profile stops its monitors; each profile is only
+        // read once per batch though, as most monitors share a few profiles
+        Map<Long, Optional<MonitorProfile>> profiles = new HashMap<>();
+        Map<EtherTypes, List<MonitoringInfo>> monitorInfosByProtocol = new EnumMap<>(EtherTypes.class);
+        for (MonitoringInfo monitoringInfo : probes) {
+            Optional<MonitorProfile> optProfile = profiles.computeIfAbsent(monitoringInfo.getProfileId(),
+                this::getMonitorProfile);
+            if (!optProfile.isPresent()) {
+                LOG.warn("No monitor profile {} to send the monitor packet of monitor id {}",
+                        monitoringInfo.getProfileId(), monitoringInfo.getId());
+                continue;
+            }
+            MonitorProfile profile = optProfile.get();
+            if (updateStateForMonitorPacket(monitoringInfo, profile)) {
+                monitorInfosByProtocol.computeIfAbsent(profile.getProtocolType(), type -> new ArrayList<>())
+                        .add(monitoringInfo);
+            }
+        }
+        // invoke packetout on protocol handlers
+        monitorInfosByProtocol.forEach((protocolType, monitorInfos) -> {
+            AlivenessProtocolHandler<?> handler = alivenessProtocolHandlerRegistry.getOpt(protocolType);
+            if (handler != null) {
+                LOG.debug("Sending {} {} monitoring packets", monitorInfos.size(), protocolType);
+                handler.startMonitoringTasks(monitorInfos);
+            }
+        });
+    }
+
+    /**
+     * Records a monitor packet about to be sent in the state of its monitor.
+     *
+     * @return false if the monitor packet must not be sent
+     */
+    private boolean updateStateForMonitorPacket(final MonitoringInfo monitoringInfo, final MonitorProfile profile) {
         final Long monitorId = monitoringInfo.getId();
         final String monitorKey = monitorIdKeyCache.getUnchecked(monitorId);
         if (monitorKey == null) {
             LOG.warn("No monitor Key associated with id {} to send the monitor packet", monitorId);
-            return;
+            return false;
         } else {
             LOG.debug("Sending monitoring packet for key: {}", monitorKey);
         }
 
-        final MonitorProfile profile;
-        Optional<MonitorProfile> optProfile = getMonitorProfile(monitoringInfo.getProfileId());
-        if (optProfile.isPresent()) {
-            profile = optProfile.get();
-        } else {
-            LOG.warn("No monitor profile associated with id {}. " + "Could not send Monitor packet for monitor-id {}",
-                    monitoringInfo.getProfileId(), monitorId);
-            return;
+        MonitoringStateMachine monitoringState = getMonitoringState(monitorKey);
+        if (monitoringState == null) {
+            LOG.warn("Monitoring State associated with id {} is not present to send packet out.", monitorId);
+            return false;
         }
-
-        final Semaphore lock = lockMap.get(monitorKey);
-        LOG.debug("Acquiring lock for monitor key : {} to send monitor packet", monitorKey);
-        acquireLock(lock);
-
-        final ReadWriteTransaction tx = dataBroker.newReadWriteTransaction();
-        ListenableFuture<Optional<MonitoringState>> readResult = tx.read(LogicalDatastoreType.OPERATIONAL,
-                getMonitorStateId(monitorKey));
-        ListenableFuture<Void> writeResult = Futures.transformAsync(readResult, optState -> {
-            if (optState.isPresent()) {
-                MonitoringState state = optState.get();
-
-                // Increase the request count
-                Long requestCount = state.getRequestCount() + 1;
-
-                // Check with the monitor window
-                LivenessState currentLivenessState = state.getState();
-
-                // Increase the pending response count
-                long responsePendingCount = state.getResponsePendingCount();
-                if (responsePendingCount < profile.getMonitorWindow()) {
-                    responsePendingCount = responsePendingCount + 1;
-                }
-
-                // Check with the failure threshold
-                if (responsePendingCount >= profile.getFailureThreshold()) {
-                    // Change the state to down and notify
-                    if (currentLivenessState != LivenessState.Down) {
-                        LOG.debug("Response pending Count: {}, Failure threshold: {} for monitorId {}",
-                                responsePendingCount, profile.getFailureThreshold(), state.getMonitorId());
-                        LOG.info("Sending notification for monitor Id : {} with State: {}",
-                                state.getMonitorId(), LivenessState.Down);
-                        publishNotification(monitorId, LivenessState.Down);
-                        currentLivenessState = LivenessState.Down;
-                        // Reset requestCount when state changes
-                        // from UP to DOWN
-                        requestCount = INITIAL_COUNT;
-                    }
-                }
-
-                // Update the ODS with state
-                MonitoringState updatedState = new MonitoringStateBuilder(/* state */)
-                            .setMonitorKey(state.getMonitorKey()).setRequestCount(requestCount)
-                            .setResponsePendingCount(responsePendingCount).setState(currentLivenessState).build();
-                tx.merge(LogicalDatastoreType.OPERATIONAL, getMonitorStateId(state.getMonitorKey()),
-                            updatedState);
-                return tx.submit();
-            } else {
-                // Close the transaction
-                tx.submit();
-                String errorMsg = String.format(
-                        "Monitoring State associated with id %d is not present to send packet out.", monitorId);
-                return Futures.immediateFailedFuture(new RuntimeException(errorMsg));
-            }
-        }, callbackExecutorService);
-
-        Futures.addCallback(writeResult, new FutureCallback<Void>() {
-            @Override
-            public void onSuccess(Void noarg) {
-                // invoke packetout on protocol handler
-                AlivenessProtocolHandler<?> handler =
-                        alivenessProtocolHandlerRegistry.getOpt(profile.getProtocolType());
-                if (handler != null) {
-                    LOG.debug("Sending monitoring packet {}", monitoringInfo);
-                    handler.startMonitoringTask(monitoringInfo);
-                }
-                releaseLock(lock);
-            }
-
-            @Override
-            public void onFailure(Throwable error) {
-                LOG.warn("Updating monitoring state for key: {} failed. Monitoring packet is not sent", monitorKey,
-                        error);
-                releaseLock(lock);
-            }
-        }, callbackExecutorService);
+        monitoringState.requestSent(profile.getMonitorWindow(), profile.getFailureThreshold());
+        monitoringState.reportTransitions(state -> {
+            // Change the state to down and notify
+            LOG.debug("Failure threshold: {} reached for monitorId {}", profile.getFailureThreshold(), monitorId);
+            LOG.info("Sending notification for monitor Id : {} with State: {}", monitorId, state.getState());
+            reportTransition(monitoringState, state);
+        });
+        return true;
     }
 
     void publishNotification(final Long monitorId, final LivenessState state) {
@@ -1060,16 +1070,33 @@ public class AlivenessMonitor
 
             String monitorKey = monitorIdKeyCache.getUnchecked(monitorId);
 
+            // Stop the in-memory state first, so that no transition or checkpoint writes it after it is deleted;
+            // it is kept until then, so that it is not loaded from the datastore again meanwhile
+            MonitoringStateMachine monitoringState = monitorKey == null ? null : monitoringStates.computeIfAbsent(
+                monitorKey, key -> new MonitoringStateMachine(key, monitorId, LivenessState.Unknown));
+            if (monitoringState != null) {
+                monitoringState.stop();
+            }
+
             // Cleanup the Data store
-            Futures.addCallback(txRunner.callWithNewWriteOnlyTransactionAndSubmit(tx -> {
-                if (monitorKey != null) {
-                    tx.delete(LogicalDatastoreType.OPERATIONAL, getMonitorStateId(monitorKey));
-                    monitorIdKeyCache.invalidate(monitorId);
-                }
+            ListenableFuture<Void> deleteFuture;
+            synchronized (monitoringStateWriteLock) {
+                deleteFuture = txRunner.callWithNewWriteOnlyTransactionAndSubmit(tx -> {
+                    if (monitorKey != null) {
+                        tx.delete(LogicalDatastoreType.OPERATIONAL, getMonitorStateId(monitorKey));
+                        monitorIdKeyCache.invalidate(monitorId);
+                    }
 
-                tx.delete(LogicalDatastoreType.OPERATIONAL, getMonitoringInfoId(monitorId));
-            }), new FutureCallbackImpl(String.format("Delete monitor state with Id %d", monitorId)),
+                    tx.delete(LogicalDatastoreType.OPERATIONAL, getMonitoringInfoId(monitorId));
+                });
+            }
+            Futures.addCallback(deleteFuture,
+                    new FutureCallbackImpl(String.format("Delete monitor state with Id %d", monitorId)),
                     MoreExecutors.directExecutor());
+            if (monitoringState != null) {
+                deleteFuture.addListener(() -> monitoringStates.remove(monitorKey, monitoringState),
+                        MoreExecutors.directExecutor());
+            }
 
             MonitoringInfo info = optInfo.get();
             String interfaceName = getInterfaceName(info.getSource().getEndpointType());
@@ -1227,7 +1254,7 @@ public class AlivenessMonitor
                                     currentStatus -> currentStatus != MonitorStatus.Started);
                                 MonitorProfile profile = optProfile.get();
                                 LOG.debug("Monitor Resume - Scheduling monitoring task for Id: {}", monitorId);
-                                scheduleMonitoringTask(info, profile.getMonitorInterval());
+                                scheduleMonitoringTask(info, profile);
                             } else {
                                 String msg = String.format("Monitoring profile associated with id %d is not present",
                                         info.getProfileId());
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.internal;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.LivenessState;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitoring.states.MonitoringState;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitoring.states.MonitoringStateBuilder;
+
+/**
+ * In-memory request and response pending counters and liveness state of a monitor.
+ *
+ * <p>The {@link MonitoringState} in the datastore is only a copy of this: state transitions are queued, and
+ * reported in order through {@link #reportTransitions(Consumer)}, outside the lock of the monitor, so that the
+ * caller persists and notifies them; the counters are checkpointed periodically through {@link #checkpoint()}.
+ * Once {@link #stop() stopped}, the monitor records and reports nothing any more.
+ */
+final class MonitoringStateMachine {
+
+    private final String monitorKey;
+    private final Long monitorId;
+    private final Queue<MonitoringState> transitions = new ArrayDeque<>();
+    private long requestCount;
+    private long responsePendingCount;
+    private LivenessState state;
+    private boolean dirty;
+    private boolean reporting;
+    private volatile boolean stopped;
+
+    MonitoringStateMachine(String monitorKey, Long monitorId, LivenessState state) {
+        this.monitorKey = monitorKey;
+        this.monitorId = monitorId;
+        this.state = state;
+    }
+
+    MonitoringStateMachine(MonitoringState monitoringState) {
+        this(monitoringState.getMonitorKey(), monitoringState.getMonitorId(), monitoringState.getState());
+        this.requestCount = zeroIfNull(monitoringState.getRequestCount());
+        this.responsePendingCount = zeroIfNull(monitoringState.getResponsePendingCount());
+    }
+
+    Long getMonitorId() {
+        return monitorId;
+    }
+
+    /**
+     * Records a monitor packet about to be sent. Goes Down once failureThreshold responses are pending.
+     */
+    synchronized void requestSent(long monitorWindow, long failureThreshold) {
+        if (stopped) {
+            return;
+        }
+        dirty = true;
+        requestCount++;
+        if (responsePendingCount < monitorWindow) {
+            responsePendingCount++;
+        }
+        if (responsePendingCount >= failureThreshold && state != LivenessState.Down) {
+            state = LivenessState.Down;
+            // Reset requestCount when state changes from UP to DOWN
+            requestCount = 0;
+            transitions.add(snapshot());
+        }
+    }
+
+    /**
+     * Records a response received. Goes Up if the monitor was Down or Unknown.
+     */
+    synchronized void responseReceived() {
+        if (stopped) {
+            return;
+        }
+        // Need to relook at the pending count logic to support N out of M scenarios
+        dirty = true;
+        responsePendingCount = 0;
+        if (state == LivenessState.Down || state == LivenessState.Unknown) {
+            state = LivenessState.Up;
+            transitions.add(snapshot());
+        }
+    }
+
+    /**
+     * Reports the queued transitions to the reporter, in order, without holding the lock of this monitor. If another
+     * thread is already reporting, it also reports the transitions queued meanwhile, and this returns right away.
+     */
+    void reportTransitions(Consumer<MonitoringState> reporter) {
+        synchronized (this) {
+            if (reporting) {
+                return;
+            }
+            reporting = true;
+        }
+        boolean drained = false;
+        try {
+            while (!drained) {
+                MonitoringState transition;
+                synchronized (this) {
+                    transition = transitions.poll();
+                    if (transition == null) {
+                        reporting = false;
+                        drained = true;
+                        continue;
+                    }
+                }
+                reporter.accept(transition);
+            }
+        } finally {
+            if (!drained) {
+                synchronized (this) {
+                    reporting = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the monitor: its queued transitions are dropped, and it records, reports and checkpoints nothing more.
+     */
+    synchronized void stop() {
+        stopped = true;
+        dirty = false;
+        transitions.clear();
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Returns the state to persist if it changed since the last checkpoint, else null.
+     */
+    synchronized MonitoringState checkpoint() {
+        if (!dirty) {
+            return null;
+        }
+        dirty = false;
+        return snapshot();
+    }
+
+    /**
+     * Marks the state to be persisted again by the next checkpoint, after a failed write.
+     */
+    synchronized void checkpointFailed() {
+        dirty = !stopped;
+    }
+
+    private MonitoringState snapshot() {
+        // No status: it is owned by the datastore, and this is merged
+        return new MonitoringStateBuilder().setMonitorKey(monitorKey).setMonitorId(monitorId)
+                .setRequestCount(requestCount).setResponsePendingCount(responsePendingCount).setState(state).build();
+    }
+
+    private static long zeroIfNull(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel which sends periodic probes in batches, one batch per tick.
+ *
+ * <p>Each probe sits in the bucket of the wheel for its next tick, with the number of full wheel rounds still to
+ * wait; so scheduling and cancelling a probe is O(1), and a tick only visits its own bucket. Probes with the same
+ * interval are spread over that interval by a random first delay, instead of all firing in lockstep.
+ *
+ * <p>The buckets are only touched by the ticker thread: {@link #schedule(Long, Object, long)} queues the probe for
+ * the next tick, and {@link #cancel(Long)} marks it cancelled; the ticker drops cancelled probes when it visits
+ * their bucket. The probes due in a tick are handed as one batch to the sender on the given executor, so a slow
+ * batch does not delay the ticks.
+ *
+ * @param <T> the type of the probes
+ */
+public final class ProbeTimingWheel<T> implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProbeTimingWheel.class);
+
+    private final long tickMillis;
+    private final List<List<Probe<T>>> wheel;
+    private final int mask;
+    private final Queue<Probe<T>> newProbes = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<Long, Probe<T>> probes = new ConcurrentHashMap<>();
+    private final Consumer<List<T>> batchSender;
+    private final Executor senderExecutor;
+    private final ScheduledExecutorService ticker;
+    // Only accessed by the ticker thread
+    private long tick;
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder probesSent = new LongAdder();
+    private final AtomicLong lastSendLatencyNanos = new AtomicLong();
+    private final AtomicLong maxSendLatencyNanos = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param tickMillis duration of a tick, the resolution of the probe intervals
+     * @param wheelSize number of buckets, rounded up to a power of 2
+     * @param batchSender sends the probes due in a tick
+     * @param senderExecutor runs the batchSender
+     */
+    public ProbeTimingWheel(long tickMillis, int wheelSize, Consumer<List<T>> batchSender, Executor senderExecutor) {
+        this(tickMillis, wheelSize, batchSender, senderExecutor, Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryProvider.builder().namePrefix("Aliveness Probe Ticker").logger(LOG).build().get()));
+    }
+
+    ProbeTimingWheel(long tickMillis, int wheelSize, Consumer<List<T>> batchSender, Executor senderExecutor,
+            ScheduledExecutorService ticker) {
+        this.tickMillis = tickMillis;
+        int buckets = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.mask = buckets - 1;
+        this.batchSender = batchSender;
+        this.senderExecutor = senderExecutor;
+        this.ticker = ticker;
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules a probe every intervalMillis, replacing the probe already scheduled with this id, if any.
+     */
+    public void schedule(Long id, T probe, long intervalMillis) {
+        Probe<T> newProbe = new Probe<>(probe, Math.max(1, intervalMillis / tickMillis));
+        Probe<T> oldProbe = probes.put(id, newProbe);
+        if (oldProbe != null) {
+            oldProbe.cancelled = true;
+        }
+        newProbes.add(newProbe);
+    }
+
+    /**
+     * Cancels the probe with this id.
+     *
+     * @return false if there was no such probe
+     */
+    public boolean cancel(Long id) {
+        Probe<T> probe = probes.remove(id);
+        if (probe == null) {
+            return false;
+        }
+        probe.cancelled = true;
+        return true;
+    }
+
+    public long getTickCount() {
+        return ticks.sum();
+    }
+
+    public long getProbesSent() {
+        return probesSent.sum();
+    }
+
+    /**
+     * Time from the start of the latest tick with probes due until its batch was sent.
+     */
+    public long getLastSendLatency(TimeUnit unit) {
+        return unit.convert(lastSendLatencyNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxSendLatency(TimeUnit unit) {
+        return unit.convert(maxSendLatencyNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    void tick() {
+        try {
+            long startNanos = System.nanoTime();
+            List<T> batch = new ArrayList<>();
+            List<Probe<T>> bucket = wheel.get((int) (tick & mask));
+            List<Probe<T>> fired = new ArrayList<>();
+            int kept = 0;
+            for (Probe<T> probe : bucket) {
+                if (probe.cancelled) {
+                    continue;
+                }
+                if (probe.rounds > 0) {
+                    probe.rounds--;
+                    bucket.set(kept++, probe);
+                } else {
+                    batch.add(probe.probe);
+                    fired.add(probe);
+                }
+            }
+            bucket.subList(kept, bucket.size()).clear();
+            for (Probe<T> probe : fired) {
+                place(probe, probe.intervalTicks);
+            }
+            for (Probe<T> probe = newProbes.poll(); probe != null; probe = newProbes.poll()) {
+                if (!probe.cancelled) {
+                    place(probe, 1 + ThreadLocalRandom.current().nextLong(probe.intervalTicks));
+                }
+            }
+            tick++;
+            ticks.increment();
+            if (!batch.isEmpty()) {
+                senderExecutor.execute(() -> send(batch, startNanos));
+            }
+        } catch (RuntimeException e) {
+            // an exception would silently stop the ticker
+            LOG.error("Aliveness probe tick {} failed", tick, e);
+        }
+    }
+
+    private void send(List<T> batch, long tickStartNanos) {
+        batchSender.accept(batch);
+        long latencyNanos = System.nanoTime() - tickStartNanos;
+        probesSent.add(batch.size());
+        lastSendLatencyNanos.set(latencyNanos);
+        maxSendLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /**
+     * Places the probe to fire delayTicks after the current tick. The bucket of the current tick is visited next
+     * after a full round, so a probe delayed by n ticks is visited (n - 1) / wheel size times before it fires.
+     */
+    private void place(Probe<T> probe, long delayTicks) {
+        probe.rounds = (delayTicks - 1) / wheel.size();
+        wheel.get((int) ((tick + delayTicks) & mask)).add(probe);
+    }
+
+    private static final class Probe<T> {
+        final T probe;
+        final long intervalTicks;
+        // Only accessed by the ticker thread
+        long rounds;
+        volatile boolean cancelled;
+
+        Probe(T probe, long intervalTicks) {
+            this.probe = probe;
+            this.intervalTicks = intervalTicks;
+        }
+    }
+}
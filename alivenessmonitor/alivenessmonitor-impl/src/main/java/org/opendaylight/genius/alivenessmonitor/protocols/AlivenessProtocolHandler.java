@@ -7,6 +7,7 @@
  */
 package org.opendaylight.genius.alivenessmonitor.protocols;
 
+import java.util.List;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.liblldp.Packet;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitor.configs.MonitoringInfo;
@@ -25,5 +26,13 @@ public interface AlivenessProtocolHandler<T extends Packet> {
 
     void startMonitoringTask(MonitoringInfo monitorInfo);
 
+    /**
+     * Sends the monitor packets due at the same time. Handlers which can send them more efficiently together
+     * than one by one should override this.
+     */
+    default void startMonitoringTasks(List<MonitoringInfo> monitorInfos) {
+        monitorInfos.forEach(this::startMonitoringTask);
+    }
+
     String getUniqueMonitoringKey(MonitoringInfo monitorInfo);
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.LivenessState;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.alivenessmonitor.rev160411.monitoring.states.MonitoringState;
+
+public class MonitoringStateMachineTest {
+
+    private static final long MONITOR_WINDOW = 4;
+    private static final long FAILURE_THRESHOLD = 2;
+
+    private final MonitoringStateMachine monitoringState =
+            new MonitoringStateMachine("monitorKey", 1L, LivenessState.Unknown);
+    private final List<MonitoringState> reported = new ArrayList<>();
+
+    @Test
+    public void testGoesDownOnceTheFailureThresholdIsReached() {
+        monitoringState.requestSent(MONITOR_WINDOW, FAILURE_THRESHOLD);
+        monitoringState.reportTransitions(reported::add);
+        assertTrue(reported.isEmpty());
+
+        monitoringState.requestSent(MONITOR_WINDOW, FAILURE_THRESHOLD);
+        monitoringState.requestSent(MONITOR_WINDOW, FAILURE_THRESHOLD);
+        monitoringState.reportTransitions(reported::add);
+        assertEquals(1, reported.size());
+        assertEquals(LivenessState.Down, reported.get(0).getState());
+
+        MonitoringState checkpoint = monitoringState.checkpoint();
+        assertEquals(Long.valueOf(3), checkpoint.getResponsePendingCount());
+        assertEquals(Long.valueOf(1), checkpoint.getRequestCount());
+        assertNull(monitoringState.checkpoint());
+    }
+
+    @Test
+    public void testTransitionsAreReportedInOrderWithoutHoldingTheLock() {
+        monitoringState.responseReceived();
+        monitoringState.reportTransitions(state -> {
+            assertFalse(Thread.holdsLock(monitoringState));
+            reported.add(state);
+            if (reported.size() == 1) {
+                // recorded while the first transition is reported: reported next, by the same reporter
+                monitoringState.requestSent(MONITOR_WINDOW, FAILURE_THRESHOLD);
+                monitoringState.requestSent(MONITOR_WINDOW, FAILURE_THRESHOLD);
+                monitoringState.reportTransitions(reported::add);
+                assertEquals(1, reported.size());
+            }
+        });
+        assertEquals(2, reported.size());
+        assertEquals(LivenessState.Up, reported.get(0).getState());
+        assertEquals(LivenessState.Down, reported.get(1).getState());
+    }
+
+    @Test
+    public void testStoppedMonitorRecordsNothing() {
+        monitoringState.requestSent(MONITOR_WINDOW, FAILURE_THRESHOLD);
+        monitoringState.requestSent(MONITOR_WINDOW, FAILURE_THRESHOLD);
+        monitoringState.stop();
+        assertTrue(monitoringState.isStopped());
+
+        monitoringState.responseReceived();
+        monitoringState.reportTransitions(reported::add);
+        assertTrue(reported.isEmpty());
+        monitoringState.checkpointFailed();
+        assertNull(monitoringState.checkpoint());
+    }
+}
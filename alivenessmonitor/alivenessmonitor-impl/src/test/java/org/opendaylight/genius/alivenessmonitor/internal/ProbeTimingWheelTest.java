@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.alivenessmonitor.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.Test;
+
+public class ProbeTimingWheelTest {
+
+    private static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 4;
+
+    // The probes sent by each tick, by tick
+    private final List<List<String>> sent = new ArrayList<>();
+    private final ProbeTimingWheel<String> wheel = new ProbeTimingWheel<>(TICK_MILLIS, WHEEL_SIZE,
+        batch -> sent.set(sent.size() - 1, batch), Runnable::run, mock(ScheduledExecutorService.class));
+
+    @Test
+    public void testProbeLongerThanTheWheelWaitsForItsRounds() {
+        // 10 ticks, so the probe goes around the wheel of 4 buckets twice before it fires
+        wheel.schedule(1L, "probe", 10 * TICK_MILLIS);
+        tick(40);
+
+        List<Integer> firedAt = ticksSending("probe");
+        assertTrue(firedAt.size() >= 3);
+        // the first delay is random within the interval
+        assertTrue(firedAt.get(0) >= 1 && firedAt.get(0) <= 10);
+        for (int i = 1; i < firedAt.size(); i++) {
+            assertEquals(10, firedAt.get(i) - firedAt.get(i - 1));
+        }
+        assertEquals(firedAt.size(), wheel.getProbesSent());
+        assertEquals(40, wheel.getTickCount());
+    }
+
+    @Test
+    public void testProbesDueInATickAreSentAsOneBatch() {
+        // an interval of a single tick leaves no room for a random first delay
+        wheel.schedule(1L, "probe1", TICK_MILLIS);
+        wheel.schedule(2L, "probe2", TICK_MILLIS / 2);
+        tick(3);
+
+        assertTrue(sent.get(0).isEmpty());
+        assertEquals(2, sent.get(1).size());
+        assertEquals(2, sent.get(2).size());
+    }
+
+    @Test
+    public void testCancelledProbeIsNotSentAnyMore() {
+        wheel.schedule(1L, "probe", TICK_MILLIS);
+        tick(2);
+        assertEquals(1, ticksSending("probe").size());
+
+        assertTrue(wheel.cancel(1L));
+        assertFalse(wheel.cancel(1L));
+        tick(WHEEL_SIZE * 2);
+        assertEquals(1, ticksSending("probe").size());
+    }
+
+    @Test
+    public void testRescheduledProbeReplacesTheOldOne() {
+        wheel.schedule(1L, "old", TICK_MILLIS);
+        tick(2);
+        wheel.schedule(1L, "new", TICK_MILLIS);
+        tick(WHEEL_SIZE);
+
+        assertEquals(1, ticksSending("old").size());
+        assertEquals(WHEEL_SIZE - 1, ticksSending("new").size());
+    }
+
+    private void tick(int count) {
+        for (int i = 0; i < count; i++) {
+            sent.add(new ArrayList<>());
+            wheel.tick();
+        }
+    }
+
+    private List<Integer> ticksSending(String probe) {
+        List<Integer> ticks = new ArrayList<>();
+        for (int i = 0; i < sent.size(); i++) {
+            if (sent.get(i).contains(probe)) {
+                ticks.add(i);
+            }
+        }
+        return ticks;
+    }
+}
@@ -16,7 +16,8 @@ public enum ArpUtilCounters {
     arp_res_rcv_notification_rejected,
     arp_req_rcv,
     arp_req_rcv_notification,
-    arp_req_rcv_notification_rejected;
+    arp_req_rcv_notification_rejected,
+    arp_packet_in_dropped;
 
     private OccurenceCounter counter;
 
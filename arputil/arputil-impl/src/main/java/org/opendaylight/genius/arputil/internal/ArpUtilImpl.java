@@ -11,40 +11,59 @@ package org.opendaylight.genius.arputil.internal;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.common.util.concurrent.SettableFuture;
 import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.opendaylight.controller.liblldp.HexEncode;
-import org.opendaylight.controller.liblldp.NetUtils;
-import org.opendaylight.controller.liblldp.Packet;
 import org.opendaylight.controller.liblldp.PacketException;
+import org.opendaylight.controller.md.sal.binding.api.ClusteredDataTreeChangeListener;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
 import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
 import org.opendaylight.controller.md.sal.binding.api.NotificationService;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.genius.arputil.api.ArpConstants;
+import org.opendaylight.genius.interfacemanager.interfaces.IInterfaceManager;
 import org.opendaylight.genius.mdsalutil.MDSALUtil;
 import org.opendaylight.genius.mdsalutil.MetaDataUtil;
 import org.opendaylight.genius.mdsalutil.NWUtil;
-import org.opendaylight.genius.mdsalutil.packet.ARP;
-import org.opendaylight.genius.mdsalutil.packet.Ethernet;
+import org.opendaylight.genius.mdsalutil.packet.ArpView;
+import org.opendaylight.genius.mdsalutil.packet.EthernetView;
 import org.opendaylight.infrautils.inject.AbstractLifecycle;
+import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.InterfacesState;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.rev140508.interfaces.state.Interface;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.yang.types.rev130715.PhysAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.ArpRequestReceivedBuilder;
@@ -56,13 +75,15 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.Ma
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.OdlArputilService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestsInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestsOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpResponseInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.interfaces.InterfaceAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.send.arp.requests.output.ArpRequestResult;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.send.arp.requests.output.ArpRequestResultBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetEgressActionsForInterfaceInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetEgressActionsForInterfaceOutput;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetInterfaceFromIfIndexInput;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetInterfaceFromIfIndexInputBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetInterfaceFromIfIndexOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetPortFromInterfaceInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.GetPortFromInterfaceOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.OdlInterfaceRpcService;
@@ -89,34 +110,87 @@ import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * ARP utility service, and handler of the ARP packets punted to the controller.
+ *
+ * <p>Punted ARP packets are processed off the notification thread, by a fixed number of workers with a bounded
+ * queue each. Packets are sharded over the workers by the lport tag of their interface, so the packets of an
+ * interface are processed in order, and an ARP storm on one interface only fills the queue of its worker: packets
+ * which do not fit are dropped and counted in {@link ArpUtilCounters#arp_packet_in_dropped}. The interface of an
+ * lport tag is looked up in the index of {@link IInterfaceManager}, and the port of an interface is cached for
+ * {@code arputil.interface.cache.expiry.ms}, or until the state of the interface changes.
+ *
+ * <p>The MAC addresses learnt from ARP packets are kept in a {@link NeighborCache} of up to
+ * {@code arputil.neighbor.cache.size} neighbors, which {@link #getMac(GetMacInput)} answers from while they are
+ * reachable, for {@code arputil.neighbor.reachable.ms} after they were last heard from. Neighbors not heard from for
+ * {@code arputil.neighbor.stale.ms} are evicted, and the neighbors of an interface are forgotten when its state is
+ * deleted.
+ *
+ * <p>{@link #sendArpRequests(SendArpRequestsInput)} looks each interface up once for all the target IP addresses,
+ * and sends the ARP requests from a single thread, at most {@code arputil.bulk.arp.request.rate} per second.
+ */
 @Singleton
 public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService, PacketProcessingListener {
     private static final Logger LOG = LoggerFactory.getLogger(ArpUtilImpl.class);
+    private static final int PACKET_IN_WORKERS = Integer.getInteger("arputil.packetin.workers", 4);
+    private static final int PACKET_IN_QUEUE_SIZE = Integer.getInteger("arputil.packetin.queue.size", 1000);
+    private static final long INTERFACE_CACHE_EXPIRY_MILLIS =
+            Long.getLong("arputil.interface.cache.expiry.ms", 60000L);
+    private static final long NEIGHBOR_CACHE_SIZE = Long.getLong("arputil.neighbor.cache.size", 100000L);
+    private static final long NEIGHBOR_REACHABLE_MILLIS = Long.getLong("arputil.neighbor.reachable.ms", 30000L);
+    private static final long NEIGHBOR_STALE_MILLIS = Long.getLong("arputil.neighbor.stale.ms", 600000L);
+    private static final int BULK_ARP_REQUEST_RATE = Integer.getInteger("arputil.bulk.arp.request.rate", 1000);
     private final DataBroker dataBroker;
     private final PacketProcessingService packetProcessingService;
     private final NotificationPublishService notificationPublishService;
     private final NotificationService notificationService;
     private final OdlInterfaceRpcService odlInterfaceRpcService;
+    private final IInterfaceManager interfaceManager;
     private ListenerRegistration<ArpUtilImpl> listenerRegistration;
+    private ListenerRegistration<?> interfaceStateListenerRegistration;
     private final ExecutorService threadPool = Executors.newFixedThreadPool(1);
-    private final ConcurrentMap<String, String> macsDB = new ConcurrentHashMap<>();
+    private final NeighborCache neighbors =
+            new NeighborCache(NEIGHBOR_CACHE_SIZE, NEIGHBOR_REACHABLE_MILLIS, NEIGHBOR_STALE_MILLIS);
     private final ConcurrentMap<String, SettableFuture<RpcResult<GetMacOutput>>> macAddrs = new ConcurrentHashMap<>();
+    private final List<ExecutorService> packetInWorkers = new ArrayList<>(PACKET_IN_WORKERS);
+    private final ExecutorService bulkArpRequestExecutor = Executors.newSingleThreadExecutor(
+            ThreadFactoryProvider.builder().namePrefix("ArpUtil-BulkArpRequest").logger(LOG).build().get());
+    private final RateLimiter bulkArpRequestRateLimiter = RateLimiter.create(BULK_ARP_REQUEST_RATE);
+    private final LoadingCache<String, GetPortFromInterfaceOutput> interfacePorts = CacheBuilder.newBuilder()
+            .expireAfterWrite(INTERFACE_CACHE_EXPIRY_MILLIS, TimeUnit.MILLISECONDS)
+            .build(new CacheLoader<String, GetPortFromInterfaceOutput>() {
+                @Override
+                public GetPortFromInterfaceOutput load(String interfaceName)
+                        throws InterruptedException, ExecutionException {
+                    return getPortFromInterfaceRpc(interfaceName);
+                }
+            });
 
     @Inject
     public ArpUtilImpl(final DataBroker dataBroker, final PacketProcessingService packetProcessingService,
             final NotificationPublishService notificationPublishService, final NotificationService notificationService,
-            final OdlInterfaceRpcService odlInterfaceRpcService) {
+            final OdlInterfaceRpcService odlInterfaceRpcService, final IInterfaceManager interfaceManager) {
         this.dataBroker = dataBroker;
         this.packetProcessingService = packetProcessingService;
         this.notificationPublishService = notificationPublishService;
         this.notificationService = notificationService;
         this.odlInterfaceRpcService = odlInterfaceRpcService;
+        this.interfaceManager = interfaceManager;
+        for (int i = 0; i < PACKET_IN_WORKERS; i++) {
+            packetInWorkers.add(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(PACKET_IN_QUEUE_SIZE),
+                    ThreadFactoryProvider.builder().namePrefix("ArpUtil-PacketIn-" + i).logger(LOG).build().get()));
+        }
     }
 
     @Override
     public void start() {
         LOG.info("{} start", getClass().getSimpleName());
         listenerRegistration = notificationService.registerNotificationListener(this);
+        interfaceStateListenerRegistration = dataBroker.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.OPERATIONAL,
+                        InstanceIdentifier.create(InterfacesState.class).child(Interface.class)),
+                (ClusteredDataTreeChangeListener<Interface>) this::onInterfaceStateChanged);
     }
 
     @Override
@@ -127,6 +201,30 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
             listenerRegistration.close();
             listenerRegistration = null;
         }
+        if (interfaceStateListenerRegistration != null) {
+            interfaceStateListenerRegistration.close();
+            interfaceStateListenerRegistration = null;
+        }
+        packetInWorkers.forEach(ExecutorService::shutdownNow);
+        bulkArpRequestExecutor.shutdownNow();
+    }
+
+    /**
+     * Invalidates the cached port of changed interfaces, which may now be on another port, and forgets the neighbors
+     * of deleted interfaces, so they do not outlive their interface.
+     */
+    private void onInterfaceStateChanged(Collection<DataTreeModification<Interface>> changes) {
+        for (DataTreeModification<Interface> change : changes) {
+            DataObjectModification<Interface> rootNode = change.getRootNode();
+            Interface state = rootNode.getDataBefore() != null ? rootNode.getDataBefore() : rootNode.getDataAfter();
+            if (state == null) {
+                continue;
+            }
+            interfacePorts.invalidate(state.getName());
+            if (rootNode.getModificationType() == DataObjectModification.ModificationType.DELETE) {
+                neighbors.forget(state.getName());
+            }
+        }
     }
 
     private String getIpAddressInString(IpAddress ipAddress) throws UnknownHostException {
@@ -138,6 +236,13 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         try {
             final String dstIpAddress = getIpAddressInString(input.getIpaddress());
             LOG.trace("getMac rpc invoked for ip {}", dstIpAddress);
+            Long cachedMacAddress = getReachableMacAddress(input);
+            if (cachedMacAddress != null) {
+                String macAddress = NWUtil.toStringMacAddress(NeighborCache.toMacAddressBytes(cachedMacAddress));
+                LOG.trace("getMac for ip {} answered from the neighbor cache: {}", dstIpAddress, macAddress);
+                return RpcResultBuilder.success(new GetMacOutputBuilder().setMacaddress(new PhysAddress(macAddress))
+                        .build()).buildFuture();
+            }
             if (macAddrs.get(dstIpAddress) != null) {
                 if (LOG.isInfoEnabled()) {
                     LOG.info("get mac already in progress for the ip {}", dstIpAddress);
@@ -174,6 +279,17 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         }
     }
 
+    private Long getReachableMacAddress(GetMacInput input) throws UnknownHostException {
+        int ipAddress = Ints.fromByteArray(getIpAddressBytes(input.getIpaddress()));
+        for (InterfaceAddress interfaceAddress : input.getInterfaceAddress()) {
+            Long macAddress = neighbors.getReachableMacAddress(interfaceAddress.getInterface(), ipAddress);
+            if (macAddress != null) {
+                return macAddress;
+            }
+        }
+        return null;
+    }
+
     private byte[] getIpAddressBytes(IpAddress ip) throws UnknownHostException {
         return InetAddress.getByName(ip.getIpv4Address().getValue()).getAddress();
     }
@@ -181,12 +297,8 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
     @Override
     public Future<RpcResult<Void>> sendArpRequest(SendArpRequestInput arpReqInput) {
         LOG.trace("rpc sendArpRequest invoked for ip {}", arpReqInput.getIpaddress());
-        BigInteger dpnId;
-        byte[] payload;
         String interfaceName = null;
-        byte[] srcIpBytes;
-        byte[] dstIpBytes = null;
-        byte[] srcMac = null;
+        byte[] dstIpBytes;
 
         RpcResultBuilder<Void> failureBuilder = RpcResultBuilder.failed();
         RpcResultBuilder<Void> successBuilder = RpcResultBuilder.success();
@@ -203,37 +315,9 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         for (InterfaceAddress interfaceAddress : arpReqInput.getInterfaceAddress()) {
             try {
                 interfaceName = interfaceAddress.getInterface();
-                srcIpBytes = getIpAddressBytes(interfaceAddress.getIpAddress());
-
-                GetPortFromInterfaceOutput portResult = getPortFromInterface(interfaceName);
-                checkNotNull(portResult);
-                dpnId = portResult.getDpid();
-                Long portid = portResult.getPortno();
-                checkArgument(null != dpnId && !BigInteger.ZERO.equals(dpnId),
-                    ArpConstants.DPN_NOT_FOUND_ERROR, interfaceName);
-
-                NodeConnectorRef ref = MDSALUtil.getNodeConnRef(dpnId, portid.toString());
-                checkNotNull(ref, ArpConstants.NODE_CONNECTOR_NOT_FOUND_ERROR, interfaceName);
-
-                LOG.trace("sendArpRequest received dpnId {} out interface {}", dpnId, interfaceName);
-                if (interfaceAddress.getMacaddress() == null) {
-                    srcMac = MDSALUtil.getMacAddressForNodeConnector(dataBroker,
-                            (InstanceIdentifier<NodeConnector>) ref.getValue());
-                } else {
-                    String macAddr = interfaceAddress.getMacaddress().getValue();
-                    srcMac = HexEncode.bytesFromHexString(macAddr);
-                }
-                checkNotNull(srcMac, ArpConstants.FAILED_TO_GET_SRC_MAC_FOR_INTERFACE, interfaceName, ref.getValue());
-                checkNotNull(srcIpBytes, ArpConstants.FAILED_TO_GET_SRC_IP_FOR_INTERFACE, interfaceName);
-
-                payload = ArpPacketUtil.getPayload(ArpConstants.ARP_REQUEST_OP, srcMac, srcIpBytes,
-                        ArpPacketUtil.ETHERNET_BROADCAST_DESTINATION, dstIpBytes);
-
-                List<Action> actions = getEgressAction(interfaceName);
-                sendPacketOutWithActions(dpnId, payload, ref, actions);
-
+                sendArpRequest(resolveArpSource(interfaceAddress), dstIpBytes);
                 LOG.trace("sent arp request for {}", arpReqInput.getIpaddress());
-            } catch (UnknownHostException | PacketException | InterruptedException | ExecutionException e) {
+            } catch (UnknownHostException | PacketException | ExecutionException e) {
                 LOG.trace("failed to send arp req for {} on interface {}", arpReqInput.getIpaddress(), interfaceName);
 
                 failureBuilder.withError(ErrorType.APPLICATION,
@@ -250,6 +334,95 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         return Futures.immediateFuture(successBuilder.build());
     }
 
+    @Override
+    public Future<RpcResult<SendArpRequestsOutput>> sendArpRequests(SendArpRequestsInput input) {
+        LOG.trace("rpc sendArpRequests invoked for {} ips", input.getTargetIpaddress().size());
+        // The packet-outs are rate limited, so they are not sent on the RPC thread
+        return bulkArpRequestExecutor.submit(() -> sendArpRequestsNow(input));
+    }
+
+    private RpcResult<SendArpRequestsOutput> sendArpRequestsNow(SendArpRequestsInput input) {
+        List<ArpSource> sources = new ArrayList<>(input.getInterfaceAddress().size());
+        List<String> sourceErrors = new ArrayList<>();
+        for (InterfaceAddress interfaceAddress : input.getInterfaceAddress()) {
+            try {
+                sources.add(resolveArpSource(interfaceAddress));
+            } catch (UnknownHostException | ExecutionException | IllegalArgumentException e) {
+                LOG.trace("failed to send arp reqs on interface {}", interfaceAddress.getInterface(), e);
+                sourceErrors.add(ArpConstants.FAILED_TO_SEND_ARP_REQ_FOR_INTERFACE + interfaceAddress.getInterface());
+            }
+        }
+
+        // The results are keyed by target IP address, so a target given twice is only sent to once
+        Set<IpAddress> targetIpAddresses = new LinkedHashSet<>(input.getTargetIpaddress());
+        List<ArpRequestResult> results = new ArrayList<>(targetIpAddresses.size());
+        for (IpAddress targetIpAddress : targetIpAddresses) {
+            List<String> errors = new ArrayList<>(sourceErrors);
+            long sentCount = 0;
+            try {
+                byte[] dstIpBytes = getIpAddressBytes(targetIpAddress);
+                for (ArpSource source : sources) {
+                    bulkArpRequestRateLimiter.acquire();
+                    try {
+                        sendArpRequest(source, dstIpBytes);
+                        sentCount++;
+                    } catch (PacketException e) {
+                        LOG.trace("failed to send arp req for {} on interface {}", targetIpAddress,
+                                source.interfaceName, e);
+                        errors.add(ArpConstants.FAILED_TO_SEND_ARP_REQ_FOR_INTERFACE + source.interfaceName);
+                    }
+                }
+            } catch (UnknownHostException e) {
+                errors.add(ArpConstants.UNKNOWN_IP_ADDRESS_SUPPLIED);
+            }
+            results.add(new ArpRequestResultBuilder().setTargetIpaddress(targetIpAddress).setSentCount(sentCount)
+                    .setErrorMessage(errors).build());
+        }
+        LOG.trace("sent arp requests for {} ips", results.size());
+        return RpcResultBuilder.success(new SendArpRequestsOutputBuilder().setArpRequestResult(results).build())
+                .build();
+    }
+
+    /**
+     * Looks up what is needed to send ARP requests out of an interface.
+     *
+     * @throws IllegalArgumentException if the DPN or the source MAC or IP address of the interface are not found
+     */
+    private ArpSource resolveArpSource(InterfaceAddress interfaceAddress)
+            throws UnknownHostException, ExecutionException {
+        String interfaceName = interfaceAddress.getInterface();
+        byte[] srcIpBytes = getIpAddressBytes(interfaceAddress.getIpAddress());
+
+        GetPortFromInterfaceOutput portResult = getPortFromInterface(interfaceName);
+        BigInteger dpnId = portResult.getDpid();
+        Long portid = portResult.getPortno();
+        checkArgument(null != dpnId && !BigInteger.ZERO.equals(dpnId),
+            ArpConstants.DPN_NOT_FOUND_ERROR, interfaceName);
+
+        NodeConnectorRef ref = MDSALUtil.getNodeConnRef(dpnId, portid.toString());
+        checkArgument(ref != null, ArpConstants.NODE_CONNECTOR_NOT_FOUND_ERROR, interfaceName);
+
+        LOG.trace("sendArpRequest received dpnId {} out interface {}", dpnId, interfaceName);
+        byte[] srcMac;
+        if (interfaceAddress.getMacaddress() == null) {
+            srcMac = MDSALUtil.getMacAddressForNodeConnector(dataBroker,
+                    (InstanceIdentifier<NodeConnector>) ref.getValue());
+        } else {
+            String macAddr = interfaceAddress.getMacaddress().getValue();
+            srcMac = HexEncode.bytesFromHexString(macAddr);
+        }
+        checkArgument(srcMac != null, ArpConstants.FAILED_TO_GET_SRC_MAC_FOR_INTERFACE, interfaceName, ref.getValue());
+        checkArgument(srcIpBytes != null, ArpConstants.FAILED_TO_GET_SRC_IP_FOR_INTERFACE, interfaceName);
+
+        return new ArpSource(interfaceName, dpnId, ref, srcMac, srcIpBytes, getEgressAction(interfaceName));
+    }
+
+    private void sendArpRequest(ArpSource source, byte[] dstIpBytes) throws PacketException {
+        byte[] payload = ArpPacketUtil.getPayload(ArpConstants.ARP_REQUEST_OP, source.srcMac, source.srcIpBytes,
+                ArpPacketUtil.ETHERNET_BROADCAST_DESTINATION, dstIpBytes);
+        sendPacketOutWithActions(source.dpnId, payload, source.ref, source.actions);
+    }
+
     public Future<RpcResult<Void>> sendPacketOut(BigInteger dpnId, byte[] payload, NodeConnectorRef ref) {
         NodeConnectorRef nodeConnectorRef = MDSALUtil.getNodeConnRef(dpnId, "0xfffffffd");
         return packetProcessingService.transmitPacket(new TransmitPacketInputBuilder().setPayload(payload)
@@ -305,7 +478,6 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         try {
             String interfaceName = input.getInterface();
             GetPortFromInterfaceOutput portResult = getPortFromInterface(interfaceName);
-            checkNotNull(portResult);
             dpnId = portResult.getDpid();
             Long portid = portResult.getPortno();
             NodeConnectorRef ref = MDSALUtil.getNodeConnRef(dpnId, portid.toString());
@@ -333,8 +505,7 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
                     input.getSrcIpaddress().getIpv4Address().getValue(), HexEncode.bytesToHexStringFormat(srcMac),
                     HexEncode.bytesToHexStringFormat(dstMac), input.getDstIpaddress().getIpv4Address().getValue(),
                     dpnId);
-        } catch (UnknownHostException | PacketException | InterruptedException | UnsupportedEncodingException
-                | ExecutionException e) {
+        } catch (UnknownHostException | PacketException | UnsupportedEncodingException | ExecutionException e) {
             LOG.error("failed to send arp response for {}: ", input.getSrcIpaddress(), e);
             return RpcResultBuilder.<Void>failed().withError(ErrorType.APPLICATION, e.getMessage(), e).buildFuture();
         }
@@ -348,47 +519,71 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         LOG.trace("Packet Received {}", packetReceived);
 
         if (pktInReason == SendToController.class) {
+            // Decode only the fields used below, straight from the payload
+            EthernetView ethernet = new EthernetView().wrap(packetReceived.getPayload());
+            if (!ethernet.isValid() || ethernet.getEtherType() != ArpConstants.ETH_TYPE_ARP) {
+                return;
+            }
+
+            Metadata metadata = packetReceived.getMatch().getMetadata();
+            LOG.debug("metadata received is {} ", metadata);
+            int lportTag = MetaDataUtil.getLportFromMetadata(metadata.getMetadata()).intValue();
             try {
-                int tableId = packetReceived.getTableId().getValue();
+                packetInWorkers.get(Math.floorMod(lportTag, packetInWorkers.size()))
+                        .execute(() -> processArpPacket(packetReceived, ethernet, lportTag));
+            } catch (RejectedExecutionException e) {
+                ArpUtilCounters.arp_packet_in_dropped.inc();
+                LOG.trace("Dropped ARP packet of lport tag {}, its queue is full", lportTag);
+            }
+        }
+    }
 
-                byte[] data = packetReceived.getPayload();
-                Ethernet ethernet = new Ethernet();
+    private void processArpPacket(PacketReceived packetReceived, EthernetView ethernet, int lportTag) {
+        try {
+            int tableId = packetReceived.getTableId().getValue();
 
-                ethernet.deserialize(data, 0, data.length * NetUtils.NumBitsInAByte);
-                if (ethernet.getEtherType() != ArpConstants.ETH_TYPE_ARP) {
-                    return;
-                }
+            ArpView arp = ethernet.getArp();
+            if (!arp.isValid()) {
+                LOG.trace("Ignoring malformed ARP packet");
+                return;
+            }
+            InetAddress srcInetAddr = InetAddress.getByAddress(arp.copySenderProtocolAddress());
+            InetAddress dstInetAddr = InetAddress.getByAddress(arp.copyTargetProtocolAddress());
+            byte[] srcMac = ethernet.copySourceMACAddress();
+            byte[] dstMac = ethernet.copyDestinationMACAddress();
 
-                Packet pkt = ethernet.getPayload();
-                ARP arp = (ARP) pkt;
-                InetAddress srcInetAddr = InetAddress.getByAddress(arp.getSenderProtocolAddress());
-                InetAddress dstInetAddr = InetAddress.getByAddress(arp.getTargetProtocolAddress());
-                byte[] srcMac = ethernet.getSourceMACAddress();
-                byte[] dstMac = ethernet.getDestinationMACAddress();
-
-                Metadata metadata = packetReceived.getMatch().getMetadata();
-
-                String interfaceName = getInterfaceName(metadata);
-
-                checkAndFireMacChangedNotification(interfaceName, srcInetAddr, srcMac);
-                macsDB.put(interfaceName + "-" + srcInetAddr.getHostAddress(), NWUtil.toStringMacAddress(srcMac));
-                if (arp.getOpCode() == ArpConstants.ARP_REQUEST_OP) {
-                    fireArpReqRecvdNotification(interfaceName, srcInetAddr, srcMac, dstInetAddr, tableId,
-                            metadata.getMetadata());
-                } else {
-                    fireArpRespRecvdNotification(interfaceName, srcInetAddr, srcMac, tableId, metadata.getMetadata(),
-                            dstInetAddr, dstMac);
-                }
-                if (macAddrs.get(srcInetAddr.getHostAddress()) != null) {
-                    threadPool.execute(new MacResponderTask(arp));
-                }
-            } catch (PacketException | UnknownHostException | InterruptedException | ExecutionException e) {
-                LOG.trace("Failed to decode packet", e);
+            BigInteger metadata = packetReceived.getMatch().getMetadata().getMetadata();
+
+            String interfaceName = interfaceManager.getInterfaceNameForLportTag(lportTag);
+            if (interfaceName == null) {
+                LOG.trace("Ignoring ARP packet of unknown lport tag {}", lportTag);
+                return;
+            }
+
+            if (neighbors.learn(lportTag, interfaceName, arp.getSenderProtocolAddress(),
+                    ethernet.getSourceMACAddress())) {
+                fireMacChangedNotification(interfaceName, srcInetAddr, srcMac);
             }
+            if (arp.getOpCode() == ArpConstants.ARP_REQUEST_OP) {
+                fireArpReqRecvdNotification(interfaceName, srcInetAddr, srcMac, dstInetAddr, tableId, metadata);
+            } else {
+                fireArpRespRecvdNotification(interfaceName, srcInetAddr, srcMac, tableId, metadata, dstInetAddr,
+                        dstMac);
+            }
+            if (macAddrs.get(srcInetAddr.getHostAddress()) != null) {
+                // Cheap enough to run on this worker, keeping the responses of an interface in order
+                new MacResponderTask(srcInetAddr, arp.copySenderHardwareAddress()).run();
+            }
+        } catch (UnknownHostException | InterruptedException e) {
+            LOG.trace("Failed to decode packet", e);
         }
     }
 
-    private GetPortFromInterfaceOutput getPortFromInterface(String interfaceName)
+    private GetPortFromInterfaceOutput getPortFromInterface(String interfaceName) throws ExecutionException {
+        return interfacePorts.get(interfaceName);
+    }
+
+    private GetPortFromInterfaceOutput getPortFromInterfaceRpc(String interfaceName)
             throws InterruptedException, ExecutionException {
         GetPortFromInterfaceInputBuilder getPortFromInterfaceInputBuilder = new GetPortFromInterfaceInputBuilder();
         getPortFromInterfaceInputBuilder.setIntfName(interfaceName);
@@ -397,55 +592,35 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
                 .getPortFromInterface(getPortFromInterfaceInputBuilder.build());
         GetPortFromInterfaceOutput result = portFromInterface.get().getResult();
         LOG.trace("getPortFromInterface rpc result is {} ", result);
-        if (result != null) {
-            LOG.trace("getPortFromInterface rpc result is {} {} ", result.getDpid(), result.getPortno());
+        if (result == null) {
+            // Not cached, the next lookup retries
+            throw new ExecutionException("No port found for interface " + interfaceName, null);
         }
+        LOG.trace("getPortFromInterface rpc result is {} {} ", result.getDpid(), result.getPortno());
         return result;
     }
 
-    private String getInterfaceName(Metadata metadata)
-            throws InterruptedException, ExecutionException {
-        LOG.debug("metadata received is {} ", metadata);
-
-        GetInterfaceFromIfIndexInputBuilder ifIndexInputBuilder = new GetInterfaceFromIfIndexInputBuilder();
-        BigInteger lportTag = MetaDataUtil.getLportFromMetadata(metadata.getMetadata());
-
-        ifIndexInputBuilder.setIfIndex(lportTag.intValue());
-        GetInterfaceFromIfIndexInput input = ifIndexInputBuilder.build();
-
-        Future<RpcResult<GetInterfaceFromIfIndexOutput>> interfaceFromIfIndex = odlInterfaceRpcService
-                .getInterfaceFromIfIndex(input);
-        GetInterfaceFromIfIndexOutput interfaceFromIfIndexOutput = interfaceFromIfIndex.get().getResult();
-        return interfaceFromIfIndexOutput.getInterfaceName();
-    }
-
     private class MacResponderTask implements Runnable {
-        ARP arp;
+        private final InetAddress srcAddr;
+        private final byte[] srcMacAddress;
 
-        MacResponderTask(ARP arp) {
-            this.arp = arp;
+        MacResponderTask(InetAddress srcAddr, byte[] srcMacAddress) {
+            this.srcAddr = srcAddr;
+            this.srcMacAddress = srcMacAddress;
         }
 
         @Override
         public void run() {
-            InetAddress srcAddr;
-            GetMacOutputBuilder outputBuilder;
-            String srcMac;
-            try {
-                srcAddr = InetAddress.getByAddress(arp.getSenderProtocolAddress());
-                srcMac = NWUtil.toStringMacAddress(arp.getSenderHardwareAddress());
-                SettableFuture<RpcResult<GetMacOutput>> future = macAddrs.remove(srcAddr.getHostAddress());
-                if (future == null) {
-                    LOG.trace("There are no pending mac requests.");
-                    return;
-                }
-                outputBuilder = new GetMacOutputBuilder().setMacaddress(new PhysAddress(srcMac));
-                future.set(RpcResultBuilder.success(outputBuilder.build()).build());
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("sent the mac response for ip {}", srcAddr.getHostAddress());
-                }
-            } catch (UnknownHostException e) {
-                LOG.error("failed to send mac response", e);
+            String srcMac = NWUtil.toStringMacAddress(srcMacAddress);
+            SettableFuture<RpcResult<GetMacOutput>> future = macAddrs.remove(srcAddr.getHostAddress());
+            if (future == null) {
+                LOG.trace("There are no pending mac requests.");
+                return;
+            }
+            GetMacOutputBuilder outputBuilder = new GetMacOutputBuilder().setMacaddress(new PhysAddress(srcMac));
+            future.set(RpcResultBuilder.success(outputBuilder.build()).build());
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("sent the mac response for ip {}", srcAddr.getHostAddress());
             }
         }
     }
@@ -496,22 +671,49 @@ public class ArpUtilImpl extends AbstractLifecycle implements OdlArputilService,
         }
     }
 
-    private void checkAndFireMacChangedNotification(String interfaceName, InetAddress inetAddr, byte[] macAddressBytes)
+    private void fireMacChangedNotification(String interfaceName, InetAddress inetAddr, byte[] macAddressBytes)
             throws InterruptedException {
 
         IpAddress ip = new IpAddress(inetAddr.getHostAddress().toCharArray());
         String macAddress = NWUtil.toStringMacAddress(macAddressBytes);
         PhysAddress mac = new PhysAddress(macAddress);
 
-        if (!macAddress.equals(macsDB.get(interfaceName + "-" + inetAddr.getHostAddress()))) {
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("mac address changed for {}", inetAddr);
-            }
-            MacChangedBuilder builder = new MacChangedBuilder();
-            builder.setInterface(interfaceName);
-            builder.setIpaddress(ip);
-            builder.setMacaddress(mac);
-            notificationPublishService.putNotification(builder.build());
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("mac address changed for {}", inetAddr);
+        }
+        MacChangedBuilder builder = new MacChangedBuilder();
+        builder.setInterface(interfaceName);
+        builder.setIpaddress(ip);
+        builder.setMacaddress(mac);
+        notificationPublishService.putNotification(builder.build());
+    }
+
+    /**
+     * Returns the number of neighbors in the neighbor cache.
+     */
+    public long getNeighborCacheSize() {
+        return neighbors.size();
+    }
+
+    /**
+     * An interface to send ARP requests out of.
+     */
+    private static final class ArpSource {
+        final String interfaceName;
+        final BigInteger dpnId;
+        final NodeConnectorRef ref;
+        final byte[] srcMac;
+        final byte[] srcIpBytes;
+        final List<Action> actions;
+
+        ArpSource(String interfaceName, BigInteger dpnId, NodeConnectorRef ref, byte[] srcMac, byte[] srcIpBytes,
+                List<Action> actions) {
+            this.interfaceName = interfaceName;
+            this.dpnId = dpnId;
+            this.ref = ref;
+            this.srcMac = srcMac;
+            this.srcIpBytes = srcIpBytes;
+            this.actions = actions;
         }
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.arputil.internal;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Bounded neighbor table of the MAC addresses learnt from ARP packets, like the neighbor table of a kernel.
+ *
+ * <p>Neighbors are keyed by the lport tag of their interface and their IPv4 address, packed in a long. A neighbor is
+ * {@link State#REACHABLE} for reachableMillis after it was last heard from, then {@link State#STALE}: its MAC
+ * address is still used to detect MAC changes, but must be refreshed with an ARP request before being handed out.
+ * Neighbors not heard from for staleMillis are evicted, and so are the least recently heard from beyond maxSize.
+ *
+ * <p>Packets of the same interface must be learnt one at a time, which the packet-in workers of
+ * {@link ArpUtilImpl} guarantee; lookups can be concurrent.
+ */
+public final class NeighborCache {
+
+    public enum State { REACHABLE, STALE }
+
+    private final Cache<Long, Neighbor> neighbors;
+    // Interfaces learnt from packet-ins until they are deleted, to look neighbors up by interface name
+    private final ConcurrentMap<String, Integer> lportTags = new ConcurrentHashMap<>();
+    private final Ticker ticker;
+    private final long reachableNanos;
+
+    public NeighborCache(long maxSize, long reachableMillis, long staleMillis) {
+        this(maxSize, reachableMillis, staleMillis, Ticker.systemTicker());
+    }
+
+    public NeighborCache(long maxSize, long reachableMillis, long staleMillis, Ticker ticker) {
+        this.ticker = ticker;
+        this.reachableNanos = TimeUnit.MILLISECONDS.toNanos(reachableMillis);
+        this.neighbors = CacheBuilder.newBuilder().maximumSize(maxSize)
+                .expireAfterWrite(staleMillis, TimeUnit.MILLISECONDS).ticker(ticker).build();
+    }
+
+    /**
+     * Learns the MAC address of a neighbor from a received packet, making it reachable.
+     *
+     * @return true if the neighbor is new, or its MAC address changed
+     */
+    public boolean learn(int lportTag, String interfaceName, int ipAddress, long macAddress) {
+        lportTags.put(interfaceName, lportTag);
+        Long key = key(lportTag, ipAddress);
+        Neighbor old = neighbors.getIfPresent(key);
+        neighbors.put(key, new Neighbor(interfaceName, macAddress, ticker.read()));
+        return old == null || old.macAddress != macAddress || !old.interfaceName.equals(interfaceName);
+    }
+
+    /**
+     * Returns the state of a neighbor, or null if it is unknown.
+     */
+    @Nullable
+    public State getState(String interfaceName, int ipAddress) {
+        Neighbor neighbor = getNeighbor(interfaceName, ipAddress);
+        if (neighbor == null) {
+            return null;
+        }
+        return ticker.read() - neighbor.learnedNanos < reachableNanos ? State.REACHABLE : State.STALE;
+    }
+
+    /**
+     * Returns the MAC address of a reachable neighbor, as the low 48 bits of a long, or null if the neighbor is
+     * unknown or stale.
+     */
+    @Nullable
+    public Long getReachableMacAddress(String interfaceName, int ipAddress) {
+        Neighbor neighbor = getNeighbor(interfaceName, ipAddress);
+        if (neighbor == null || ticker.read() - neighbor.learnedNanos >= reachableNanos) {
+            return null;
+        }
+        return neighbor.macAddress;
+    }
+
+    /**
+     * Forgets a deleted interface and its neighbors; this scans the neighbors, but interfaces are rarely deleted
+     * compared to how often neighbors are looked up.
+     */
+    public void forget(String interfaceName) {
+        Integer lportTag = lportTags.remove(interfaceName);
+        if (lportTag != null) {
+            neighbors.asMap().entrySet().removeIf(entry -> entry.getKey() >>> 32 == lportTag
+                    && entry.getValue().interfaceName.equals(interfaceName));
+        }
+    }
+
+    public long size() {
+        return neighbors.size();
+    }
+
+    public static byte[] toMacAddressBytes(long macAddress) {
+        byte[] bytes = new byte[6];
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            bytes[i] = (byte) (macAddress >>> 8 * (bytes.length - 1 - i));
+        }
+        return bytes;
+    }
+
+    @Nullable
+    private Neighbor getNeighbor(String interfaceName, int ipAddress) {
+        Integer lportTag = lportTags.get(interfaceName);
+        if (lportTag == null) {
+            return null;
+        }
+        Neighbor neighbor = neighbors.getIfPresent(key(lportTag, ipAddress));
+        // The lport tag could have been reused by another interface since
+        return neighbor != null && neighbor.interfaceName.equals(interfaceName) ? neighbor : null;
+    }
+
+    private static Long key(int lportTag, int ipAddress) {
+        return (long) lportTag << 32 | ipAddress & 0xFFFFFFFFL;
+    }
+
+    private static final class Neighbor {
+        final String interfaceName;
+        final long macAddress;
+        final long learnedNanos;
+
+        Neighbor(String interfaceName, long macAddress, long learnedNanos) {
+            this.interfaceName = interfaceName;
+            this.macAddress = macAddress;
+            this.learnedNanos = learnedNanos;
+        }
+    }
+}
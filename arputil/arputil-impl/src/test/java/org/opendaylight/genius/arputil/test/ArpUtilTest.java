@@ -7,6 +7,11 @@
  */
 package org.opendaylight.genius.arputil.test;
 
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.opendaylight.genius.arputil.test.ArpUtilTestUtil.INTERFACE_NAME;
 
 import java.util.Arrays;
@@ -30,9 +35,14 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.Ge
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.GetMacOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.OdlArputilService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpResponseInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestsInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestsInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpRequestsOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.SendArpResponseInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.interfaces.InterfaceAddress;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.interfaces.InterfaceAddressBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.send.arp.requests.output.ArpRequestResult;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.OdlInterfaceRpcService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
 import org.opendaylight.yangtools.yang.common.RpcResult;
 
@@ -44,6 +54,7 @@ public class ArpUtilTest {
 
     @Inject ArpUtilImpl arpUtil;
     @Inject OdlArputilService odlArputilService;
+    @Inject OdlInterfaceRpcService odlInterfaceRpcService;
 
     @Test
     public void testGetMac() throws Exception {
@@ -75,7 +86,47 @@ public class ArpUtilTest {
 
         arpUtil.onPacketReceived(packetReceived);//onPacketReceived triggers counter.inc()
 
-        Assert.assertEquals(1,ArpUtilCounters.arp_res_rcv_notification.get());
+        // packets are processed asynchronously, by the worker of their interface
+        await().until(() -> ArpUtilCounters.arp_res_rcv_notification.get() == 1);
+    }
+
+    @Test
+    public void testInterfaceIsLookedUpWithoutRpc() {
+        long notifications = ArpUtilCounters.arp_req_rcv_notification.get();
+
+        arpUtil.onPacketReceived(ArpUtilTestUtil.createPayload(0));
+        arpUtil.onPacketReceived(ArpUtilTestUtil.createPayload(0));
+
+        await().until(() -> ArpUtilCounters.arp_req_rcv_notification.get() == notifications + 2);
+        verify(odlInterfaceRpcService, never()).getInterfaceFromIfIndex(any());
+    }
+
+    @Test
+    public void testSendArpRequestsLooksInterfaceUpOnce() throws Exception {
+        final InterfaceAddress interfaceAddress = new InterfaceAddressBuilder()
+                .setInterface(INTERFACE_NAME)
+                .setIpAddress(new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.1")))
+                .setMacaddress(new PhysAddress("1F:1F:1F:1F:1F:1F")).build();
+        SendArpRequestsInput input = new SendArpRequestsInputBuilder()
+                .setTargetIpaddress(Arrays.asList(new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.2")),
+                        new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.3")),
+                        new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.4")),
+                        new IpAddress(Ipv4Address.getDefaultInstance("192.168.0.2"))))
+                .setInterfaceAddress(Arrays.asList(interfaceAddress)).build();
+
+        RpcResult<SendArpRequestsOutput> output = odlArputilService.sendArpRequests(input).get();
+
+        Assert.assertTrue(output.isSuccessful());
+        // the target given twice is sent to and reported once, as the results are keyed by target
+        List<ArpRequestResult> results = output.getResult().getArpRequestResult();
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals(3, results.stream().map(ArpRequestResult::getTargetIpaddress).distinct().count());
+        for (ArpRequestResult result : results) {
+            Assert.assertEquals(Long.valueOf(1), result.getSentCount());
+            Assert.assertTrue(result.getErrorMessage().isEmpty());
+        }
+        verify(odlInterfaceRpcService, times(1)).getPortFromInterface(any());
+        verify(odlInterfaceRpcService, times(1)).getEgressActionsForInterface(any());
     }
 
     @Test
@@ -8,6 +8,7 @@
 package org.opendaylight.genius.arputil.test;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.net.UnknownHostException;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
@@ -15,6 +16,7 @@ import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService
 import org.opendaylight.controller.md.sal.binding.api.NotificationService;
 import org.opendaylight.controller.md.sal.binding.test.DataBrokerTestModule;
 import org.opendaylight.genius.arputil.internal.ArpUtilImpl;
+import org.opendaylight.genius.interfacemanager.interfaces.IInterfaceManager;
 import org.opendaylight.infrautils.inject.guice.testutils.AbstractGuiceJsr250Module;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.arputil.rev160406.OdlArputilService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rpcs.rev160406.OdlInterfaceRpcService;
@@ -34,6 +36,10 @@ public class ArpUtilTestModule extends AbstractGuiceJsr250Module {
         bind(PacketProcessingService.class).toInstance(testPacketProcessingService);
         bind(NotificationService.class).toInstance(mock(NotificationService.class));
         bind(NotificationPublishService.class).toInstance(mock(NotificationPublishService.class));
+        IInterfaceManager interfaceManager = mock(IInterfaceManager.class);
+        when(interfaceManager.getInterfaceNameForLportTag(ArpUtilTestUtil.LPORT_TAG))
+                .thenReturn(ArpUtilTestUtil.INTERFACE_NAME);
+        bind(IInterfaceManager.class).toInstance(interfaceManager);
         bind(OdlArputilService.class).to(ArpUtilImpl.class);
     }
 }
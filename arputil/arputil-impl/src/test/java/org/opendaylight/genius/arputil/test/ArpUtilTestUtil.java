@@ -24,6 +24,8 @@ public final class ArpUtilTestUtil {
 
     public static final BigInteger DPN_ID = BigInteger.ONE;
     public static final BigInteger META_DATA = BigInteger.TEN;
+    // lport tag of META_DATA
+    public static final int LPORT_TAG = 0;
     public static final long PORT_NUMBER = 2;
     public static final String URI = "2";
     public static final String INTERFACE_NAME = "23701c04-7e58-4c65-9425-78a80d49a218";
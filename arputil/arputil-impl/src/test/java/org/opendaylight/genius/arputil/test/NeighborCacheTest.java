@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.arputil.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import org.opendaylight.genius.arputil.internal.NeighborCache;
+import org.opendaylight.genius.arputil.internal.NeighborCache.State;
+
+public class NeighborCacheTest {
+
+    private static final String INTERFACE = "tap1";
+    private static final int IP = 0xC0A80002;
+    private static final long MAC = 0x000102030405L;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final NeighborCache neighbors = new NeighborCache(2, 1000, 5000, new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    });
+
+    @Test
+    public void testLearnReportsNewAndChangedNeighbors() {
+        assertTrue(neighbors.learn(7, INTERFACE, IP, MAC));
+        assertFalse(neighbors.learn(7, INTERFACE, IP, MAC));
+        assertTrue(neighbors.learn(7, INTERFACE, IP, MAC + 1));
+        assertEquals(Long.valueOf(MAC + 1), neighbors.getReachableMacAddress(INTERFACE, IP));
+        assertNull(neighbors.getReachableMacAddress("tap2", IP));
+    }
+
+    @Test
+    public void testNeighborGoesStaleThenIsEvicted() {
+        neighbors.learn(7, INTERFACE, IP, MAC);
+        assertEquals(State.REACHABLE, neighbors.getState(INTERFACE, IP));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(State.STALE, neighbors.getState(INTERFACE, IP));
+        assertNull(neighbors.getReachableMacAddress(INTERFACE, IP));
+        // a stale neighbor is not reported as new when it is heard from again
+        assertFalse(neighbors.learn(7, INTERFACE, IP, MAC));
+        assertEquals(State.REACHABLE, neighbors.getState(INTERFACE, IP));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(5000));
+        assertNull(neighbors.getState(INTERFACE, IP));
+        assertTrue(neighbors.learn(7, INTERFACE, IP, MAC));
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        for (int ip = 0; ip < 100; ip++) {
+            neighbors.learn(7, INTERFACE, ip, MAC);
+        }
+        assertTrue(neighbors.size() <= 2);
+    }
+
+    @Test
+    public void testDeletedInterfaceIsForgotten() {
+        neighbors.learn(7, INTERFACE, IP, MAC);
+        neighbors.forget(INTERFACE);
+        assertNull(neighbors.getState(INTERFACE, IP));
+        assertEquals(0, neighbors.size());
+
+        // an interface created again with the same name and lport tag does not get the old neighbors back
+        assertTrue(neighbors.learn(7, INTERFACE, IP + 1, MAC));
+        assertNull(neighbors.getState(INTERFACE, IP));
+    }
+
+    @Test
+    public void testToMacAddressBytes() {
+        assertArrayEquals(new byte[] { 0, 1, 2, 3, 4, 5 }, NeighborCache.toMacAddressBytes(MAC));
+    }
+}
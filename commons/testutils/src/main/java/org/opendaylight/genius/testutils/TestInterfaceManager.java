@@ -161,4 +161,14 @@ public abstract class TestInterfaceManager implements IInterfaceManager {
         return externalInterfaces.containsKey(interfaceName);
     }
 
+    @Override
+    public String getInterfaceNameForLportTag(int lportTag) {
+        for (InterfaceInfo interfaceInfo : interfaceInfos.values()) {
+            if (interfaceInfo.getInterfaceTag() == lportTag) {
+                return interfaceInfo.getInterfaceName();
+            }
+        }
+        return null;
+    }
+
 }
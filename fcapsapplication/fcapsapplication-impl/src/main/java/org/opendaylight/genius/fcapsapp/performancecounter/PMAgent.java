@@ -9,6 +9,7 @@ package org.opendaylight.genius.fcapsapp.performancecounter;
 
 import java.lang.management.ManagementFactory;
 import java.util.Map;
+import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
 import javax.inject.Singleton;
 import javax.management.InstanceAlreadyExistsException;
@@ -99,7 +100,7 @@ public class PMAgent {
         portcounterBean.updateCounter(map);
     }
 
-    public void sendPacketInCounterUpdate(Map map) {
-        packetInCounter.updateCounter(map);
+    public void setPacketInCounterSupplier(Supplier<Map<String, String>> supplier) {
+        packetInCounter.setCounterSupplier(supplier);
     }
 }
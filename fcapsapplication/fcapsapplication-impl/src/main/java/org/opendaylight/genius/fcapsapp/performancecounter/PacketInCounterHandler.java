@@ -11,70 +11,79 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
-import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketProcessingListener;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.packet.service.rev130709.PacketReceived;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Counts the packet-ins of each DPN.
+ *
+ * <p>Counting a packet-in only looks the counter of its DPN up and increments it, without allocating; the counters
+ * are only aggregated into the map of the PM platform when the {@link PMAgent} MBean is read.
+ */
 @Singleton
 public class PacketInCounterHandler implements PacketProcessingListener {
     private static final Logger LOG = LoggerFactory.getLogger(PacketInCounterHandler.class);
-    private static final Long FIRST_VALUE = 0L;
 
-    private final PMAgent agent;
-    private final ConcurrentMap<String, AtomicLong> ingressPacketMap = new ConcurrentHashMap<>();
+    // Keyed by node id, e.g. openflow:1
+    private final ConcurrentMap<String, DpnPacketInCounter> ingressPacketMap = new ConcurrentHashMap<>();
 
     @Inject
     public PacketInCounterHandler(final PMAgent agent) {
-        this.agent = agent;
+        agent.setPacketInCounterSupplier(this::getPacketInCounters);
     }
 
     @Override
     public void onPacketReceived(PacketReceived notification) {
         LOG.debug("Ingress packet notification received");
-        if (notification.getIngress() == null) {
-            if (LOG.isWarnEnabled()) {
-                LOG.warn("invalid PacketReceived notification");
-            }
+        NodeKey nodeKey = notification.getIngress() == null ? null
+                : notification.getIngress().getValue().firstKeyOf(Node.class);
+        if (nodeKey == null) {
+            LOG.warn("invalid PacketReceived notification");
             return;
         }
-        String dpnId = getDpnId(notification.getIngress().getValue().toString());
-        ingressPacketMap.putIfAbsent(dpnId, new AtomicLong(FIRST_VALUE)).incrementAndGet();
-        connectToPMAgent();
-    }
-
-    private void connectToPMAgent() {
-        Map<String, String> packetInMap = new HashMap<>();
-        ingressPacketMap.forEach((dpnId, count) -> packetInMap
-                .put("InjectedOFMessagesSent:" + "dpnId_" + dpnId + "_InjectedOFMessagesSent", String.valueOf(count)));
-        agent.sendPacketInCounterUpdate(packetInMap);
+        String nodeId = nodeKey.getId().getValue();
+        DpnPacketInCounter counter = ingressPacketMap.get(nodeId);
+        if (counter == null) {
+            counter = ingressPacketMap.computeIfAbsent(nodeId, DpnPacketInCounter::new);
+        }
+        counter.packetIns.increment();
     }
 
-    /*
-     * Method to extract DpnId
+    /**
+     * Returns a snapshot of the packet-in counter of each DPN, as expected by the PM platform.
      */
-    @Nonnull
-    private String getDpnId(@Nonnull String id) {
-        String[] nodeNo = id.split(":");
-        String[] dpnId = nodeNo[1].split("]");
-        return dpnId[0];
+    public Map<String, String> getPacketInCounters() {
+        Map<String, String> packetInMap = new HashMap<>();
+        ingressPacketMap.values().forEach(
+            counter -> packetInMap.put(counter.counterName, String.valueOf(counter.packetIns.sum())));
+        return packetInMap;
     }
 
-    public void nodeRemovedNotification(String dpnId) {
-        if (dpnId != null) {
-            dpnId = dpnId.split(":")[1];
-            LOG.debug("Dpnvalue Id {}", dpnId);
-            if (ingressPacketMap.containsKey(dpnId)) {
-                ingressPacketMap.remove(dpnId);
-                connectToPMAgent();
-                LOG.debug("Node {} Removed for PacketIn counter", dpnId);
+    public void nodeRemovedNotification(String nodeId) {
+        if (nodeId != null) {
+            LOG.debug("Dpnvalue Id {}", nodeId);
+            if (ingressPacketMap.remove(nodeId) != null) {
+                LOG.debug("Node {} Removed for PacketIn counter", nodeId);
             }
         } else {
             LOG.error("DpnId is null upon nodeRemovedNotification");
         }
     }
+
+    private static final class DpnPacketInCounter {
+        final String counterName;
+        final LongAdder packetIns = new LongAdder();
+
+        DpnPacketInCounter(String nodeId) {
+            String dpnId = nodeId.substring(nodeId.indexOf(':') + 1);
+            counterName = "InjectedOFMessagesSent:" + "dpnId_" + dpnId + "_InjectedOFMessagesSent";
+        }
+    }
 }
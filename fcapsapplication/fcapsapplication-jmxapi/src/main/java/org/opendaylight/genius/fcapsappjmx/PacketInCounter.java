@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ * Copyright (c) 2016, 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v1.0 which accompanies this distribution,
@@ -7,19 +7,27 @@
  */
 package org.opendaylight.genius.fcapsappjmx;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class PacketInCounter implements PacketInCounterMBean {
-    private static Map<String, String> counterCache = new HashMap<>();
+    private volatile Supplier<Map<String, String>> counterSupplier = Collections::emptyMap;
 
     @Override
     public void updateCounter(Map<String, String> map) {
-        counterCache = map;
+        counterSupplier = () -> map;
+    }
+
+    /**
+     * Sets the supplier of the counters, to build them only when they are retrieved.
+     */
+    public void setCounterSupplier(Supplier<Map<String, String>> supplier) {
+        counterSupplier = supplier;
     }
 
     @Override
     public Map<String, String> retrieveCounterMap() {
-        return counterCache;
+        return counterSupplier.get();
     }
 }
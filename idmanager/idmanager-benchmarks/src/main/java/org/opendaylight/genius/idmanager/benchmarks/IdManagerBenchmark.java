@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdRangeInputBuilder;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation benchmarks of the IdManager RPCs, reporting throughput and latency percentiles.
+ * Run from the shaded jar, adding {@code -prof gc} for the allocation rate:
+ * <pre>
+ *   java -jar idmanager/idmanager-benchmarks/target/idmanager-benchmarks.jar IdManager -prof gc
+ * </pre>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdManagerBenchmark {
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    /**
+     * Per thread pool and key sequence, so threads allocate distinct keys, spread over the pools.
+     */
+    @State(Scope.Thread)
+    public static class ThreadKeys {
+        String poolName;
+        String keyPrefix;
+        long next;
+
+        @Setup
+        public void setUp() {
+            int threadIndex = THREAD_INDEX.getAndIncrement();
+            poolName = IdManagerState.poolName(threadIndex % IdManagerState.POOL_COUNT);
+            keyPrefix = "thread-" + threadIndex + "-key-";
+        }
+
+        String nextKey() {
+            return keyPrefix + next++;
+        }
+    }
+
+    /**
+     * A single key allocated over and over, which after the first call is answered from its id-entry.
+     */
+    @Benchmark
+    @Threads(1)
+    public long allocateSameKey(IdManagerState state) throws InterruptedException, ExecutionException {
+        return unwrap(state.idManager.allocateId(new AllocateIdInputBuilder()
+                .setPoolName(IdManagerState.poolName(0)).setIdKey("hot-key").build()).get()).getIdValue();
+    }
+
+    /**
+     * New keys allocated by many threads, spread over {@link IdManagerState#POOL_COUNT} pools.
+     */
+    @Benchmark
+    @Threads(8)
+    public long allocateNewKeys(IdManagerState state, ThreadKeys keys)
+            throws InterruptedException, ExecutionException {
+        return unwrap(state.idManager.allocateId(new AllocateIdInputBuilder()
+                .setPoolName(keys.poolName).setIdKey(keys.nextKey()).build()).get()).getIdValue();
+    }
+
+    /**
+     * Ranges of ten ids for new keys, allocated by many threads.
+     */
+    @Benchmark
+    @Threads(8)
+    public List<Long> allocateIdRanges(IdManagerState state, ThreadKeys keys)
+            throws InterruptedException, ExecutionException {
+        return unwrap(state.idManager.allocateIdRange(new AllocateIdRangeInputBuilder()
+                .setPoolName(keys.poolName).setIdKey(keys.nextKey()).setSize(10L).build()).get()).getIdValues();
+    }
+
+    static <T> T unwrap(RpcResult<T> result) {
+        if (!result.isSuccessful()) {
+            throw new IllegalStateException("RPC failed: " + result.getErrors());
+        }
+        return result.getResult();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.benchmarks;
+
+import java.util.concurrent.ExecutionException;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.test.DataBrokerTestModule;
+import org.opendaylight.daexim.DataImportBootReady;
+import org.opendaylight.genius.idmanager.IdManager;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.infrautils.jobcoordinator.internal.JobCoordinatorImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInputBuilder;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * An {@link IdManager} on an in-memory {@link DataBroker}, with a {@link NoOpLockManagerService}.
+ */
+@State(Scope.Benchmark)
+public class IdManagerState {
+
+    static final int POOL_COUNT = 8;
+    static final long POOL_HIGH = 100_000_000L;
+
+    JobCoordinatorImpl jobCoordinator;
+    IdManager idManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        DataBroker dataBroker = DataBrokerTestModule.dataBroker();
+        jobCoordinator = new JobCoordinatorImpl();
+        idManager = new IdManager(dataBroker, new NoOpLockManagerService(), new IdUtils(),
+                new DataImportBootReady() { }, jobCoordinator);
+        for (int pool = 0; pool < POOL_COUNT; pool++) {
+            createPool(poolName(pool), 0, POOL_HIGH);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        idManager.close();
+        jobCoordinator.destroy();
+    }
+
+    void createPool(String poolName, long low, long high) throws InterruptedException, ExecutionException {
+        RpcResult<Void> result = idManager.createIdPool(new CreateIdPoolInputBuilder().setPoolName(poolName)
+                .setLow(low).setHigh(high).build()).get();
+        if (!result.isSuccessful()) {
+            throw new IllegalStateException("Failed to create pool " + poolName + ": " + result.getErrors());
+        }
+    }
+
+    static String poolName(int pool) {
+        return "benchmark-pool-" + pool;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.benchmarks;
+
+import static org.opendaylight.genius.idmanager.benchmarks.IdManagerBenchmark.unwrap;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInputBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of pool exhaustion, block refills and releases, which cannot run as open ended loops:
+ * each iteration works through a fresh pool of {@link #POOL_SIZE} ids, one operation per id.
+ * The reported single shot times are per iteration, i.e. per {@link #POOL_SIZE} operations.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = IdPoolLifecycleBenchmark.POOL_SIZE)
+@Measurement(iterations = 20, batchSize = IdPoolLifecycleBenchmark.POOL_SIZE)
+@Fork(1)
+public class IdPoolLifecycleBenchmark {
+
+    /**
+     * Pool size; the IdManager splits pools in ten blocks, so exhausting a pool refills the local pool
+     * from the parent pool ten times.
+     */
+    static final int POOL_SIZE = 10_000;
+
+    /**
+     * A fresh pool for each iteration.
+     */
+    @State(Scope.Thread)
+    public static class FreshPool {
+        private int iteration;
+        String poolName;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(IdManagerState state) throws InterruptedException, ExecutionException {
+            poolName = "lifecycle-pool-" + iteration++;
+            next = 0;
+            state.createPool(poolName, 1, POOL_SIZE);
+        }
+    }
+
+    /**
+     * A fresh pool for each iteration, with all its ids allocated, to be released.
+     */
+    @State(Scope.Thread)
+    public static class AllocatedPool {
+        private int iteration;
+        String poolName;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(IdManagerState state) throws InterruptedException, ExecutionException {
+            poolName = "released-pool-" + iteration++;
+            next = 0;
+            state.createPool(poolName, 1, POOL_SIZE);
+            for (int key = 0; key < POOL_SIZE; key++) {
+                allocate(state, poolName, key);
+            }
+        }
+    }
+
+    /**
+     * Allocates every id of a fresh pool, refilling the local pool from its parent every block.
+     */
+    @Benchmark
+    public long allocateUntilExhausted(IdManagerState state, FreshPool pool)
+            throws InterruptedException, ExecutionException {
+        return allocate(state, pool.poolName, pool.next++);
+    }
+
+    /**
+     * Releases every id of a pool. Released ids only become available again after the release delay.
+     */
+    @Benchmark
+    public boolean releaseAll(IdManagerState state, AllocatedPool pool)
+            throws InterruptedException, ExecutionException {
+        return state.idManager.releaseId(new ReleaseIdInputBuilder().setPoolName(pool.poolName)
+                .setIdKey(key(pool.next++)).build()).get().isSuccessful();
+    }
+
+    private static long allocate(IdManagerState state, String poolName, int key)
+            throws InterruptedException, ExecutionException {
+        return unwrap(state.idManager.allocateId(new AllocateIdInputBuilder().setPoolName(poolName)
+                .setIdKey(key(key)).build()).get()).getIdValue();
+    }
+
+    private static String key(int key) {
+        return "key-" + key;
+    }
+}
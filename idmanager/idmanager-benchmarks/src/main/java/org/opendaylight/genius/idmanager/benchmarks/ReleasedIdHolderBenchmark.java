@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.benchmarks;
+
+import com.google.common.base.Optional;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.genius.idmanager.ReleasedIdHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Release and reuse of ids through a {@link ReleasedIdHolder}, holding {@link #backlog} released ids.
+ * The RPC level release benchmark cannot wait out the release delay, so reuse of released ids is
+ * measured here with a delay of zero.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ReleasedIdHolderBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int backlog;
+
+    private ReleasedIdHolder releasedIds;
+
+    @Setup
+    public void setUp() throws UnknownHostException {
+        releasedIds = new ReleasedIdHolder(new IdUtils(), 0);
+        for (long id = 0; id < backlog; id++) {
+            releasedIds.addId(id);
+        }
+    }
+
+    /**
+     * Releases ids, concurrently with {@link #reuse()}.
+     */
+    @Benchmark
+    @Group("releaseAndReuse")
+    @GroupThreads(2)
+    public void release() {
+        releasedIds.addId(42L);
+    }
+
+    /**
+     * Reuses released ids, concurrently with {@link #release()}.
+     */
+    @Benchmark
+    @Group("releaseAndReuse")
+    @GroupThreads(2)
+    public Optional<Long> reuse() {
+        return releasedIds.allocateId();
+    }
+}
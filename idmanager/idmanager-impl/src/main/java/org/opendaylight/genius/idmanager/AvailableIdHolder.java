@@ -16,6 +16,8 @@ public class AvailableIdHolder implements IdHolder {
     private final long low;
     private final long high;
     private final AtomicLong cur = new AtomicLong();
+    private final AtomicLong reservedCur = new AtomicLong();
+    private final boolean reservingAhead;
 
     private final IdUtils idUtils;
 
@@ -23,18 +25,35 @@ public class AvailableIdHolder implements IdHolder {
         this.idUtils = idUtils;
         this.low = low;
         this.high = high;
+        this.reservingAhead = idUtils.getAvailableIdsReservation() > 0;
         cur.set(low - 1);
+        reservedCur.set(low - 1);
     }
 
+    /**
+     * Allocates the next id. When the persisted cursor is reserved ahead, no id past the reserved cursor is handed
+     * out, see {@link #isReservationExhausted()}.
+     */
     @Override
     public Optional<Long> allocateId() {
-        if (isIdAvailable(0L /*currentTime*/)) { //currentTime parameter not used for fetching Ids from AvailableIds
-            long id = cur.incrementAndGet();
-            if (id <= high) {
-                return Optional.of(id);
+        while (true) {
+            long current = cur.get();
+            if (current >= high || reservingAhead && current >= reservedCur.get()) {
+                return Optional.absent();
+            }
+            if (cur.compareAndSet(current, current + 1)) {
+                return Optional.of(current + 1);
             }
         }
-        return Optional.absent();
+    }
+
+    /**
+     * Whether ids are left, but none up to the reserved cursor; the holder must be persisted, which reserves
+     * further ids, before {@link #allocateId()} hands out more.
+     */
+    public boolean isReservationExhausted() {
+        long current = cur.get();
+        return reservingAhead && current < high && current >= reservedCur.get();
     }
 
     @Override
@@ -66,6 +85,18 @@ public class AvailableIdHolder implements IdHolder {
 
     public void setCur(long cur) {
         this.cur.set(cur);
+        reservedCur.accumulateAndGet(cur, Math::max);
+    }
+
+    /**
+     * Returns the cursor to persist: the current one, advanced by up to {@code reserveAhead} ids which may still
+     * be handed out before the holder is persisted again. The returned cursor never moves backwards, so ids
+     * handed out before a restart are skipped rather than allocated again.
+     */
+    public long reserveCur(long reserveAhead) {
+        long current = cur.get();
+        long target = Math.max(current, Math.min(high, current + reserveAhead));
+        return reservedCur.accumulateAndGet(target, Math::max);
     }
 
     @Override
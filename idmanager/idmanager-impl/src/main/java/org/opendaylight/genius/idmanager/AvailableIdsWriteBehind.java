@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind persistence of the available ids of local pools.
+ *
+ * <p>Instead of persisting the {@link AvailableIdHolder} of a local pool after every allocation, allocations
+ * only mark the pool dirty; the pool is flushed once {@code maxAllocations} allocations are pending, or
+ * {@code intervalMillis} after the first pending allocation, whichever comes first.
+ *
+ * <p>Crash safety relies on {@link AvailableIdHolder#reserveCur(long)}: every flush persists a cursor
+ * {@link IdUtils#getAvailableIdsReservation()} ids ahead of the in-memory one, so after a restart the pool resumes
+ * past any id handed out since the last flush. The ids in between are skipped, never reused. Should allocations
+ * outrun the flushes, no id is handed out past the reserved cursor until a further reservation is committed.
+ */
+public class AvailableIdsWriteBehind implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AvailableIdsWriteBehind.class);
+
+    private final int maxAllocations;
+    private final long intervalMillis;
+    private final Consumer<String> flusher;
+    private final ConcurrentMap<String, PendingSync> pendingSyncs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor.
+     *
+     * @param maxAllocations pending allocations which trigger an immediate flush; 1 or less disables write-behind
+     * @param intervalMillis how long an allocation may stay pending at most
+     * @param flusher persists the available ids of the local pool of the given parent pool
+     */
+    public AvailableIdsWriteBehind(int maxAllocations, long intervalMillis, Consumer<String> flusher) {
+        this.maxAllocations = maxAllocations;
+        this.intervalMillis = intervalMillis;
+        this.flusher = flusher;
+        this.scheduler = isEnabled() ? Executors.newSingleThreadScheduledExecutor(ThreadFactoryProvider.builder()
+                .namePrefix("IdManager-WriteBehind").logger(LOG).build().get()) : null;
+    }
+
+    public boolean isEnabled() {
+        return maxAllocations > 1;
+    }
+
+    /**
+     * Records an allocation from the available ids of the local pool of the given parent pool.
+     * Must only be called if {@link #isEnabled()}.
+     */
+    public void allocated(String parentPoolName) {
+        PendingSync pendingSync = pendingSyncs.computeIfAbsent(parentPoolName, name -> new PendingSync());
+        if (pendingSync.dirtyAllocations.incrementAndGet() >= maxAllocations) {
+            flush(parentPoolName, pendingSync);
+        } else if (pendingSync.flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                pendingSync.flushScheduled.set(false);
+                flush(parentPoolName, pendingSync);
+            }, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drops the pending allocations of a deleted pool.
+     */
+    public void forget(String parentPoolName) {
+        pendingSyncs.remove(parentPoolName);
+    }
+
+    /**
+     * Flushes all pools with pending allocations.
+     */
+    public void flushAll() {
+        pendingSyncs.forEach(this::flush);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flushAll();
+    }
+
+    private void flush(String parentPoolName, PendingSync pendingSync) {
+        int dirtyAllocations = pendingSync.dirtyAllocations.getAndSet(0);
+        if (dirtyAllocations > 0) {
+            LOG.debug("Flushing {} allocations of the local pool of {}", dirtyAllocations, parentPoolName);
+            flusher.accept(parentPoolName);
+        }
+    }
+
+    private static final class PendingSync {
+        final AtomicInteger dirtyAllocations = new AtomicInteger();
+        final AtomicBoolean flushScheduled = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import org.opendaylight.genius.idmanager.ReleasedIdHolder.DelayedIdEntry;
+
+/**
+ * Lock-free FIFO queue of released ids and the time they become ready for reuse, stored in primitive arrays.
+ *
+ * <p>The queue is a linked list of fixed size segments. Producers claim a slot of the tail segment by
+ * incrementing its write index, consumers claim the head slot by a compare-and-set of the read index, and
+ * only if the id in it is ready; so adding is O(1) and allocating is O(1) and garbage free, whatever the
+ * number of released ids. Fully consumed segments become unreachable and are garbage collected.
+ *
+ * <p>A slot whose producer has claimed but not yet filled it hides the slots behind it until it is published.
+ * {@link #snapshot()} is weakly consistent: it reflects some of the concurrent additions and removals.
+ */
+final class DelayedIdQueue {
+
+    static final long NO_ID = Long.MIN_VALUE;
+
+    private static final int SEGMENT_SIZE = 256;
+
+    private final AtomicReference<Segment> head;
+    private final AtomicReference<Segment> tail;
+
+    DelayedIdQueue() {
+        Segment segment = new Segment();
+        head = new AtomicReference<>(segment);
+        tail = new AtomicReference<>(segment);
+    }
+
+    void add(long id, long readyTimeSec) {
+        while (true) {
+            Segment segment = tail.get();
+            int index = segment.writeIndex.getAndIncrement();
+            if (index < SEGMENT_SIZE) {
+                segment.ids[index] = id;
+                segment.readyTimes[index] = readyTimeSec;
+                segment.published.lazySet(index, 1);
+                return;
+            }
+            Segment next = segment.next.get();
+            if (next == null) {
+                Segment newSegment = new Segment();
+                next = segment.next.compareAndSet(null, newSegment) ? newSegment : segment.next.get();
+            }
+            tail.compareAndSet(segment, next);
+        }
+    }
+
+    /**
+     * Removes the id at the head of the queue if it is ready at the given time.
+     *
+     * @return the removed id, or {@link #NO_ID} if the queue is empty or its head is not ready yet
+     */
+    long pollReady(long curTimeSec) {
+        while (true) {
+            Segment segment = head.get();
+            int index = segment.readIndex.get();
+            if (index >= SEGMENT_SIZE) {
+                Segment next = segment.next.get();
+                if (next == null) {
+                    return NO_ID;
+                }
+                head.compareAndSet(segment, next);
+                continue;
+            }
+            if (segment.published.get(index) == 0 || segment.readyTimes[index] > curTimeSec) {
+                return NO_ID;
+            }
+            long id = segment.ids[index];
+            if (segment.readIndex.compareAndSet(index, index + 1)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the id at the head of the queue is ready at the given time.
+     */
+    boolean isHeadReady(long curTimeSec) {
+        Segment segment = head.get();
+        while (true) {
+            int index = segment.readIndex.get();
+            if (index < SEGMENT_SIZE) {
+                return segment.published.get(index) != 0 && segment.readyTimes[index] <= curTimeSec;
+            }
+            segment = segment.next.get();
+            if (segment == null) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Counts the ids at the head of the queue which are ready at the given time, up to the given limit.
+     */
+    long countReady(long curTimeSec, long limit) {
+        long count = 0;
+        for (Segment segment = head.get(); segment != null && count < limit; segment = segment.next.get()) {
+            int end = Math.min(segment.writeIndex.get(), SEGMENT_SIZE);
+            for (int index = segment.readIndex.get(); index < end && count < limit; index++) {
+                if (segment.published.get(index) == 0 || segment.readyTimes[index] > curTimeSec) {
+                    return count;
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a copy of the queued ids, in queue order.
+     */
+    List<DelayedIdEntry> snapshot() {
+        List<DelayedIdEntry> entries = new ArrayList<>();
+        for (Segment segment = head.get(); segment != null; segment = segment.next.get()) {
+            int end = Math.min(segment.writeIndex.get(), SEGMENT_SIZE);
+            for (int index = segment.readIndex.get(); index < end; index++) {
+                if (segment.published.get(index) == 0) {
+                    return entries;
+                }
+                entries.add(new DelayedIdEntry(segment.ids[index], segment.readyTimes[index]));
+            }
+        }
+        return entries;
+    }
+
+    private static final class Segment {
+        // Plain arrays: a slot is written before it is published, and only read after it is seen published
+        final long[] ids = new long[SEGMENT_SIZE];
+        final long[] readyTimes = new long[SEGMENT_SIZE];
+        final AtomicIntegerArray published = new AtomicIntegerArray(SEGMENT_SIZE);
+        final AtomicInteger writeIndex = new AtomicInteger();
+        final AtomicInteger readIndex = new AtomicInteger();
+        final AtomicReference<Segment> next = new AtomicReference<>();
+    }
+}
@@ -12,15 +12,19 @@ import static java.util.stream.Collectors.toCollection;
 import static org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType.CONFIGURATION;
 
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -33,6 +37,7 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
@@ -44,6 +49,7 @@ import org.opendaylight.genius.idmanager.jobs.CleanUpJob;
 import org.opendaylight.genius.idmanager.jobs.IdHolderSyncJob;
 import org.opendaylight.genius.idmanager.jobs.LocalPoolCreateJob;
 import org.opendaylight.genius.idmanager.jobs.LocalPoolDeleteJob;
+import org.opendaylight.genius.idmanager.jobs.UpdateIdEntriesJob;
 import org.opendaylight.genius.idmanager.jobs.UpdateIdEntryJob;
 import org.opendaylight.genius.infra.FutureRpcResults;
 import org.opendaylight.genius.infra.FutureRpcResults.LogLevel;
@@ -54,11 +60,17 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdRangeInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdRangeOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdRangeOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsOutputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.DeleteIdPoolInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdManagerService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdPools;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.allocateids.output.IdKeyValues;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.allocateids.output.IdKeyValuesBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.allocateids.output.IdKeyValuesKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPool;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolKey;
@@ -91,6 +103,7 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
 
     private final ConcurrentMap<String, IdLocalPool> localPool;
     private final Timer cleanJobTimer = new Timer();
+    private final AvailableIdsWriteBehind availableIdsWriteBehind;
 
     @Inject
     public IdManager(DataBroker db, LockManagerService lockManager, IdUtils idUtils,
@@ -111,6 +124,8 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         // it appears to be (is) un-used from a Java code PoV!
 
         this.localPool = new ConcurrentHashMap<>();
+        this.availableIdsWriteBehind = new AvailableIdsWriteBehind(idUtils.getWriteBehindAllocations(),
+                idUtils.getWriteBehindIntervalMillis(), this::syncAvailableIds);
         populateCache();
     }
 
@@ -129,6 +144,7 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
     @PreDestroy
     public void close() {
         cleanJobTimer.cancel();
+        availableIdsWriteBehind.close();
 
         LOG.info("{} close", getClass().getSimpleName());
     }
@@ -244,6 +260,143 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         }).onFailure(e -> completeExceptionallyIfPresent(poolName, idKey, e)).build();
     }
 
+    @Override
+    public Future<RpcResult<AllocateIdsOutput>> allocateIds(AllocateIdsInput input) {
+        String poolName = input.getPoolName();
+        List<String> idKeys = input.getIdKeys() != null ? input.getIdKeys() : Collections.emptyList();
+        return FutureRpcResults.fromBuilder(LOG, "allocateIds", input, () -> {
+            Map<String, Long> newIdValues = allocateIds(poolName, idKeys);
+            List<IdKeyValues> idKeyValues = new ArrayList<>(newIdValues.size());
+            newIdValues.forEach((idKey, idValue) -> idKeyValues.add(new IdKeyValuesBuilder()
+                    .setKey(new IdKeyValuesKey(idKey)).setIdKey(idKey).setIdValue(idValue).build()));
+            return new AllocateIdsOutputBuilder().setIdKeyValues(idKeyValues);
+        }).build();
+    }
+
+    /**
+     * Allocates one id per idKey from the given pool in one pass: the existing id-entries of all keys are read
+     * in one transaction, the missing ids are taken from the local pool cache, and the new id-entries are
+     * persisted together with the local pool state by a single {@link UpdateIdEntriesJob}.
+     *
+     * @return the id of every distinct idKey, in the order of the given keys
+     */
+    public Map<String, Long> allocateIds(String parentPoolName, List<String> idKeys)
+            throws OperationFailedException, IdManagerException {
+        String localPoolName = idUtils.getLocalPoolName(parentPoolName).intern();
+        Map<String, CompletableFuture<List<Long>>> ownFutures = new LinkedHashMap<>();
+        Map<String, CompletableFuture<List<Long>>> pendingFutures = new LinkedHashMap<>();
+        for (String idKey : idKeys) {
+            if (ownFutures.containsKey(idKey) || pendingFutures.containsKey(idKey)) {
+                continue;
+            }
+            CompletableFuture<List<Long>> futureIdValues = new CompletableFuture<>();
+            CompletableFuture<List<Long>> existingFutureIdValues =
+                    idUtils.putAllocatedIdsIfAbsent(idUtils.getUniqueKey(parentPoolName, idKey), futureIdValues);
+            if (existingFutureIdValues != null) {
+                pendingFutures.put(idKey, existingFutureIdValues);
+            } else {
+                ownFutures.put(idKey, futureIdValues);
+            }
+        }
+
+        Map<String, List<Long>> idValues = new LinkedHashMap<>();
+        // Locks are taken in key order, so that concurrent bulk requests cannot deadlock each other
+        SortedSet<String> lockedKeys = new TreeSet<>();
+        try {
+            for (String idKey : new TreeSet<>(ownFutures.keySet())) {
+                idUtils.lock(lockManager, idUtils.getUniqueKey(parentPoolName, idKey));
+                lockedKeys.add(idKey);
+            }
+            List<String> missingKeys = readExistingIdEntries(parentPoolName, ownFutures, idValues, lockedKeys);
+
+            Map<String, List<Long>> newIdValues = new LinkedHashMap<>();
+            if (!missingKeys.isEmpty()) {
+                IdLocalPool localIdPool = getOrCreateLocalIdPool(parentPoolName, localPoolName);
+                try {
+                    for (String idKey : missingKeys) {
+                        newIdValues.put(idKey,
+                                Collections.singletonList(getIdFromLocalPoolCache(localIdPool, parentPoolName, false)));
+                    }
+                } catch (OperationFailedException | IdManagerException e) {
+                    List<Long> allocated = new ArrayList<>();
+                    newIdValues.values().forEach(allocated::addAll);
+                    updateDelayedEntriesInLocalCache(allocated, parentPoolName, localIdPool);
+                    throw e;
+                }
+                LOG.debug("The newIdValues {} for pool {}", newIdValues, parentPoolName);
+                newIdValues.keySet().forEach(idKey -> idUtils.putReleaseIdLatch(
+                        idUtils.getUniqueKey(parentPoolName, idKey), new CountDownLatch(1)));
+                // the job takes over the locks of the new keys, and releases them once persisted
+                lockedKeys.removeAll(newIdValues.keySet());
+                jobCoordinator.enqueueJob(localPoolName, new UpdateIdEntriesJob(parentPoolName, localIdPool,
+                        newIdValues, broker, idUtils, lockManager), IdUtils.RETRY_COUNT);
+                newIdValues.forEach((idKey, values) -> ownFutures.get(idKey).complete(values));
+                idValues.putAll(newIdValues);
+            }
+        } catch (OperationFailedException | IdManagerException | RuntimeException e) {
+            ownFutures.forEach((idKey, future) -> {
+                if (!future.isDone()) {
+                    idUtils.removeAllocatedIds(idUtils.getUniqueKey(parentPoolName, idKey));
+                    future.completeExceptionally(e);
+                }
+            });
+            throw e;
+        } finally {
+            lockedKeys.forEach(idKey -> idUtils.unlock(lockManager, idUtils.getUniqueKey(parentPoolName, idKey)));
+        }
+
+        for (Map.Entry<String, CompletableFuture<List<Long>>> pending : pendingFutures.entrySet()) {
+            try {
+                idValues.put(pending.getKey(), pending.getValue().get());
+            } catch (InterruptedException | ExecutionException e) {
+                LOG.warn("Could not obtain id from existing futureIdValue for idKey {} and pool {}.",
+                        pending.getKey(), parentPoolName);
+                throw new IdManagerException(e.getMessage(), e);
+            }
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String idKey : idKeys) {
+            result.put(idKey, idValues.get(idKey).get(0));
+        }
+        return result;
+    }
+
+    /**
+     * Reads the id-entries of all given idKeys in one read transaction. The futures of keys which already own
+     * ids are completed and their locks released.
+     *
+     * @return the keys which do not own an id yet
+     */
+    private List<String> readExistingIdEntries(String parentPoolName,
+            Map<String, CompletableFuture<List<Long>>> futures, Map<String, List<Long>> idValues,
+            SortedSet<String> lockedKeys) throws ReadFailedException {
+        Map<String, CheckedFuture<Optional<IdEntries>, ReadFailedException>> reads = new LinkedHashMap<>();
+        try (ReadOnlyTransaction tx = broker.newReadOnlyTransaction()) {
+            futures.keySet().forEach(idKey -> reads.put(idKey,
+                    tx.read(CONFIGURATION, idUtils.getIdEntriesInstanceIdentifier(parentPoolName, idKey))));
+            List<String> missingKeys = new ArrayList<>();
+            for (Map.Entry<String, CheckedFuture<Optional<IdEntries>, ReadFailedException>> read
+                    : reads.entrySet()) {
+                String idKey = read.getKey();
+                Optional<IdEntries> existingIdEntry = read.getValue().checkedGet();
+                if (!existingIdEntry.isPresent()) {
+                    missingKeys.add(idKey);
+                    continue;
+                }
+                List<Long> existingIdValues = existingIdEntry.get().getIdValue();
+                LOG.debug("Existing ids {} for the key {} ", existingIdValues, idKey);
+                idValues.put(idKey, existingIdValues);
+                futures.get(idKey).complete(existingIdValues);
+                String uniqueIdKey = idUtils.getUniqueKey(parentPoolName, idKey);
+                idUtils.removeAllocatedIds(uniqueIdKey);
+                idUtils.unlock(lockManager, uniqueIdKey);
+                lockedKeys.remove(idKey);
+            }
+            return missingKeys;
+        }
+    }
+
     @Override
     public Future<RpcResult<Void>> deleteIdPool(DeleteIdPoolInput input) {
         return FutureRpcResults.fromListenableFuture(LOG, "deleteIdPool", input, () -> {
@@ -332,26 +485,48 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
 
     private Long getIdFromLocalPoolCache(IdLocalPool localIdPool, String parentPoolName)
             throws OperationFailedException, IdManagerException {
+        return getIdFromLocalPoolCache(localIdPool, parentPoolName, true);
+    }
+
+    /**
+     * Allocates an id from the local pool cache, fetching a new block from the parent pool if required.
+     *
+     * @param syncIdHolder whether to persist the id holder the id was taken from; callers passing false
+     *                     must persist the local pool themselves
+     */
+    private Long getIdFromLocalPoolCache(IdLocalPool localIdPool, String parentPoolName, boolean syncIdHolder)
+            throws OperationFailedException, IdManagerException {
         while (true) {
             IdHolder releasedIds = localIdPool.getReleasedIds();
             Optional<Long> releasedId = releasedIds.allocateId();
             if (releasedId.isPresent()) {
-                IdHolderSyncJob poolSyncJob =
-                        new IdHolderSyncJob(localIdPool.getPoolName(), localIdPool.getReleasedIds(), broker,
-                                idUtils);
-                jobCoordinator.enqueueJob(localIdPool.getPoolName(), poolSyncJob, IdUtils.RETRY_COUNT);
+                if (syncIdHolder) {
+                    IdHolderSyncJob poolSyncJob =
+                            new IdHolderSyncJob(localIdPool.getPoolName(), localIdPool.getReleasedIds(), broker,
+                                    idUtils);
+                    jobCoordinator.enqueueJob(localIdPool.getPoolName(), poolSyncJob, IdUtils.RETRY_COUNT);
+                }
                 return releasedId.get();
             }
             IdHolder availableIds = localIdPool.getAvailableIds();
             if (availableIds != null) {
                 Optional<Long> availableId = availableIds.allocateId();
                 if (availableId.isPresent()) {
-                    IdHolderSyncJob poolSyncJob =
-                            new IdHolderSyncJob(localIdPool.getPoolName(), localIdPool.getAvailableIds(),
-                                    broker, idUtils);
-                    jobCoordinator.enqueueJob(localIdPool.getPoolName(), poolSyncJob, IdUtils.RETRY_COUNT);
+                    if (syncIdHolder && availableIdsWriteBehind.isEnabled()) {
+                        availableIdsWriteBehind.allocated(parentPoolName);
+                    } else if (syncIdHolder) {
+                        IdHolderSyncJob poolSyncJob =
+                                new IdHolderSyncJob(localIdPool.getPoolName(), localIdPool.getAvailableIds(),
+                                        broker, idUtils);
+                        jobCoordinator.enqueueJob(localIdPool.getPoolName(), poolSyncJob, IdUtils.RETRY_COUNT);
+                    }
                     return availableId.get();
                 }
+                if (availableIds instanceof AvailableIdHolder
+                        && ((AvailableIdHolder) availableIds).isReservationExhausted()) {
+                    reserveAvailableIds(localIdPool);
+                    continue;
+                }
             }
             long idCount = getIdBlockFromParentPool(parentPoolName, localIdPool);
             if (idCount <= 0) {
@@ -630,10 +805,46 @@ public class IdManager implements IdManagerService, IdManagerMonitor {
         if (idLocalPool != null) {
             if (idLocalPool.getPoolName().equals(poolName)) {
                 localPool.remove(parentPoolName);
+                availableIdsWriteBehind.forget(parentPoolName);
             }
         }
     }
 
+    /**
+     * Persists the available ids of the local pool of the given parent pool, on behalf of the
+     * {@link AvailableIdsWriteBehind}. Released ids are always persisted right away, as they cannot be reserved
+     * ahead like the available ids' cursor.
+     */
+    private void syncAvailableIds(String parentPoolName) {
+        IdLocalPool localIdPool = localPool.get(parentPoolName);
+        if (localIdPool != null) {
+            IdHolderSyncJob poolSyncJob = new IdHolderSyncJob(localIdPool.getPoolName(),
+                    localIdPool.getAvailableIds(), broker, idUtils);
+            jobCoordinator.enqueueJob(localIdPool.getPoolName(), poolSyncJob, IdUtils.RETRY_COUNT);
+        }
+    }
+
+    /**
+     * Persists the available ids of a local pool, reserving further ids, and waits for it to be committed. Like
+     * {@link #getIdBlockFromParentPool(String, IdLocalPool)}, this is done on the calling thread, which may be running
+     * a job itself, so it never waits for another job; see {@link IdHolderSyncJob} for its ordering with the queued
+     * syncs of the pool.
+     */
+    private void reserveAvailableIds(IdLocalPool localIdPool) throws IdManagerException {
+        String localPoolName = localIdPool.getPoolName();
+        LOG.debug("Reservation of available ids of local pool {} exhausted, reserving further ids", localPoolName);
+        IdHolderSyncJob poolSyncJob = new IdHolderSyncJob(localPoolName, localIdPool.getAvailableIds(), broker,
+                idUtils);
+        try {
+            Futures.allAsList(poolSyncJob.call()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdManagerException("Interrupted reserving available ids of local pool " + localPoolName, e);
+        } catch (ExecutionException e) {
+            throw new IdManagerException("Failed to reserve available ids of local pool " + localPoolName, e);
+        }
+    }
+
     private void updateDelayedEntriesInLocalCache(List<Long> idsList, String parentPoolName,
             IdLocalPool localPoolCache) {
         for (long idValue : idsList) {
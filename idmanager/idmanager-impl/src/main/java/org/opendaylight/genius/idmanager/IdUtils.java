@@ -66,9 +66,34 @@ public class IdUtils {
     private final ConcurrentHashMap<String, AtomicInteger> poolUpdatedMap = new ConcurrentHashMap<>();
 
     private final int bladeId;
+    private final int writeBehindAllocations;
+    private final long writeBehindIntervalMillis;
 
     public IdUtils() throws UnknownHostException {
         bladeId = InetAddresses.coerceToInteger(InetAddress.getLocalHost());
+        writeBehindAllocations = Integer.getInteger("idmanager.writebehind.allocations", 1);
+        writeBehindIntervalMillis = Long.getLong("idmanager.writebehind.interval.ms", 1000);
+    }
+
+    /**
+     * Allocations from the available ids of a local pool after which it is persisted; the default of 1 persists
+     * after every allocation, larger values enable {@link AvailableIdsWriteBehind}.
+     */
+    public int getWriteBehindAllocations() {
+        return writeBehindAllocations;
+    }
+
+    public long getWriteBehindIntervalMillis() {
+        return writeBehindIntervalMillis;
+    }
+
+    /**
+     * Ids by which the persisted cursor of a local pool's available ids runs ahead of the in-memory one. Twice the
+     * write-behind allocations, so a flush can lag a full batch of allocations without ids being handed out
+     * past the persisted cursor.
+     */
+    public long getAvailableIdsReservation() {
+        return writeBehindAllocations > 1 ? 2L * writeBehindAllocations : 0;
     }
 
     public CompletableFuture<List<Long>> removeAllocatedIds(String uniqueIdKey) {
@@ -291,7 +316,7 @@ public class IdUtils {
     }
 
     public void syncAvailableIdHolder(AvailableIdHolder availableIdHolder, IdPoolBuilder idPool) {
-        long cur = availableIdHolder.getCur().get();
+        long cur = availableIdHolder.reserveCur(getAvailableIdsReservation());
         long low = availableIdHolder.getLow();
         long high = availableIdHolder.getHigh();
         AvailableIdsHolder availableIdsHolder = createAvailableIdsHolder(low, high, cur);
@@ -10,20 +10,24 @@ package org.opendaylight.genius.idmanager;
 import com.google.common.base.Optional;
 import java.io.Serializable;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolBuilder;
 
+/**
+ * Released ids of a local pool, which become available for reuse once their delay has passed.
+ *
+ * <p>The ids are kept in a lock-free queue of primitives, so releasing and allocating are
+ * O(1) however many ids are released; {@link #getDelayedEntries()} returns a snapshot copy.
+ */
 public class ReleasedIdHolder implements IdHolder {
-    private static final int INITIAL_INDEX = 0;
 
     private final AtomicLong availableIdCount = new AtomicLong();
 
     private final long timeDelaySec;
     private final IdUtils idUtils;
 
-    private volatile List<DelayedIdEntry> delayedEntries = new CopyOnWriteArrayList<>();
+    private volatile DelayedIdQueue delayedEntries = new DelayedIdQueue();
 
     public ReleasedIdHolder(IdUtils idUtils, long timeDelaySec) {
         this.idUtils = idUtils;
@@ -33,7 +37,7 @@ public class ReleasedIdHolder implements IdHolder {
 
     public ReleasedIdHolder(IdUtils idUtils, long timeDelaySec, List<DelayedIdEntry> delayedEntries) {
         this(idUtils, timeDelaySec);
-        this.delayedEntries.addAll(delayedEntries);
+        this.delayedEntries = toQueue(delayedEntries);
     }
 
     public static class DelayedIdEntry implements Serializable {
@@ -72,11 +76,10 @@ public class ReleasedIdHolder implements IdHolder {
                 availableIdCount.incrementAndGet();
                 return allocatedId;
             }
-            DelayedIdEntry idEntry = delayedEntries.remove(INITIAL_INDEX);
-            if (idEntry.getReadyTimeSec() <= curTimeSec) {
-                allocatedId = Optional.of(idEntry.getId());
+            long id = delayedEntries.pollReady(curTimeSec);
+            if (id != DelayedIdQueue.NO_ID) {
+                allocatedId = Optional.of(id);
             } else {
-                delayedEntries.add(INITIAL_INDEX, idEntry);
                 availableIdCount.incrementAndGet();
             }
         }
@@ -86,9 +89,8 @@ public class ReleasedIdHolder implements IdHolder {
     @Override
     public void addId(long id) {
         long curTimeSec = System.currentTimeMillis() / 1000;
-        DelayedIdEntry entry = new DelayedIdEntry(id, curTimeSec + timeDelaySec);
         availableIdCount.incrementAndGet();
-        delayedEntries.add(entry);
+        delayedEntries.add(id, curTimeSec + timeDelaySec);
     }
 
     @Override
@@ -96,38 +98,29 @@ public class ReleasedIdHolder implements IdHolder {
         if (availableIdCount.get() <= 0) {
             return false;
         }
-        boolean isIdExists = false;
-        if (!delayedEntries.isEmpty() && delayedEntries.get(INITIAL_INDEX).readyTimeSec <= curTimeSec) {
-            isIdExists = true;
-        }
-        return isIdExists;
+        return delayedEntries.isHeadReady(curTimeSec);
     }
 
     @Override
     public long getAvailableIdCount() {
-        long availableDelayedEntries = availableIdCount.get();
-        int index = INITIAL_INDEX;
-        if (delayedEntries.isEmpty()) {
-            return index;
-        }
         long curTimeSec = System.currentTimeMillis() / 1000;
-        while (index < availableDelayedEntries && delayedEntries.get(index).readyTimeSec <= curTimeSec) {
-            index++;
-        }
-        return index;
+        return delayedEntries.countReady(curTimeSec, availableIdCount.get());
     }
 
     public long getTimeDelaySec() {
         return timeDelaySec;
     }
 
+    /**
+     * Returns a snapshot of the released ids, in the order they will be allocated.
+     */
     @Nonnull
     public List<DelayedIdEntry> getDelayedEntries() {
-        return delayedEntries;
+        return delayedEntries.snapshot();
     }
 
     public void replaceDelayedEntries(@Nonnull List<DelayedIdEntry> newDelayedEntries) {
-        this.delayedEntries = new CopyOnWriteArrayList<>(newDelayedEntries);
+        this.delayedEntries = toQueue(newDelayedEntries);
     }
 
     public void setAvailableIdCount(long availableIdCount) {
@@ -138,11 +131,19 @@ public class ReleasedIdHolder implements IdHolder {
     public String toString() {
         return "ReleasedIdHolder [availableIdCount=" + availableIdCount
                 + ", timeDelaySec=" + timeDelaySec + ", delayedEntries="
-                + delayedEntries + "]";
+                + getDelayedEntries() + "]";
     }
 
     @Override
     public void refreshDataStore(IdPoolBuilder idPoolBuilder) {
         idUtils.syncReleaseIdHolder(this, idPoolBuilder);
     }
+
+    private static DelayedIdQueue toQueue(List<DelayedIdEntry> delayedEntries) {
+        DelayedIdQueue queue = new DelayedIdQueue();
+        for (DelayedIdEntry delayedEntry : delayedEntries) {
+            queue.add(delayedEntry.getId(), delayedEntry.getReadyTimeSec());
+        }
+        return queue;
+    }
 }
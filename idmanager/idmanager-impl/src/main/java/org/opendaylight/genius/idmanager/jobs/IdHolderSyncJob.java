@@ -41,18 +41,27 @@ public class IdHolderSyncJob implements Callable<List<ListenableFuture<Void>>> {
         this.idUtils = idUtils;
     }
 
+    /**
+     * Persists the id holder. The holder is read and the transaction submitted while holding the holder's lock, so
+     * syncs of the same holder, whether run as jobs or directly, are submitted in the order their state was read,
+     * and an older state is never written over a newer one.
+     */
     @Override
     public List<ListenableFuture<Void>> call() {
         IdPoolBuilder idPool = new IdPoolBuilder().setKey(new IdPoolKey(localPoolName));
-        idHolder.refreshDataStore(idPool);
         InstanceIdentifier<IdPool> localPoolInstanceIdentifier = idUtils.getIdPoolInstance(localPoolName);
-        WriteTransaction tx = broker.newWriteOnlyTransaction();
-        tx.merge(CONFIGURATION, localPoolInstanceIdentifier, idPool.build(), true);
+        ListenableFuture<Void> future;
+        synchronized (idHolder) {
+            idHolder.refreshDataStore(idPool);
+            WriteTransaction tx = broker.newWriteOnlyTransaction();
+            tx.merge(CONFIGURATION, localPoolInstanceIdentifier, idPool.build(), true);
+            future = tx.submit();
+        }
         idUtils.incrementPoolUpdatedMap(localPoolName);
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("IdHolder synced {}", idHolder);
         }
-        return Collections.singletonList(tx.submit());
+        return Collections.singletonList(future);
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.genius.idmanager.jobs;
+
+import static org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType.CONFIGURATION;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.genius.idmanager.IdLocalPool;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockManagerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bulk counterpart of {@link UpdateIdEntryJob}: persists the id-entries of many idKeys allocated in one go,
+ * together with the id holders of the local pool they were allocated from, in a single transaction.
+ * Like {@link UpdateIdEntryJob}, it releases the per idKey locks once done.
+ */
+public class UpdateIdEntriesJob implements Callable<List<ListenableFuture<Void>>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpdateIdEntriesJob.class);
+    private final String parentPoolName;
+    private final IdLocalPool localIdPool;
+    private final Map<String, List<Long>> newIdValues;
+    private final DataBroker broker;
+    private final IdUtils idUtils;
+    private final LockManagerService lockManager;
+
+    public UpdateIdEntriesJob(String parentPoolName, IdLocalPool localIdPool, Map<String, List<Long>> newIdValues,
+            DataBroker broker, IdUtils idUtils, LockManagerService lockManager) {
+        this.parentPoolName = parentPoolName;
+        this.localIdPool = localIdPool;
+        this.newIdValues = new LinkedHashMap<>(newIdValues);
+        this.broker = broker;
+        this.idUtils = idUtils;
+        this.lockManager = lockManager;
+    }
+
+    @Override
+    public List<ListenableFuture<Void>> call() throws TransactionCommitFailedException {
+        String localPoolName = localIdPool.getPoolName();
+        WriteTransaction tx = broker.newWriteOnlyTransaction();
+        try {
+            idUtils.updateChildPool(tx, parentPoolName, localPoolName);
+            newIdValues.forEach((idKey, idValues) -> tx.merge(CONFIGURATION,
+                    idUtils.getIdEntriesInstanceIdentifier(parentPoolName, idKey),
+                    idUtils.createIdEntries(idKey, idValues)));
+            IdPoolBuilder idPool = new IdPoolBuilder().setKey(new IdPoolKey(localPoolName));
+            localIdPool.getAvailableIds().refreshDataStore(idPool);
+            localIdPool.getReleasedIds().refreshDataStore(idPool);
+            tx.merge(CONFIGURATION, idUtils.getIdPoolInstance(localPoolName), idPool.build(), true);
+            idUtils.incrementPoolUpdatedMap(localPoolName);
+            tx.submit().checkedGet();
+            LOG.info("Updated {} id entries of pool {} together with local pool {}", newIdValues.size(),
+                    parentPoolName, localPoolName);
+        } finally {
+            for (String idKey : newIdValues.keySet()) {
+                String uniqueIdKey = idUtils.getUniqueKey(parentPoolName, idKey);
+                CountDownLatch latch = idUtils.getReleaseIdLatch(uniqueIdKey);
+                if (latch != null) {
+                    latch.countDown();
+                }
+                // Once the id is written to DS, removing the id value from map.
+                idUtils.removeAllocatedIds(uniqueIdKey);
+                idUtils.unlock(lockManager, uniqueIdKey);
+            }
+        }
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.opendaylight.genius.idmanager.AvailableIdHolder;
+import org.opendaylight.genius.idmanager.AvailableIdsWriteBehind;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolBuilder;
+
+/**
+ * Unit Test for {@link AvailableIdsWriteBehind} and the cursor reservation of {@link AvailableIdHolder}.
+ */
+public class AvailableIdsWriteBehindTest {
+
+    private static final String ID_POOL_NAME = "test-pool";
+
+    @Test
+    public void testFlushAfterMaxAllocations() {
+        List<String> flushes = new CopyOnWriteArrayList<>();
+        try (AvailableIdsWriteBehind writeBehind = new AvailableIdsWriteBehind(3, TimeUnit.HOURS.toMillis(1),
+                flushes::add)) {
+            assertTrue(writeBehind.isEnabled());
+            for (int i = 0; i < 7; i++) {
+                writeBehind.allocated(ID_POOL_NAME);
+            }
+            assertEquals(2, flushes.size());
+        }
+        // closing flushes the one pending allocation
+        assertEquals(3, flushes.size());
+    }
+
+    @Test
+    public void testFlushAfterInterval() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        try (AvailableIdsWriteBehind writeBehind = new AvailableIdsWriteBehind(100, 10,
+                poolName -> flushed.countDown())) {
+            writeBehind.allocated(ID_POOL_NAME);
+            assertTrue(flushed.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testWriteThroughByDefault() {
+        try (AvailableIdsWriteBehind writeBehind = new AvailableIdsWriteBehind(1, 1000, poolName -> { })) {
+            assertFalse(writeBehind.isEnabled());
+        }
+    }
+
+    @Test
+    public void testReservedCursorNeverMovesBackwards() throws Exception {
+        AvailableIdHolder availableIds = new AvailableIdHolder(new IdUtils(), 1, 20);
+        availableIds.allocateId();
+        availableIds.allocateId();
+        assertEquals(2, availableIds.reserveCur(0));
+        assertEquals(12, availableIds.reserveCur(10));
+        availableIds.allocateId();
+        assertEquals(12, availableIds.reserveCur(0));
+        // the reservation never goes past the end of the block
+        assertEquals(20, availableIds.reserveCur(50));
+    }
+
+    @Test
+    public void testNoIdIsAllocatedPastTheReservedCursor() throws Exception {
+        System.setProperty("idmanager.writebehind.allocations", "2");
+        try {
+            IdUtils idUtils = new IdUtils();
+            AvailableIdHolder availableIds = new AvailableIdHolder(idUtils, 1, 20);
+            assertTrue(availableIds.isReservationExhausted());
+            assertFalse(availableIds.allocateId().isPresent());
+
+            // persisting reserves 4 ids ahead
+            availableIds.refreshDataStore(new IdPoolBuilder());
+            for (long id = 1; id <= 4; id++) {
+                assertEquals(Long.valueOf(id), availableIds.allocateId().get());
+            }
+            assertTrue(availableIds.isReservationExhausted());
+            assertFalse(availableIds.allocateId().isPresent());
+            assertEquals(16, availableIds.getAvailableIdCount());
+
+            availableIds.refreshDataStore(new IdPoolBuilder());
+            assertFalse(availableIds.isReservationExhausted());
+            assertEquals(Long.valueOf(5), availableIds.allocateId().get());
+        } finally {
+            System.clearProperty("idmanager.writebehind.allocations");
+        }
+    }
+}
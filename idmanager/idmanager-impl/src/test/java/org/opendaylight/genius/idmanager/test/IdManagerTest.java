@@ -49,6 +49,8 @@ import org.opendaylight.mdsal.binding.testutils.AssertDataObjects;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.AllocateIdsInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.CreateIdPoolInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.DeleteIdPoolInput;
@@ -57,6 +59,7 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.IdPools;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.ReleaseIdInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.allocateids.output.IdKeyValues;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPool;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.idmanager.rev160406.id.pools.IdPoolKey;
@@ -77,6 +80,7 @@ public class IdManagerTest {
 
     private static final String TEST_KEY1 = "test-key1";
     private static final String TEST_KEY2 = "test-key2";
+    private static final String TEST_KEY3 = "test-key3";
     private static final String ID_POOL_NAME = "test-pool";
     private static final int BLOCK_SIZE = 10;
     private static final long ID_LOW = 0L;
@@ -122,6 +126,34 @@ public class IdManagerTest {
         validateIdPools(ExpectedAllocateIdObjects.idPoolParent(), ExpectedAllocateIdObjects.idPoolChild());
     }
 
+    @Test
+    public void testAllocateIds() throws Exception {
+        CreateIdPoolInput createIdPoolInput = new CreateIdPoolInputBuilder().setHigh(ID_HIGH).setLow(ID_LOW)
+                .setPoolName(ID_POOL_NAME).build();
+        AllocateIdInput allocateIdInput = new AllocateIdInputBuilder().setIdKey(TEST_KEY1).setPoolName(ID_POOL_NAME)
+                .build();
+        AllocateIdsInput allocateIdsInput = new AllocateIdsInputBuilder().setPoolName(ID_POOL_NAME)
+                .setIdKeys(Arrays.asList(TEST_KEY1, TEST_KEY2, TEST_KEY3, TEST_KEY2)).build();
+        idManagerService.createIdPool(createIdPoolInput);
+        long existingId = idManagerService.allocateId(allocateIdInput).get().getResult().getIdValue();
+        coordinatorEventsWaiter.awaitEventsConsumption();
+
+        List<IdKeyValues> idKeyValues = idManagerService.allocateIds(allocateIdsInput).get().getResult()
+                .getIdKeyValues();
+        coordinatorEventsWaiter.awaitEventsConsumption();
+
+        assertEquals(3, idKeyValues.size());
+        assertEquals(TEST_KEY1, idKeyValues.get(0).getIdKey());
+        assertEquals(existingId, idKeyValues.get(0).getIdValue().longValue());
+        Set<Long> idValues = idKeyValues.stream().map(IdKeyValues::getIdValue).collect(Collectors.toSet());
+        assertEquals(3, idValues.size());
+        for (IdKeyValues idKeyValue : idKeyValues) {
+            IdEntries idEntries = singleTxdataBroker.syncRead(LogicalDatastoreType.CONFIGURATION,
+                    idUtils.getIdEntriesInstanceIdentifier(ID_POOL_NAME, idKeyValue.getIdKey()));
+            assertEquals(idKeyValue.getIdValue(), idEntries.getIdValue().get(0));
+        }
+    }
+
     @Test
     public void testReleaseId() throws Exception {
         CreateIdPoolInput createIdPoolInput = new CreateIdPoolInputBuilder().setHigh(ID_HIGH).setLow(ID_LOW)
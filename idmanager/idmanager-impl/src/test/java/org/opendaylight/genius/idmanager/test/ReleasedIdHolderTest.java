@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.idmanager.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Optional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.opendaylight.genius.idmanager.IdUtils;
+import org.opendaylight.genius.idmanager.ReleasedIdHolder;
+import org.opendaylight.genius.idmanager.ReleasedIdHolder.DelayedIdEntry;
+
+/**
+ * Unit Test for {@link ReleasedIdHolder}.
+ */
+public class ReleasedIdHolderTest {
+
+    @Test
+    public void testAllocateInReleaseOrder() throws Exception {
+        ReleasedIdHolder releasedIds = new ReleasedIdHolder(new IdUtils(), 0);
+        for (long id = 0; id < 1000; id++) {
+            releasedIds.addId(id);
+        }
+        assertEquals(1000, releasedIds.getAvailableIdCount());
+        assertEquals(1000, releasedIds.getDelayedEntries().size());
+        for (long id = 0; id < 1000; id++) {
+            assertEquals(Optional.of(id), releasedIds.allocateId());
+        }
+        assertFalse(releasedIds.allocateId().isPresent());
+        assertTrue(releasedIds.getDelayedEntries().isEmpty());
+    }
+
+    @Test
+    public void testDelayedIdsAreNotAllocated() throws Exception {
+        ReleasedIdHolder releasedIds = new ReleasedIdHolder(new IdUtils(), IdUtils.DEFAULT_DELAY_TIME);
+        releasedIds.addId(42L);
+        assertFalse(releasedIds.isIdAvailable(System.currentTimeMillis() / 1000));
+        assertFalse(releasedIds.allocateId().isPresent());
+        assertEquals(0, releasedIds.getAvailableIdCount());
+        assertEquals(1, releasedIds.getDelayedEntries().size());
+        assertEquals(42L, releasedIds.getDelayedEntries().get(0).getId());
+    }
+
+    @Test
+    public void testReplaceDelayedEntries() throws Exception {
+        List<DelayedIdEntry> entries = Arrays.asList(new DelayedIdEntry(5L, 0L), new DelayedIdEntry(3L, 0L));
+        ReleasedIdHolder releasedIds = new ReleasedIdHolder(new IdUtils(), 0, entries);
+        releasedIds.setAvailableIdCount(entries.size());
+        assertEquals(Arrays.asList(5L, 3L), releasedIds.getDelayedEntries().stream().map(DelayedIdEntry::getId)
+                .collect(Collectors.toList()));
+
+        releasedIds.replaceDelayedEntries(Arrays.asList(new DelayedIdEntry(7L, 0L)));
+        assertEquals(Optional.of(7L), releasedIds.allocateId());
+        assertFalse(releasedIds.allocateId().isPresent());
+    }
+
+    @Test
+    public void testConcurrentReleaseAndAllocate() throws Exception {
+        ReleasedIdHolder releasedIds = new ReleasedIdHolder(new IdUtils(), 0);
+        int threads = 4;
+        int idsPerThread = 5000;
+        Set<Long> allocated = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            long firstId = (long) thread * idsPerThread;
+            futures.add(executor.submit(() -> {
+                for (long id = firstId; id < firstId + idsPerThread; id++) {
+                    releasedIds.addId(id);
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                int count = 0;
+                while (count < idsPerThread) {
+                    Optional<Long> id = releasedIds.allocateId();
+                    if (id.isPresent()) {
+                        count++;
+                        if (!allocated.add(id.get())) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(0, duplicates.get());
+        assertEquals(threads * idsPerThread, allocated.size());
+        assertTrue(releasedIds.getDelayedEntries().isEmpty());
+    }
+}
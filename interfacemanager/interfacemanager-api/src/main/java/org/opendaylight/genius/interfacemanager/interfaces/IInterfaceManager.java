@@ -124,4 +124,11 @@ public interface IInterfaceManager {
     void updateInterfaceParentRef(String interfaceName, String parentInterface, boolean readInterfaceBeforeWrite);
 
     long getLogicalTunnelSelectGroupId(int lportTag);
+
+    /**
+     * Returns the name of the interface of the given lport tag (if-index), or null if there is none.
+     * Answered from an in-memory index of the lport tags, without RPC nor datastore read; meant for
+     * packet-in handlers, which get the lport tag from the metadata of the punted packet.
+     */
+    String getInterfaceNameForLportTag(int lportTag);
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.commons;
+
+import com.google.common.base.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.genius.interfacemanager.IfmConstants;
+import org.opendaylight.genius.interfacemanager.IfmUtil;
+import org.opendaylight.infrautils.counters.api.OccurenceCounter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.IfIndexesInterfaceMap;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterface;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterfaceKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * In-memory copy of the operational {@link IfIndexesInterfaceMap}, the interface name of each lport tag (if-index),
+ * kept up to date by {@link org.opendaylight.genius.interfacemanager.listeners.CacheIfIndexInterfaceListener}.
+ *
+ * <p>Lport tags are allocated from the {@link IfmConstants#IFM_IDPOOL_NAME} id pool, so the index is an array
+ * indexed by lport tag: a lookup neither boxes its key nor hashes. Lport tags missing from the index, e.g. while the
+ * listener has not yet received the initial data, are read from the datastore.
+ */
+@Singleton
+public class IfIndexInterfaceCache {
+
+    private final DataBroker dataBroker;
+    private final AtomicReferenceArray<String> interfaceNames =
+            new AtomicReferenceArray<>((int) IfmConstants.IFM_ID_POOL_END + 1);
+    private final AtomicInteger size = new AtomicInteger();
+    private final OccurenceCounter hits = new OccurenceCounter(getClass().getSimpleName(), "lookup_hits",
+            "lport tag lookups answered from the index");
+    private final OccurenceCounter misses = new OccurenceCounter(getClass().getSimpleName(), "lookup_misses",
+            "lport tag lookups read from the datastore");
+
+    @Inject
+    public IfIndexInterfaceCache(DataBroker dataBroker) {
+        this.dataBroker = dataBroker;
+    }
+
+    /**
+     * Returns the name of the interface of the given lport tag, or null if there is none.
+     */
+    @Nullable
+    public String getInterfaceName(int ifIndex) {
+        if (isInRange(ifIndex)) {
+            String interfaceName = interfaceNames.get(ifIndex);
+            if (interfaceName != null) {
+                hits.inc();
+                return interfaceName;
+            }
+        }
+        misses.inc();
+        // Not added to the index: it could race with the removal of the entry
+        InstanceIdentifier<IfIndexInterface> id = InstanceIdentifier.builder(IfIndexesInterfaceMap.class)
+                .child(IfIndexInterface.class, new IfIndexInterfaceKey(ifIndex)).build();
+        Optional<IfIndexInterface> ifIndexInterface = IfmUtil.read(LogicalDatastoreType.OPERATIONAL, id, dataBroker);
+        return ifIndexInterface.isPresent() ? ifIndexInterface.get().getInterfaceName() : null;
+    }
+
+    public void add(IfIndexInterface ifIndexInterface) {
+        int ifIndex = ifIndexInterface.getIfIndex();
+        if (isInRange(ifIndex) && interfaceNames.getAndSet(ifIndex, ifIndexInterface.getInterfaceName()) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes the lport tag, unless it was meanwhile given to another interface.
+     */
+    public void remove(IfIndexInterface ifIndexInterface) {
+        int ifIndex = ifIndexInterface.getIfIndex();
+        if (!isInRange(ifIndex)) {
+            return;
+        }
+        String interfaceName = ifIndexInterface.getInterfaceName();
+        // compareAndSet() compares references, and the removed entry does not hold the String instance of the added one
+        for (String current = interfaceNames.get(ifIndex); interfaceName.equals(current);
+                current = interfaceNames.get(ifIndex)) {
+            if (interfaceNames.compareAndSet(ifIndex, current, null)) {
+                size.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private boolean isInRange(int ifIndex) {
+        return ifIndex >= 0 && ifIndex < interfaceNames.length();
+    }
+}
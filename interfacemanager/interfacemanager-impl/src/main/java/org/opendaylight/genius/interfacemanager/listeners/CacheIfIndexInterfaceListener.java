@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.listeners;
+
+import java.util.Collection;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.opendaylight.controller.md.sal.binding.api.ClusteredDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.genius.interfacemanager.commons.IfIndexInterfaceCache;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.IfIndexesInterfaceMap;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterface;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class listens for lport tag to interface map creation/removal/update in Operational
+ * DS and updates the {@link IfIndexInterfaceCache} as per changes in DS.
+ */
+@Singleton
+public class CacheIfIndexInterfaceListener implements ClusteredDataTreeChangeListener<IfIndexInterface> {
+    private static final Logger LOG = LoggerFactory.getLogger(CacheIfIndexInterfaceListener.class);
+
+    private final IfIndexInterfaceCache ifIndexInterfaceCache;
+    private final ListenerRegistration<CacheIfIndexInterfaceListener> registration;
+    private final DataTreeIdentifier<IfIndexInterface> treeId = new DataTreeIdentifier<>(
+            LogicalDatastoreType.OPERATIONAL,
+            InstanceIdentifier.create(IfIndexesInterfaceMap.class).child(IfIndexInterface.class));
+
+    @Inject
+    public CacheIfIndexInterfaceListener(DataBroker dataBroker, IfIndexInterfaceCache ifIndexInterfaceCache) {
+        LOG.trace("Registering on path: {}", treeId);
+        this.ifIndexInterfaceCache = ifIndexInterfaceCache;
+        registration = dataBroker.registerDataTreeChangeListener(treeId, CacheIfIndexInterfaceListener.this);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (registration != null) {
+            registration.close();
+        }
+    }
+
+    @Override
+    public void onDataTreeChanged(Collection<DataTreeModification<IfIndexInterface>> changes) {
+        for (DataTreeModification<IfIndexInterface> change : changes) {
+            final DataObjectModification<IfIndexInterface> mod = change.getRootNode();
+            switch (mod.getModificationType()) {
+                case DELETE:
+                    ifIndexInterfaceCache.remove(mod.getDataBefore());
+                    break;
+                case SUBTREE_MODIFIED:
+                case WRITE:
+                    ifIndexInterfaceCache.add(mod.getDataAfter());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unhandled modification type " + mod.getModificationType());
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.pmcounters;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Base class for a node connector counter MBean, reading its counters from a {@link PortCounterStore}.
+ */
+abstract class AbstractPortCounterMBeanImpl extends AbstractCounterMBeanImpl {
+    private final PortCounterType type;
+    private volatile PortCounterStore store;
+
+    AbstractPortCounterMBeanImpl(PortCounterType type) {
+        this.type = type;
+    }
+
+    void setPortCounterStore(PortCounterStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Map<String, String> retrieveCounterMap() {
+        PortCounterStore currentStore = store;
+        return currentStore != null ? currentStore.getCounters(type) : Collections.emptyMap();
+    }
+
+    /**
+     * Returns the counters which changed since the previous call; the changes are consumed, so this operation is
+     * meant for a single reader, the one exporting the deltas.
+     */
+    public Map<String, String> retrieveChangedCounterMap() {
+        PortCounterStore currentStore = store;
+        return currentStore != null ? currentStore.getChangedCounters(type) : Collections.emptyMap();
+    }
+}
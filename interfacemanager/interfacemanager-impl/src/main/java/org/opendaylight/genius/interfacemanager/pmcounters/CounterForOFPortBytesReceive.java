@@ -7,6 +7,9 @@
  */
 package org.opendaylight.genius.interfacemanager.pmcounters;
 
-public class CounterForOFPortBytesReceive extends AbstractCounterMBeanImpl
+public class CounterForOFPortBytesReceive extends AbstractPortCounterMBeanImpl
         implements CounterForOFPortBytesReceiveMBean {
+    public CounterForOFPortBytesReceive() {
+        super(PortCounterType.OF_PORT_BYTES_RECEIVE);
+    }
 }
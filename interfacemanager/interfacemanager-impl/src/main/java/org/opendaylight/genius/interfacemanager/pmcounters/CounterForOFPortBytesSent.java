@@ -7,5 +7,8 @@
  */
 package org.opendaylight.genius.interfacemanager.pmcounters;
 
-public class CounterForOFPortBytesSent extends AbstractCounterMBeanImpl implements CounterForOFPortBytesSentMBean {
+public class CounterForOFPortBytesSent extends AbstractPortCounterMBeanImpl implements CounterForOFPortBytesSentMBean {
+    public CounterForOFPortBytesSent() {
+        super(PortCounterType.OF_PORT_BYTES_SENT);
+    }
 }
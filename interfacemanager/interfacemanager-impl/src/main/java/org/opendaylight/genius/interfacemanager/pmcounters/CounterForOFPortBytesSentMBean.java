@@ -23,4 +23,6 @@ public interface CounterForOFPortBytesSentMBean {
     void invokePMManagedObjects(Map<String, Integer> map);
 
     Map<String, String> retrieveCounterMap();
+
+    Map<String, String> retrieveChangedCounterMap();
 }
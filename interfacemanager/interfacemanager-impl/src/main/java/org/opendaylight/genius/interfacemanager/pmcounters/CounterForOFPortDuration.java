@@ -7,5 +7,8 @@
  */
 package org.opendaylight.genius.interfacemanager.pmcounters;
 
-public class CounterForOFPortDuration extends AbstractCounterMBeanImpl implements CounterForOFPortDurationMBean {
+public class CounterForOFPortDuration extends AbstractPortCounterMBeanImpl implements CounterForOFPortDurationMBean {
+    public CounterForOFPortDuration() {
+        super(PortCounterType.OF_PORT_DURATION);
+    }
 }
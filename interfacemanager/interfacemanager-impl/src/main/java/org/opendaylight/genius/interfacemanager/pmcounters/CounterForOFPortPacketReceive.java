@@ -7,6 +7,9 @@
  */
 package org.opendaylight.genius.interfacemanager.pmcounters;
 
-public class CounterForOFPortPacketReceive extends AbstractCounterMBeanImpl
-       implements CounterForOFPortPacketReceiveMBean {
+public class CounterForOFPortPacketReceive extends AbstractPortCounterMBeanImpl
+        implements CounterForOFPortPacketReceiveMBean {
+    public CounterForOFPortPacketReceive() {
+        super(PortCounterType.OF_PORT_PACKET_RECEIVE);
+    }
 }
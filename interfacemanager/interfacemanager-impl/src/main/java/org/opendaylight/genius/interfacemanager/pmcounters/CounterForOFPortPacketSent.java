@@ -7,5 +7,9 @@
  */
 package org.opendaylight.genius.interfacemanager.pmcounters;
 
-public class CounterForOFPortPacketSent extends AbstractCounterMBeanImpl implements CounterForOFPortPacketSentMBean {
+public class CounterForOFPortPacketSent extends AbstractPortCounterMBeanImpl
+        implements CounterForOFPortPacketSentMBean {
+    public CounterForOFPortPacketSent() {
+        super(PortCounterType.OF_PORT_PACKET_SENT);
+    }
 }
@@ -7,5 +7,9 @@
  */
 package org.opendaylight.genius.interfacemanager.pmcounters;
 
-public class CounterForOFPortReceiveDrop extends AbstractCounterMBeanImpl implements CounterForOFPortReceiveDropMBean {
+public class CounterForOFPortReceiveDrop extends AbstractPortCounterMBeanImpl
+        implements CounterForOFPortReceiveDropMBean {
+    public CounterForOFPortReceiveDrop() {
+        super(PortCounterType.OF_PORT_RECEIVE_DROP);
+    }
 }
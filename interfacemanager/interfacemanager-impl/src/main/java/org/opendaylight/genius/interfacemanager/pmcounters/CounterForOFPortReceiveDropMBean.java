@@ -23,4 +23,6 @@ public interface CounterForOFPortReceiveDropMBean {
     void invokePMManagedObjects(Map<String, Integer> map);
 
     Map<String, String> retrieveCounterMap();
+
+    Map<String, String> retrieveChangedCounterMap();
 }
@@ -7,6 +7,9 @@
  */
 package org.opendaylight.genius.interfacemanager.pmcounters;
 
-public class CounterForOFPortReceiveError extends AbstractCounterMBeanImpl
+public class CounterForOFPortReceiveError extends AbstractPortCounterMBeanImpl
         implements CounterForOFPortReceiveErrorMBean {
+    public CounterForOFPortReceiveError() {
+        super(PortCounterType.OF_PORT_RECEIVE_ERROR);
+    }
 }
@@ -12,8 +12,10 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -61,13 +63,7 @@ public class NodeConnectorStatsImpl extends AsyncDataTreeChangeListenerBase<Node
     private final PortRpcStatisticsListener portStatsListener = new PortRpcStatisticsListener();
     private final FlowRpcStatisticsListener flowTableStatsListener = new FlowRpcStatisticsListener();
     private final List<BigInteger> nodes = new ArrayList<>();
-    Map<String, Map<String, String>> nodeAndNcIdOFPortDurationMap = new ConcurrentHashMap<>();
-    Map<String, Map<String, String>> nodeAndNcIdOFPortReceiveDropMap = new ConcurrentHashMap<>();
-    Map<String, Map<String, String>> nodeAndNcIdOFPortReceiveError = new ConcurrentHashMap<>();
-    Map<String, Map<String, String>> nodeAndNcIdPacketSentMap = new ConcurrentHashMap<>();
-    Map<String, Map<String, String>> nodeAndNcIdPacketReceiveMap = new ConcurrentHashMap<>();
-    Map<String, Map<String, String>> nodeAndNcIdBytesSentMap = new ConcurrentHashMap<>();
-    Map<String, Map<String, String>> nodeAndNcIdBytesReceiveMap = new ConcurrentHashMap<>();
+    private final PortCounterStore portCounters = new PortCounterStore();
     Map<String, Map<String, String>> nodeAndEntriesPerOFTableMap = new ConcurrentHashMap<>();
     private ScheduledFuture<?> scheduledResult;
     private final OpendaylightPortStatisticsService statPortService;
@@ -86,6 +82,7 @@ public class NodeConnectorStatsImpl extends AsyncDataTreeChangeListenerBase<Node
             getThreadFactory("Port Stats " + "Request Task"));
         notificationService.registerNotificationListener(portStatsListener);
         notificationService.registerNotificationListener(flowTableStatsListener);
+        PMAGENT.setPortCounterStore(portCounters);
         PMAGENT.registerMbean();
     }
 
@@ -179,72 +176,44 @@ public class NodeConnectorStatsImpl extends AsyncDataTreeChangeListenerBase<Node
 
         @Override
         public void onNodeConnectorStatisticsUpdate(NodeConnectorStatisticsUpdate ncStats) {
-            Map<String, String> ncIdOFPortDurationMap = new HashMap<>();
-            Map<String, String> ncIdOFPortReceiveDropMap = new HashMap<>();
-            Map<String, String> ncIdOFPortReceiveError = new HashMap<>();
-            Map<String, String> ncIdPacketSentMap = new HashMap<>();
-            Map<String, String> ncIdPacketReceiveMap = new HashMap<>();
-            Map<String, String> ncIdBytesSentMap = new HashMap<>();
-            Map<String, String> ncIdBytesReceiveMap = new HashMap<>();
             List<NodeConnectorStatisticsAndPortNumberMap> ncStatsAndPortMapList = ncStats
                     .getNodeConnectorStatisticsAndPortNumberMap();
             NodeId nodeId = ncStats.getId();
             String node = nodeId.getValue().split(":")[1];
+            // The counters are updated in place, and only rendered as strings when the MBeans are read
+            Set<String> ports = new HashSet<>();
             for (NodeConnectorStatisticsAndPortNumberMap ncStatsAndPortMap : ncStatsAndPortMapList) {
                 NodeConnectorId nodeConnector = ncStatsAndPortMap.getNodeConnectorId();
                 String port = nodeConnector.getValue().split(":")[2];
-                String nodePortStr = "dpnId_" + node + "_portNum_" + port;
-                ncIdOFPortDurationMap.put("OFPortDuration:" + nodePortStr + "_OFPortDuration",
-                        ncStatsAndPortMap.getDuration().getSecond().getValue().toString());
-                ncIdOFPortReceiveDropMap.put(
-                        "PacketsPerOFPortReceiveDrop:" + nodePortStr + "_PacketsPerOFPortReceiveDrop",
-                        ncStatsAndPortMap.getReceiveDrops().toString());
-                ncIdOFPortReceiveError.put(
-                        "PacketsPerOFPortReceiveError:" + nodePortStr + "_PacketsPerOFPortReceiveError",
-                        ncStatsAndPortMap.getReceiveErrors().toString());
-                ncIdPacketSentMap.put("PacketsPerOFPortSent:" + nodePortStr + "_PacketsPerOFPortSent",
-                        ncStatsAndPortMap.getPackets().getTransmitted().toString());
-                ncIdPacketReceiveMap.put("PacketsPerOFPortReceive:" + nodePortStr + "_PacketsPerOFPortReceive",
-                        ncStatsAndPortMap.getPackets().getReceived().toString());
-                ncIdBytesSentMap.put("BytesPerOFPortSent:" + nodePortStr + "_BytesPerOFPortSent",
-                        ncStatsAndPortMap.getBytes().getTransmitted().toString());
-                ncIdBytesReceiveMap.put("BytesPerOFPortReceive:" + nodePortStr + "_BytesPerOFPortReceive",
-                        ncStatsAndPortMap.getBytes().getReceived().toString());
+                ports.add(port);
+                portCounters.update(node, port, PortCounterType.OF_PORT_DURATION,
+                        ncStatsAndPortMap.getDuration().getSecond().getValue());
+                portCounters.update(node, port, PortCounterType.OF_PORT_RECEIVE_DROP,
+                        ncStatsAndPortMap.getReceiveDrops().longValue());
+                portCounters.update(node, port, PortCounterType.OF_PORT_RECEIVE_ERROR,
+                        ncStatsAndPortMap.getReceiveErrors().longValue());
+                portCounters.update(node, port, PortCounterType.OF_PORT_PACKET_SENT,
+                        ncStatsAndPortMap.getPackets().getTransmitted().longValue());
+                portCounters.update(node, port, PortCounterType.OF_PORT_PACKET_RECEIVE,
+                        ncStatsAndPortMap.getPackets().getReceived().longValue());
+                portCounters.update(node, port, PortCounterType.OF_PORT_BYTES_SENT,
+                        ncStatsAndPortMap.getBytes().getTransmitted().longValue());
+                portCounters.update(node, port, PortCounterType.OF_PORT_BYTES_RECEIVE,
+                        ncStatsAndPortMap.getBytes().getReceived().longValue());
             }
+            // The update has the statistics of all the ports of the node, so the other ports are gone
+            portCounters.retainPorts(node, ports);
             LOG.trace("Port Stats {}", ncStatsAndPortMapList);
-            // Storing allNodeConnectorStats(like ncIdOFPortDurationMap) in a
-            // map with key as node for easy removal and addition of
-            // allNodeConnectorStats.
-            nodeAndNcIdOFPortDurationMap.put(node, ncIdOFPortDurationMap);
-            nodeAndNcIdOFPortReceiveDropMap.put(node, ncIdOFPortReceiveDropMap);
-            nodeAndNcIdOFPortReceiveError.put(node, ncIdOFPortReceiveError);
-            nodeAndNcIdPacketSentMap.put(node, ncIdPacketSentMap);
-            nodeAndNcIdPacketReceiveMap.put(node, ncIdPacketReceiveMap);
-            nodeAndNcIdBytesSentMap.put(node, ncIdBytesSentMap);
-            nodeAndNcIdBytesReceiveMap.put(node, ncIdBytesReceiveMap);
-            // Combining the stats of all nodeconnectors in all nodes. This Map
-            // will be stored under MBean which will be queried as regular
-            // intervals.
-            ncIdOFPortDurationMap = combineAllNodesStats(nodeAndNcIdOFPortDurationMap);
-            ncIdOFPortReceiveDropMap = combineAllNodesStats(nodeAndNcIdOFPortReceiveDropMap);
-            ncIdOFPortReceiveError = combineAllNodesStats(nodeAndNcIdOFPortReceiveError);
-            ncIdPacketSentMap = combineAllNodesStats(nodeAndNcIdPacketSentMap);
-            ncIdPacketReceiveMap = combineAllNodesStats(nodeAndNcIdPacketReceiveMap);
-            ncIdBytesSentMap = combineAllNodesStats(nodeAndNcIdBytesSentMap);
-            ncIdBytesReceiveMap = combineAllNodesStats(nodeAndNcIdBytesReceiveMap);
-            PMAGENT.connectToPMAgent(ncIdOFPortDurationMap, ncIdOFPortReceiveDropMap, ncIdOFPortReceiveError,
-                    ncIdPacketSentMap, ncIdPacketReceiveMap, ncIdBytesSentMap, ncIdBytesReceiveMap);
         }
-
-        /*
-         * Input allNodesStats contains statistics of all nodeConnectors of all
-         * nodes. Key is the node and values contains another map with key as
-         * node connector and value as statresult. Output will be a map with key
-         * as nodeconnector and value as the statresult. The key contains
-         * nodeconnectors of all the nodes.
-         */
     }
 
+    /*
+     * Input allNodesStats contains statistics of all nodeConnectors of all
+     * nodes. Key is the node and values contains another map with key as
+     * node connector and value as statresult. Output will be a map with key
+     * as nodeconnector and value as the statresult. The key contains
+     * nodeconnectors of all the nodes.
+     */
     private Map<String, String> combineAllNodesStats(Map<String, Map<String, String>> allNodesStats) {
         Map<String, String> allNcsStatsMap = new HashMap<>();
         for (Map.Entry<String, Map<String, String>> entry : allNodesStats.entrySet()) {
@@ -287,13 +256,7 @@ public class NodeConnectorStatsImpl extends AsyncDataTreeChangeListenerBase<Node
         BigInteger dpId = new BigInteger(nodeVal);
         if (nodes.contains(dpId)) {
             nodes.remove(dpId);
-            nodeAndNcIdOFPortDurationMap.remove(nodeVal);
-            nodeAndNcIdOFPortReceiveDropMap.remove(nodeVal);
-            nodeAndNcIdOFPortReceiveError.remove(nodeVal);
-            nodeAndNcIdPacketSentMap.remove(nodeVal);
-            nodeAndNcIdPacketReceiveMap.remove(nodeVal);
-            nodeAndNcIdBytesSentMap.remove(nodeVal);
-            nodeAndNcIdBytesReceiveMap.remove(nodeVal);
+            portCounters.removeDpn(nodeVal);
             nodeAndEntriesPerOFTableMap.remove(nodeVal);
         }
         if (nodes.isEmpty()) {
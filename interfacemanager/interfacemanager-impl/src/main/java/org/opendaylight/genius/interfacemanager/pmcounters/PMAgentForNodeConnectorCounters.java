@@ -112,32 +112,17 @@ public class PMAgentForNodeConnectorCounters {
         }
     }
 
-    public synchronized void connectToPMAgent(Map<String, String> ofPortDurationCounter,
-            Map<String, String> ofPortReceiveDropCounter, Map<String, String> ofPortReceiveErrorCounter,
-            Map<String, String> ofPortPacketSent, Map<String, String> ofPortPacketReceive,
-            Map<String, String> ofPortBytesSent, Map<String, String> ofPortBytesReceive) {
-        try {
-            mbServer.invoke(mbeanForOFPortDuration, "invokePMManagedObjects", new Object[] { ofPortDurationCounter },
-                    new String[] { Map.class.getName() });
-            mbServer.invoke(mbeanForOFPortReceiveDrop, "invokePMManagedObjects",
-                    new Object[] { ofPortReceiveDropCounter }, new String[] { Map.class.getName() });
-            mbServer.invoke(mbeanForOFPortReceiveError, "invokePMManagedObjects",
-                    new Object[] { ofPortReceiveErrorCounter }, new String[] { Map.class.getName() });
-            mbServer.invoke(mbeanForOFPortPacketSent, "invokePMManagedObjects", new Object[] { ofPortPacketSent },
-                    new String[] { Map.class.getName() });
-            mbServer.invoke(mbeanForOFPortPacketReceive, "invokePMManagedObjects", new Object[] { ofPortPacketReceive },
-                    new String[] { Map.class.getName() });
-            mbServer.invoke(mbeanForOFPortBytesSent, "invokePMManagedObjects", new Object[] { ofPortBytesSent },
-                    new String[] { Map.class.getName() });
-            mbServer.invoke(mbeanForOFPortBytesReceive, "invokePMManagedObjects", new Object[] { ofPortBytesReceive },
-                    new String[] { Map.class.getName() });
-        } catch (InstanceNotFoundException e) {
-            LOG.error("InstanceNotFoundException", e);
-        } catch (MBeanException e) {
-            LOG.error("MBeanException", e);
-        } catch (ReflectionException e) {
-            LOG.error("ReflectionException", e);
-        }
+    /**
+     * Sets the store the node connector counter MBeans read their counters from.
+     */
+    void setPortCounterStore(PortCounterStore store) {
+        counterForOFPortDurationBean.setPortCounterStore(store);
+        counterForOFPortReceiveDropBean.setPortCounterStore(store);
+        counterForOFPortReceiveErrorBean.setPortCounterStore(store);
+        counterForOFPortPacketSent.setPortCounterStore(store);
+        counterForOFPortPacketReceive.setPortCounterStore(store);
+        counterForOFPortBytesSent.setPortCounterStore(store);
+        counterForOFPortBytesReceive.setPortCounterStore(store);
     }
 
     public synchronized void connectToPMAgentAndInvokeEntriesPerOFTable(Map<String, String> entriesPerOFTable) {
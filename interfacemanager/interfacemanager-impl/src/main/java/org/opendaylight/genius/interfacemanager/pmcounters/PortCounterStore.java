@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.pmcounters;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Values of the node connector counters, by DPN, port and {@link PortCounterType}.
+ *
+ * <p>Values are unsigned longs updated in place, and a counter is marked as changed when its value changes, for
+ * {@link #getChangedCounters(PortCounterType)} to only export the deltas. Counter names and values are only
+ * rendered as strings when the counters are read.
+ *
+ * <p>There is a single baseline of changed counters, so {@link #getChangedCounters(PortCounterType)} must only have
+ * one reader per counter type, e.g. the PM agent exporting the deltas; other readers use
+ * {@link #getCounters(PortCounterType)}.
+ */
+final class PortCounterStore {
+
+    private static final int NUM_TYPES = PortCounterType.values().length;
+
+    // DPN id -> port number -> counters of the port
+    private final ConcurrentMap<String, ConcurrentMap<String, PortCounters>> counters = new ConcurrentHashMap<>();
+
+    void update(String dpnId, String portNo, PortCounterType type, long value) {
+        ConcurrentMap<String, PortCounters> dpnCounters = counters.get(dpnId);
+        if (dpnCounters == null) {
+            dpnCounters = counters.computeIfAbsent(dpnId, key -> new ConcurrentHashMap<>());
+        }
+        PortCounters portCounters = dpnCounters.get(portNo);
+        if (portCounters == null) {
+            portCounters = dpnCounters.computeIfAbsent(portNo, key -> new PortCounters());
+        }
+        if (portCounters.values.getAndSet(type.ordinal(), value) != value) {
+            portCounters.changed.set(type.ordinal(), 1);
+        }
+    }
+
+    /**
+     * Drops the counters of the ports of a DPN missing from its latest statistics, e.g. deleted ports.
+     */
+    void retainPorts(String dpnId, Set<String> portNos) {
+        ConcurrentMap<String, PortCounters> dpnCounters = counters.get(dpnId);
+        if (dpnCounters != null) {
+            dpnCounters.keySet().retainAll(portNos);
+        }
+    }
+
+    void removeDpn(String dpnId) {
+        counters.remove(dpnId);
+    }
+
+    /**
+     * Returns all the counters of a type.
+     */
+    Map<String, String> getCounters(PortCounterType type) {
+        return render(type, false);
+    }
+
+    /**
+     * Returns the counters of a type which changed since they were last returned by this method. The changes are
+     * consumed, so there must be a single caller per counter type.
+     */
+    Map<String, String> getChangedCounters(PortCounterType type) {
+        return render(type, true);
+    }
+
+    private Map<String, String> render(PortCounterType type, boolean changedOnly) {
+        Map<String, String> counterMap = new HashMap<>();
+        counters.forEach((dpnId, dpnCounters) -> dpnCounters.forEach((portNo, portCounters) -> {
+            if (!changedOnly || portCounters.changed.getAndSet(type.ordinal(), 0) == 1) {
+                counterMap.put(type.getCounterKey(dpnId, portNo),
+                        Long.toUnsignedString(portCounters.values.get(type.ordinal())));
+            }
+        }));
+        return counterMap;
+    }
+
+    private static final class PortCounters {
+        final AtomicLongArray values = new AtomicLongArray(NUM_TYPES);
+        final AtomicIntegerArray changed;
+
+        PortCounters() {
+            // All the counters of a new port are changes
+            int[] allChanged = new int[NUM_TYPES];
+            Arrays.fill(allChanged, 1);
+            changed = new AtomicIntegerArray(allChanged);
+        }
+    }
+}
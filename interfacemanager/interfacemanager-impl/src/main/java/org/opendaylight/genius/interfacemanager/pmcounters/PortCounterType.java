@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.pmcounters;
+
+/**
+ * The node connector counters reported to the PM platform, one MBean each.
+ */
+enum PortCounterType {
+    OF_PORT_DURATION("OFPortDuration"),
+    OF_PORT_RECEIVE_DROP("PacketsPerOFPortReceiveDrop"),
+    OF_PORT_RECEIVE_ERROR("PacketsPerOFPortReceiveError"),
+    OF_PORT_PACKET_SENT("PacketsPerOFPortSent"),
+    OF_PORT_PACKET_RECEIVE("PacketsPerOFPortReceive"),
+    OF_PORT_BYTES_SENT("BytesPerOFPortSent"),
+    OF_PORT_BYTES_RECEIVE("BytesPerOFPortReceive");
+
+    private final String counterName;
+
+    PortCounterType(String counterName) {
+        this.counterName = counterName;
+    }
+
+    /**
+     * Returns the name of the counter of a port, as expected by the PM platform.
+     */
+    String getCounterKey(String dpnId, String portNo) {
+        return counterName + ":dpnId_" + dpnId + "_portNum_" + portNo + "_" + counterName;
+    }
+}
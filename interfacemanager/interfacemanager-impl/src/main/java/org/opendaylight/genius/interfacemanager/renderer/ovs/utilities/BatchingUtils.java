@@ -8,7 +8,6 @@
 package org.opendaylight.genius.interfacemanager.renderer.ovs.utilities;
 
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -17,6 +16,7 @@ import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.genius.utils.batching.ActionableResource;
 import org.opendaylight.genius.utils.batching.ActionableResourceImpl;
+import org.opendaylight.genius.utils.batching.BoundedResourceQueue;
 import org.opendaylight.genius.utils.batching.ResourceBatchingManager;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -36,9 +36,12 @@ public class BatchingUtils implements AutoCloseable {
     private static final int DEFAULT_BATCH_SIZE = 1000;
     private static final int DEFAULT_BATCH_INTERVAL = 500;
 
-    private final BlockingQueue<ActionableResource> topologyConfigShardBufferQ = new LinkedBlockingQueue<>();
-    private final BlockingQueue<ActionableResource> defaultConfigShardBufferQ = new LinkedBlockingQueue<>();
-    private final BlockingQueue<ActionableResource> defaultOperationalShardBufferQ = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ActionableResource> topologyConfigShardBufferQ =
+            BoundedResourceQueue.newDefaultQueue(TOPOLOGY_CONFIG_RES_TYPE);
+    private final BlockingQueue<ActionableResource> defaultConfigShardBufferQ =
+            BoundedResourceQueue.newDefaultQueue(DEFAULT_CONFIG_RES_TYPE);
+    private final BlockingQueue<ActionableResource> defaultOperationalShardBufferQ =
+            BoundedResourceQueue.newDefaultQueue(DEFAULT_OPERATIONAL_RES_TYPE);
 
     private final DataBroker dataBroker;
     private final ResourceBatchingManager resourceBatchingManager = ResourceBatchingManager.getInstance();
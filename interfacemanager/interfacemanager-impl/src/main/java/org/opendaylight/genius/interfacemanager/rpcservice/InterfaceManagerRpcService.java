@@ -25,6 +25,7 @@ import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.genius.infra.FutureRpcResults;
 import org.opendaylight.genius.interfacemanager.IfmUtil;
+import org.opendaylight.genius.interfacemanager.commons.IfIndexInterfaceCache;
 import org.opendaylight.genius.interfacemanager.commons.InterfaceManagerCommonUtils;
 import org.opendaylight.genius.interfacemanager.commons.InterfaceMetaUtils;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.iana._if.type.rev140508.Tunnel;
@@ -33,9 +34,6 @@ import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.interfaces.
 import org.opendaylight.yang.gen.v1.urn.opendaylight.action.types.rev131112.action.list.Action;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.flow.types.rev131026.instruction.list.Instruction;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.DpnToInterfaceList;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.IfIndexesInterfaceMap;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterface;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterfaceKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.bridge._interface.info.BridgeEntry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.bridge._interface.info.BridgeEntryKey;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406.bridge._interface.info.bridge.entry.BridgeInterfaceEntry;
@@ -90,14 +88,16 @@ public class InterfaceManagerRpcService implements OdlInterfaceRpcService {
     private final DataBroker dataBroker;
     private final InterfaceManagerCommonUtils interfaceManagerCommonUtils;
     private final InterfaceMetaUtils interfaceMetaUtils;
+    private final IfIndexInterfaceCache ifIndexInterfaceCache;
 
     @Inject
     public InterfaceManagerRpcService(final DataBroker dataBroker,
             final InterfaceManagerCommonUtils interfaceManagerCommonUtils,
-            final InterfaceMetaUtils interfaceMetaUtils) {
+            final InterfaceMetaUtils interfaceMetaUtils, final IfIndexInterfaceCache ifIndexInterfaceCache) {
         this.dataBroker = dataBroker;
         this.interfaceManagerCommonUtils = interfaceManagerCommonUtils;
         this.interfaceMetaUtils = interfaceMetaUtils;
+        this.ifIndexInterfaceCache = ifIndexInterfaceCache;
     }
 
     @Override
@@ -267,16 +267,11 @@ public class InterfaceManagerRpcService implements OdlInterfaceRpcService {
             GetInterfaceFromIfIndexInput input) {
         return FutureRpcResults.fromListenableFuture(LOG, "getInterfaceFromIfIndex", input, () -> {
             Integer ifIndex = input.getIfIndex();
-            InstanceIdentifier<IfIndexInterface> id = InstanceIdentifier.builder(IfIndexesInterfaceMap.class)
-                    .child(IfIndexInterface.class, new IfIndexInterfaceKey(ifIndex)).build();
-            Optional<IfIndexInterface> ifIndexesInterface = IfmUtil.read(LogicalDatastoreType.OPERATIONAL, id,
-                    dataBroker);
-
-            if (!ifIndexesInterface.isPresent()) {
+            String interfaceName = ifIndexInterfaceCache.getInterfaceName(ifIndex);
+            if (interfaceName == null) {
                 throw new IllegalArgumentException(
-                        "Could not find " + id.toString() + " in OperationalDS for idIndex=" + ifIndex);
+                        "Could not find IfIndexInterface in OperationalDS for idIndex=" + ifIndex);
             }
-            String interfaceName = ifIndexesInterface.get().getInterfaceName();
             // TODO as above, simplify the success case later, as we have the failure case below
             return Futures.immediateFuture(
                     new GetInterfaceFromIfIndexOutputBuilder().setInterfaceName(interfaceName).build());
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterface;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterfaceBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.meta.rev160406._if.indexes._interface.map.IfIndexInterfaceKey;
+
+/**
+ * Unit tests for {@link IfIndexInterfaceCache}.
+ */
+public class IfIndexInterfaceCacheTest {
+
+    private final IfIndexInterfaceCache cache = new IfIndexInterfaceCache(mock(DataBroker.class));
+
+    @Test
+    public void testRemoveWithAnEqualInterfaceName() {
+        cache.add(ifIndexInterface(1, new String("tap1")));
+        assertEquals("tap1", cache.getInterfaceName(1));
+        assertEquals(1, cache.size());
+
+        // a removed entry is a new data object, its name is not the String instance which was added
+        cache.remove(ifIndexInterface(1, new String("tap1")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testRemoveKeepsTheLportTagOfAnotherInterface() {
+        cache.add(ifIndexInterface(1, "tap1"));
+        cache.add(ifIndexInterface(1, "tap2"));
+        cache.remove(ifIndexInterface(1, "tap1"));
+        assertEquals("tap2", cache.getInterfaceName(1));
+        assertEquals(1, cache.size());
+    }
+
+    private static IfIndexInterface ifIndexInterface(int ifIndex, String interfaceName) {
+        return new IfIndexInterfaceBuilder().setKey(new IfIndexInterfaceKey(ifIndex)).setIfIndex(ifIndex)
+                .setInterfaceName(interfaceName).build();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.interfacemanager.pmcounters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PortCounterStore}.
+ */
+public class PortCounterStoreTest {
+
+    private static final PortCounterType TYPE = PortCounterType.OF_PORT_PACKET_SENT;
+
+    private final PortCounterStore store = new PortCounterStore();
+
+    @Test
+    public void testOnlyChangedCountersAreReturnedAsChanges() {
+        store.update("1", "1", TYPE, 10);
+        store.update("1", "2", TYPE, 20);
+        assertEquals(2, store.getChangedCounters(TYPE).size());
+
+        store.update("1", "1", TYPE, 10);
+        store.update("1", "2", TYPE, -1);
+        Map<String, String> changed = store.getChangedCounters(TYPE);
+        assertEquals(Collections.singletonMap(TYPE.getCounterKey("1", "2"), "18446744073709551615"), changed);
+        assertTrue(store.getChangedCounters(TYPE).isEmpty());
+        assertEquals(2, store.getCounters(TYPE).size());
+    }
+
+    @Test
+    public void testPortsMissingFromAnUpdateAreDropped() {
+        store.update("1", "1", TYPE, 10);
+        store.update("1", "2", TYPE, 20);
+        store.update("2", "1", TYPE, 30);
+
+        store.retainPorts("1", Collections.singleton("2"));
+        Map<String, String> counters = store.getCounters(TYPE);
+        assertEquals(2, counters.size());
+        assertEquals("20", counters.get(TYPE.getCounterKey("1", "2")));
+        assertEquals("30", counters.get(TYPE.getCounterKey("2", "1")));
+    }
+}
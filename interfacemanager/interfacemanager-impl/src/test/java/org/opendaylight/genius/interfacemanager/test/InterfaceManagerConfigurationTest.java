@@ -265,6 +265,7 @@ public class InterfaceManagerConfigurationTest {
                 .child(IfIndexInterface.class, new IfIndexInterfaceKey(ifaceState.getIfIndex())).build();
         Assert.assertEquals(INTERFACE_NAME, dataBroker.newReadOnlyTransaction()
                 .read(OPERATIONAL, ifIndexInterfaceInstanceIdentifier).checkedGet().get().getInterfaceName());
+        Assert.assertEquals(INTERFACE_NAME, interfaceManager.getInterfaceNameForLportTag(ifaceState.getIfIndex()));
 
         // c) check expected flow entries were created in Interface Ingress
         // Table
@@ -20,6 +20,7 @@ import org.opendaylight.genius.interfacemanager.InterfacemgrProvider;
 import org.opendaylight.genius.interfacemanager.interfaces.IInterfaceManager;
 import org.opendaylight.genius.interfacemanager.listeners.CacheBridgeEntryConfigListener;
 import org.opendaylight.genius.interfacemanager.listeners.CacheBridgeRefEntryListener;
+import org.opendaylight.genius.interfacemanager.listeners.CacheIfIndexInterfaceListener;
 import org.opendaylight.genius.interfacemanager.listeners.HwVTEPConfigListener;
 import org.opendaylight.genius.interfacemanager.listeners.HwVTEPTunnelsStateListener;
 import org.opendaylight.genius.interfacemanager.listeners.InterfaceConfigListener;
@@ -80,6 +81,7 @@ public class InterfaceManagerTestModule extends AbstractGuiceJsr250Module {
         bind(OdlInterfaceRpcService.class).to(InterfaceManagerRpcService.class);
         bind(CacheBridgeEntryConfigListener.class);
         bind(CacheBridgeRefEntryListener.class);
+        bind(CacheIfIndexInterfaceListener.class);
         bind(FlowBasedServicesConfigListener.class);
         bind(FlowBasedServicesInterfaceStateListener.class);
         bind(HwVTEPConfigListener.class);
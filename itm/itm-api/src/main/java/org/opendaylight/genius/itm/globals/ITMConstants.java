@@ -48,8 +48,10 @@ public class ITMConstants {
             = TunnelMonitoringTypeBfd.class;
     public static final String ITM_MONIRORING_PARAMS_CACHE_NAME = "ItmMonitoringParamsCache";
     public static final String TUNNEL_STATE_CACHE_NAME = "ItmTunnelStateCache";
-    // FIXME: the following annotation should be removed once the itm-impl
-    // changes the name
+    /**
+     * No longer populated; the DPN TEPs are indexed by ItmUtils.DPN_TEPS_INDEX in itm-impl.
+     */
+    @Deprecated
     @SuppressWarnings("checkstyle:ConstantName")
     public static final String DPN_TEPs_Info_CACHE_NAME = "ItmDpnTepsInfoCache";
     public static final String INTERNAL_TUNNEL_CACHE_NAME = "InternalTunnelCache";
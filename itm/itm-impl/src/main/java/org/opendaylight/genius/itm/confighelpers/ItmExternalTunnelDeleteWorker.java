@@ -61,7 +61,7 @@ public class ItmExternalTunnelDeleteWorker {
                     meshedDpnList);
             if (originalTzMembership.size() == 1) {
                 String interfaceName = firstEndPt.getInterfaceName();
-                String trunkInterfaceName = ItmUtils.getTrunkInterfaceName(interfaceName,
+                String trunkInterfaceName = ItmUtils.lookupTrunkInterfaceName(interfaceName,
                         new String(firstEndPt.getIpAddress().getValue()), new String(extIp.getValue()),
                         tunType.getName());
                 InstanceIdentifier<Interface> trunkIdentifier = ItmUtils.buildId(trunkInterfaceName);
@@ -95,7 +95,7 @@ public class ItmExternalTunnelDeleteWorker {
         for (DPNTEPsInfo teps : dpnTepsList) {
             TunnelEndPoints firstEndPt = teps.getTunnelEndPoints().get(0);
             String interfaceName = firstEndPt.getInterfaceName();
-            String trunkInterfaceName = ItmUtils.getTrunkInterfaceName(interfaceName,
+            String trunkInterfaceName = ItmUtils.lookupTrunkInterfaceName(interfaceName,
                     new String(firstEndPt.getIpAddress().getValue()), new String(extIp.getValue()), tunType.getName());
             InstanceIdentifier<Interface> trunkIdentifier = ItmUtils.buildId(trunkInterfaceName);
             writeTransaction.delete(LogicalDatastoreType.CONFIGURATION, trunkIdentifier);
@@ -232,7 +232,7 @@ public class ItmExternalTunnelDeleteWorker {
         if (trunkExists(dpnid.toString(), nodeId, tunType, dataBroker)) {
             LOG.trace("deleting tunnel from {} to {} ", dpnid.toString(), nodeId);
             String parentIf = interfaceName;
-            String fwdTrunkIf = ItmUtils.getTrunkInterfaceName(parentIf,
+            String fwdTrunkIf = ItmUtils.lookupTrunkInterfaceName(parentIf,
                     new String(cssIpAddress.getValue()), new String(hwIpAddress.getValue()), tunType.getName());
             InstanceIdentifier<Interface> trunkIdentifier = ItmUtils.buildId(fwdTrunkIf);
             transaction.delete(LogicalDatastoreType.CONFIGURATION, trunkIdentifier);
@@ -240,6 +240,8 @@ public class ItmExternalTunnelDeleteWorker {
             InstanceIdentifier<ExternalTunnel> path = InstanceIdentifier.create(ExternalTunnelList.class)
                     .child(ExternalTunnel.class, ItmUtils.getExternalTunnelKey(nodeId, dpnid.toString(), tunType));
             transaction.delete(LogicalDatastoreType.CONFIGURATION, path);
+            ItmUtils.releaseIdForTrunkInterfaceName(parentIf,
+                    new String(cssIpAddress.getValue()), new String(hwIpAddress.getValue()), tunType.getName());
         } else {
             LOG.trace(" trunk from {} to {} already deleted", dpnid.toString(), nodeId);
         }
@@ -248,7 +250,7 @@ public class ItmExternalTunnelDeleteWorker {
             LOG.trace("deleting tunnel from {} to {} ", nodeId, dpnid.toString());
 
             String parentIf = ItmUtils.getHwParentIf(topologyId, nodeId);
-            String revTrunkIf = ItmUtils.getTrunkInterfaceName(parentIf,
+            String revTrunkIf = ItmUtils.lookupTrunkInterfaceName(parentIf,
                     new String(hwIpAddress.getValue()), new String(cssIpAddress.getValue()), tunType.getName());
             InstanceIdentifier<Interface> trunkIdentifier = ItmUtils.buildId(revTrunkIf);
             transaction.delete(LogicalDatastoreType.CONFIGURATION, trunkIdentifier);
@@ -256,6 +258,8 @@ public class ItmExternalTunnelDeleteWorker {
             InstanceIdentifier<ExternalTunnel> path = InstanceIdentifier.create(ExternalTunnelList.class)
                     .child(ExternalTunnel.class, ItmUtils.getExternalTunnelKey(dpnid.toString(), nodeId, tunType));
             transaction.delete(LogicalDatastoreType.CONFIGURATION, path);
+            ItmUtils.releaseIdForTrunkInterfaceName(parentIf,
+                    new String(hwIpAddress.getValue()), new String(cssIpAddress.getValue()), tunType.getName());
         } else {
             LOG.trace(" trunk from {} to {} already deleted", nodeId, dpnid.toString());
         }
@@ -268,7 +272,7 @@ public class ItmExternalTunnelDeleteWorker {
         if (trunkExists(nodeId1, nodeId2, tunType, dataBroker)) {
             LOG.trace("deleting tunnel from {} to {} ", nodeId1, nodeId2);
             String parentIf = ItmUtils.getHwParentIf(topologyId1, nodeId1);
-            String fwdTrunkIf = ItmUtils.getTrunkInterfaceName(parentIf,
+            String fwdTrunkIf = ItmUtils.lookupTrunkInterfaceName(parentIf,
                     new String(hwIpAddress1.getValue()), new String(hwIpAddress2.getValue()), tunType.getName());
             InstanceIdentifier<Interface> trunkIdentifier = ItmUtils.buildId(fwdTrunkIf);
             transaction.delete(LogicalDatastoreType.CONFIGURATION, trunkIdentifier);
@@ -276,6 +280,8 @@ public class ItmExternalTunnelDeleteWorker {
             InstanceIdentifier<ExternalTunnel> path = InstanceIdentifier.create(ExternalTunnelList.class)
                     .child(ExternalTunnel.class, ItmUtils.getExternalTunnelKey(nodeId2, nodeId1, tunType));
             transaction.delete(LogicalDatastoreType.CONFIGURATION, path);
+            ItmUtils.releaseIdForTrunkInterfaceName(parentIf,
+                    new String(hwIpAddress1.getValue()), new String(hwIpAddress2.getValue()), tunType.getName());
         } else {
             LOG.trace(" trunk from {} to {} already deleted", nodeId1, nodeId2);
         }
@@ -284,7 +290,7 @@ public class ItmExternalTunnelDeleteWorker {
             LOG.trace("deleting tunnel from {} to {} ", nodeId2, nodeId1);
 
             String parentIf = ItmUtils.getHwParentIf(topologyId2, nodeId2);
-            String revTrunkIf = ItmUtils.getTrunkInterfaceName(parentIf,
+            String revTrunkIf = ItmUtils.lookupTrunkInterfaceName(parentIf,
                     new String(hwIpAddress2.getValue()), new String(hwIpAddress1.getValue()), tunType.getName());
             InstanceIdentifier<Interface> trunkIdentifier = ItmUtils.buildId(revTrunkIf);
             transaction.delete(LogicalDatastoreType.CONFIGURATION, trunkIdentifier);
@@ -292,6 +298,8 @@ public class ItmExternalTunnelDeleteWorker {
             InstanceIdentifier<ExternalTunnel> path = InstanceIdentifier.create(ExternalTunnelList.class)
                     .child(ExternalTunnel.class, ItmUtils.getExternalTunnelKey(nodeId1, nodeId2, tunType));
             transaction.delete(LogicalDatastoreType.CONFIGURATION, path);
+            ItmUtils.releaseIdForTrunkInterfaceName(parentIf,
+                    new String(hwIpAddress2.getValue()), new String(hwIpAddress1.getValue()), tunType.getName());
         } else {
             LOG.trace(" trunk from {} to {} already deleted", nodeId2, nodeId1);
         }
@@ -7,15 +7,25 @@
  */
 package org.opendaylight.genius.itm.confighelpers;
 
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.genius.itm.confighelpers.ItmTunnelMeshPlanner.TunnelPair;
+import org.opendaylight.genius.itm.globals.ITMConstants;
 import org.opendaylight.genius.itm.impl.ITMBatchingUtils;
 import org.opendaylight.genius.itm.impl.ItmUtils;
 import org.opendaylight.genius.mdsalutil.interfaces.IMdsalApiManager;
@@ -43,6 +53,12 @@ import org.slf4j.LoggerFactory;
 public final class ItmInternalTunnelAddWorker {
 
     private static final Logger LOG = LoggerFactory.getLogger(ItmInternalTunnelAddWorker.class) ;
+    private static final int TUNNEL_PAIRS_PER_TRANSACTION =
+            Integer.getInteger("itm.mesh.tunnel.pairs.per.transaction", 100);
+    private static final int TUNNEL_MESH_JOB_SHARDS =
+            Math.max(1, Integer.getInteger("itm.mesh.tunnel.job.shards", 8));
+    // The JobCoordinator runs a failing job at most this many times
+    private static final int TUNNEL_MESH_JOB_RETRIES = 3;
     private static Boolean monitorEnabled;
     private static Integer monitorInterval;
     private static ItmConfig itmCfg;
@@ -68,6 +84,7 @@ public final class ItmInternalTunnelAddWorker {
         this.jobCoordinator = jobCoordinator;
     }
 
+    @SuppressWarnings("checkstyle:IllegalCatch")
     public List<ListenableFuture<Void>> buildAllTunnels(IMdsalApiManager mdsalManager, List<DPNTEPsInfo> cfgdDpnList,
                                                         List<DPNTEPsInfo> meshedDpnList, ItmConfig itmConfig) {
         LOG.trace("Building tunnels with DPN List {} " , cfgdDpnList);
@@ -81,79 +98,105 @@ public final class ItmInternalTunnelAddWorker {
             return futures;
         }
 
-        WriteTransaction transaction = dataBroker.newWriteOnlyTransaction();
+        ItmTunnelMeshPlanner planner = new ItmTunnelMeshPlanner(meshedDpnList);
+        boolean allTepsPerDpn = ItmTunnelAggregationHelper.isTunnelAggregationEnabled();
+        List<TunnelPair> pairs = new ArrayList<>();
         for (DPNTEPsInfo dpn : cfgdDpnList) {
-            //#####if dpn is not in meshedDpnList
-            buildTunnelFrom(dpn, meshedDpnList, dataBroker, mdsalManager, transaction);
-            if (null == meshedDpnList) {
-                meshedDpnList = new ArrayList<>();
-            }
-            meshedDpnList.add(dpn);
+            pairs.addAll(planner.planTunnelsFrom(dpn, allTepsPerDpn));
+            planner.addToMesh(dpn);
             // Update the config datastore -- FIXME -- Error Handling
             updateDpnTepInfoToConfig(dpn);
         }
-        futures.add(transaction.submit()) ;
-        return futures ;
-    }
+        LOG.debug("Building {} tunnel pairs from DPNs {}", pairs.size(), cfgdDpnList);
 
-    private static void updateDpnTepInfoToConfig(DPNTEPsInfo dpn) {
-        LOG.debug("Updating CONFIGURATION datastore with DPN {} ", dpn);
-        InstanceIdentifier<DpnEndpoints> dep = InstanceIdentifier.builder(DpnEndpoints.class).build() ;
-        List<DPNTEPsInfo> dpnList = new ArrayList<>() ;
-        dpnList.add(dpn) ;
-        DpnEndpoints tnlBuilder = new DpnEndpointsBuilder().setDPNTEPsInfo(dpnList).build() ;
-        ITMBatchingUtils.update(dep, tnlBuilder, ITMBatchingUtils.EntityType.DEFAULT_CONFIG);
-    }
+        // Setup the flow for LLDP monitoring -- PUNT TO CONTROLLER
+        if (monitorProtocol.isAssignableFrom(TunnelMonitoringTypeLldp.class)) {
+            Set<BigInteger> dpnIds = new HashSet<>();
+            for (TunnelPair pair : pairs) {
+                dpnIds.add(pair.getSrcDpnId());
+                dpnIds.add(pair.getDstDpnId());
+            }
+            dpnIds.forEach(dpnId -> ItmUtils.setUpOrRemoveTerminatingServiceTable(dpnId, mdsalManager, true));
+        }
 
-    private void buildTunnelFrom(DPNTEPsInfo srcDpn, List<DPNTEPsInfo> meshedDpnList, DataBroker dataBroker,
-                                 IMdsalApiManager mdsalManager, WriteTransaction transaction) {
-        LOG.trace("Building tunnels from DPN {} " , srcDpn);
-        if (null == meshedDpnList || meshedDpnList.isEmpty()) {
-            LOG.debug("No DPN in the mesh ");
-            return ;
+        // The tunnel pairs are wired up by parallel jobs, keyed by DPN pair so the tunnels between two DPNs are
+        // always wired up in order; the futures complete with the last attempt of the jobs, so the next TEP change
+        // is only processed once the tunnels are built
+        List<List<TunnelPair>> shards = new ArrayList<>();
+        for (int shard = 0; shard < TUNNEL_MESH_JOB_SHARDS; shard++) {
+            shards.add(new ArrayList<>());
         }
-        for (DPNTEPsInfo dstDpn: meshedDpnList) {
-            if (!srcDpn.equals(dstDpn)) {
-                wireUpWithinTransportZone(srcDpn, dstDpn, dataBroker, mdsalManager,
-                        transaction);
+        for (TunnelPair pair : pairs) {
+            int dpnPairHash = pair.getSrcDpnId().hashCode() + pair.getDstDpnId().hashCode();
+            shards.get(Math.floorMod(dpnPairHash, TUNNEL_MESH_JOB_SHARDS)).add(pair);
+        }
+        TunnelMeshProgress progress = new TunnelMeshProgress(pairs.size());
+        for (int shard = 0; shard < TUNNEL_MESH_JOB_SHARDS; shard++) {
+            for (List<TunnelPair> chunk : Lists.partition(shards.get(shard), TUNNEL_PAIRS_PER_TRANSACTION)) {
+                SettableFuture<Void> wiredUp = SettableFuture.create();
+                Futures.addCallback(wiredUp, progress.callbackFor(chunk), MoreExecutors.directExecutor());
+                AtomicInteger attempts = new AtomicInteger();
+                try {
+                    jobCoordinator.enqueueJob(ITMConstants.ITM_PREFIX + "-tunnel-mesh-" + shard,
+                        () -> Collections.singletonList(wireUpTunnelPairs(chunk, wiredUp, attempts)),
+                        TUNNEL_MESH_JOB_RETRIES);
+                } catch (RuntimeException e) {
+                    wiredUp.setException(e);
+                }
+                futures.add(wiredUp);
             }
         }
-
+        return futures ;
     }
 
-    private void wireUpWithinTransportZone(DPNTEPsInfo srcDpn, DPNTEPsInfo dstDpn, DataBroker dataBroker,
-                                           IMdsalApiManager mdsalManager, WriteTransaction transaction) {
-        LOG.trace("Wiring up within Transport Zone for Dpns {}, {} " , srcDpn, dstDpn);
-        List<TunnelEndPoints> srcEndPts = srcDpn.getTunnelEndPoints();
-        List<TunnelEndPoints> dstEndPts = dstDpn.getTunnelEndPoints();
+    /**
+     * Wires up a chunk of tunnel pairs, completing wiredUp once an attempt succeeds, or once the last one fails.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private ListenableFuture<Void> wireUpTunnelPairs(List<TunnelPair> chunk, SettableFuture<Void> wiredUp,
+                                                     AtomicInteger attempts) {
+        ListenableFuture<Void> future;
+        try {
+            WriteTransaction transaction = dataBroker.newWriteOnlyTransaction();
+            for (TunnelPair pair : chunk) {
+                wireUpBidirectionalTunnel(pair.getSrcTep(), pair.getDstTep(), pair.getSrcDpnId(),
+                        pair.getDstDpnId(), dataBroker, transaction);
+            }
+            future = transaction.submit();
+        } catch (RuntimeException e) {
+            // Failed like a failed transaction, so the job is retried the same way
+            future = Futures.immediateFailedFuture(e);
+        }
+        Futures.addCallback(future, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                wiredUp.set(null);
+            }
 
-        for (TunnelEndPoints srcte : srcEndPts) {
-            for (TunnelEndPoints dstte : dstEndPts) {
-                // Compare the Transport zones
-                if (!srcDpn.getDPNID().equals(dstDpn.getDPNID())) {
-                    if (!ItmUtils.getIntersection(srcte.getTzMembership(), dstte.getTzMembership()).isEmpty()) {
-                        // wire them up
-                        wireUpBidirectionalTunnel(srcte, dstte, srcDpn.getDPNID(), dstDpn.getDPNID(), dataBroker,
-                                mdsalManager, transaction);
-                        if (!ItmTunnelAggregationHelper.isTunnelAggregationEnabled()) {
-                            // CHECK THIS -- Assumption -- One end point per Dpn per transport zone
-                            break;
-                        }
-                    }
+            @Override
+            public void onFailure(Throwable error) {
+                if (attempts.incrementAndGet() >= TUNNEL_MESH_JOB_RETRIES) {
+                    wiredUp.setException(error);
+                } else {
+                    LOG.debug("Failed to build tunnel pairs {}, retrying", chunk, error);
                 }
             }
-        }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    private static void updateDpnTepInfoToConfig(DPNTEPsInfo dpn) {
+        LOG.debug("Updating CONFIGURATION datastore with DPN {} ", dpn);
+        InstanceIdentifier<DpnEndpoints> dep = InstanceIdentifier.builder(DpnEndpoints.class).build() ;
+        List<DPNTEPsInfo> dpnList = new ArrayList<>() ;
+        dpnList.add(dpn) ;
+        DpnEndpoints tnlBuilder = new DpnEndpointsBuilder().setDPNTEPsInfo(dpnList).build() ;
+        ITMBatchingUtils.update(dep, tnlBuilder, ITMBatchingUtils.EntityType.DEFAULT_CONFIG);
     }
 
     private void wireUpBidirectionalTunnel(TunnelEndPoints srcte, TunnelEndPoints dstte, BigInteger srcDpnId,
-                                           BigInteger dstDpnId, DataBroker dataBroker, IMdsalApiManager mdsalManager,
+                                           BigInteger dstDpnId, DataBroker dataBroker,
                                            WriteTransaction transaction) {
-        // Setup the flow for LLDP monitoring -- PUNT TO CONTROLLER
-
-        if (monitorProtocol.isAssignableFrom(TunnelMonitoringTypeLldp.class)) {
-            ItmUtils.setUpOrRemoveTerminatingServiceTable(srcDpnId, mdsalManager, true);
-            ItmUtils.setUpOrRemoveTerminatingServiceTable(dstDpnId, mdsalManager, true);
-        }
         // Create the forward direction tunnel
         if (!wireUp(srcte, dstte, srcDpnId, dstDpnId, dataBroker,
                 transaction)) {
@@ -252,6 +295,35 @@ public final class ItmInternalTunnelAddWorker {
         return logicTunnelGroupName;
     }
 
+    /**
+     * Tracks the tunnel pairs built, the transactions of which are submitted by parallel jobs.
+     */
+    private static final class TunnelMeshProgress {
+        private final int totalPairs;
+        private final AtomicInteger builtPairs = new AtomicInteger();
+        private final AtomicInteger failedPairs = new AtomicInteger();
+
+        TunnelMeshProgress(int totalPairs) {
+            this.totalPairs = totalPairs;
+        }
+
+        FutureCallback<Void> callbackFor(List<TunnelPair> pairs) {
+            return new FutureCallback<Void>() {
+                @Override
+                public void onSuccess(Void result) {
+                    LOG.debug("Built tunnel pairs {}, {} of {} built, {} failed", pairs,
+                            builtPairs.addAndGet(pairs.size()), totalPairs, failedPairs.get());
+                }
+
+                @Override
+                public void onFailure(Throwable error) {
+                    LOG.error("Failed to build tunnel pairs {}, {} of {} built, {} failed", pairs, builtPairs.get(),
+                            totalPairs, failedPairs.addAndGet(pairs.size()), error);
+                }
+            };
+        }
+    }
+
     private static class ItmTunnelAggregationWorker implements Callable<List<ListenableFuture<Void>>> {
 
         private final String logicTunnelGroupName;
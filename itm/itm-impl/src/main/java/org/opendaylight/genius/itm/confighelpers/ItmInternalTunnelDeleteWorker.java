@@ -19,6 +19,7 @@ import java.util.concurrent.Callable;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.genius.itm.confighelpers.ItmTunnelMeshPlanner.TunnelPair;
 import org.opendaylight.genius.itm.impl.ItmUtils;
 import org.opendaylight.genius.mdsalutil.interfaces.IMdsalApiManager;
 import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
@@ -68,6 +69,7 @@ public class ItmInternalTunnelDeleteWorker {
                 LOG.debug("No Meshed Vteps");
                 return futures ;
             }
+            ItmTunnelMeshPlanner planner = new ItmTunnelMeshPlanner(meshedDpnList);
             for (DPNTEPsInfo srcDpn : dpnTepsList) {
                 LOG.trace("Processing srcDpn {}", srcDpn);
 
@@ -86,24 +88,20 @@ public class ItmInternalTunnelDeleteWorker {
                     // as the DCN is at transport zone level
                     // Hence if a tunnel is shared across TZs, compare the original membership list between end points
                     // to decide if tunnel to be deleted.
-                    for (DPNTEPsInfo dstDpn : meshedDpnList) {
-                        if (!srcDpn.getDPNID().equals(dstDpn.getDPNID())) {
-                            for (TunnelEndPoints dstTep : dstDpn.getTunnelEndPoints()) {
-                                if (!ItmUtils.getIntersection(dstTep.getTzMembership(), srcTZones).isEmpty()) {
-                                    List<TzMembership> originalTzMembership =
-                                            ItmUtils.getOriginalTzMembership(srcTep, srcDpn.getDPNID(), meshedDpnList);
-                                    if (ItmUtils.getIntersection(dstTep.getTzMembership(), originalTzMembership).size()
-                                            == 1) {
-                                        if (checkIfTrunkExists(dstDpn.getDPNID(), srcDpn.getDPNID(),
-                                                srcTep.getTunnelType(), dataBroker)) {
-                                            // remove all trunk interfaces
-                                            LOG.trace("Invoking removeTrunkInterface between source TEP {} , "
-                                                    + "Destination TEP {} ", srcTep, dstTep);
-                                            removeTrunkInterface(dataBroker, srcTep, dstTep, srcDpn
-                                                    .getDPNID(), dstDpn.getDPNID(), writeTransaction);
-                                        }
-                                    }
-                                }
+                    // The meshed TEPs of other DPNs sharing a transport zone with srcTep are looked up by zone
+                    List<TunnelPair> pairs = planner.planTunnelsFrom(srcDpn.getDPNID(), srcTep, true);
+                    List<TzMembership> originalTzMembership = pairs.isEmpty() ? null
+                            : ItmUtils.getOriginalTzMembership(srcTep, srcDpn.getDPNID(), meshedDpnList);
+                    for (TunnelPair pair : pairs) {
+                        TunnelEndPoints dstTep = pair.getDstTep();
+                        if (ItmUtils.getIntersection(dstTep.getTzMembership(), originalTzMembership).size() == 1) {
+                            if (checkIfTrunkExists(pair.getDstDpnId(), srcDpn.getDPNID(),
+                                    srcTep.getTunnelType(), dataBroker)) {
+                                // remove all trunk interfaces
+                                LOG.trace("Invoking removeTrunkInterface between source TEP {} , "
+                                        + "Destination TEP {} ", srcTep, dstTep);
+                                removeTrunkInterface(dataBroker, srcTep, dstTep, srcDpn
+                                        .getDPNID(), pair.getDstDpnId(), writeTransaction);
                             }
                         }
                     }
@@ -148,6 +146,7 @@ public class ItmInternalTunnelDeleteWorker {
                         writeTransaction.delete(LogicalDatastoreType.CONFIGURATION, tepPath);
                         // remove the tep from the cache
                         meshedEndPtCache.remove(srcTep);
+                        planner.removeFromMesh(srcDpn.getDPNID(), srcTep);
                         Class<? extends TunnelMonitoringTypeBase> monitorProtocol =
                                 ItmUtils.determineMonitorProtocol(dataBroker);
                         InstanceIdentifier<DPNTEPsInfo> dpnPath =
@@ -188,7 +187,7 @@ public class ItmInternalTunnelDeleteWorker {
 
     private void removeTrunkInterface(DataBroker dataBroker, TunnelEndPoints srcTep, TunnelEndPoints dstTep,
                                       BigInteger srcDpnId, BigInteger dstDpnId, WriteTransaction transaction) {
-        String trunkfwdIfName = ItmUtils.getTrunkInterfaceName(srcTep.getInterfaceName(),
+        String trunkfwdIfName = ItmUtils.lookupTrunkInterfaceName(srcTep.getInterfaceName(),
                 new String(srcTep.getIpAddress().getValue()),
                 new String(dstTep.getIpAddress().getValue()),
                 srcTep.getTunnelType().getName());
@@ -210,7 +209,7 @@ public class ItmInternalTunnelDeleteWorker {
                 srcTep.getTunnelType().getName());
         removeLogicalGroupTunnel(srcDpnId, dstDpnId, dataBroker);
 
-        String trunkRevIfName = ItmUtils.getTrunkInterfaceName(dstTep.getInterfaceName(),
+        String trunkRevIfName = ItmUtils.lookupTrunkInterfaceName(dstTep.getInterfaceName(),
                 new String(dstTep.getIpAddress().getValue()),
                 new String(srcTep.getIpAddress().getValue()),
                 srcTep.getTunnelType().getName());
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.confighelpers;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.rev160406.transport.zones.TransportZone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates the TEPs added to and removed from a transport zone within a window.
+ *
+ * <p>The TEPs added by consecutive changes of a transport zone are added by a single worker, so the mesh is read and
+ * the tunnels are planned once for all of them; likewise for removed TEPs. The jobs of a transport zone are still
+ * queued in the order of its changes, under the name of the transport zone. Closing the aggregator queues the pending
+ * changes right away, and so are the changes made afterwards.
+ */
+public final class ItmTepChangeAggregator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ItmTepChangeAggregator.class);
+
+    private final JobCoordinator jobCoordinator;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final Function<List<DPNTEPsInfo>, Callable<List<ListenableFuture<Void>>>> addWorkerFactory;
+    private final BiFunction<List<DPNTEPsInfo>, TransportZone, Callable<List<ListenableFuture<Void>>>>
+            removeWorkerFactory;
+
+    // Transport zone name -> changes waiting for the window to end, in order; guarded by this
+    private final Map<String, List<TepChange>> pendingChanges = new HashMap<>();
+
+    public ItmTepChangeAggregator(JobCoordinator jobCoordinator, long windowMillis,
+            Function<List<DPNTEPsInfo>, Callable<List<ListenableFuture<Void>>>> addWorkerFactory,
+            BiFunction<List<DPNTEPsInfo>, TransportZone, Callable<List<ListenableFuture<Void>>>>
+                    removeWorkerFactory) {
+        this(jobCoordinator, Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryProvider.builder().namePrefix("ITM-TepChangeAggregator").logger(LOG).build().get()),
+                windowMillis, addWorkerFactory, removeWorkerFactory);
+    }
+
+    ItmTepChangeAggregator(JobCoordinator jobCoordinator, ScheduledExecutorService scheduler, long windowMillis,
+            Function<List<DPNTEPsInfo>, Callable<List<ListenableFuture<Void>>>> addWorkerFactory,
+            BiFunction<List<DPNTEPsInfo>, TransportZone, Callable<List<ListenableFuture<Void>>>>
+                    removeWorkerFactory) {
+        this.jobCoordinator = jobCoordinator;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.addWorkerFactory = addWorkerFactory;
+        this.removeWorkerFactory = removeWorkerFactory;
+    }
+
+    public synchronized void addTeps(String zoneName, List<DPNTEPsInfo> dpns) {
+        TepChange last = lastPendingChange(zoneName);
+        if (last != null && last.kind == TepChange.Kind.ADD) {
+            last.dpns.addAll(dpns);
+        } else {
+            pend(zoneName, new TepChange(TepChange.Kind.ADD, dpns, null, null));
+        }
+    }
+
+    /**
+     * Removes the TEPs of DPNs from a transport zone; the original transport zone is only used for hardware VTEPs,
+     * which are not aggregated, so the one of the first change is kept.
+     */
+    public synchronized void removeTeps(String zoneName, List<DPNTEPsInfo> dpns, TransportZone originalTZone) {
+        TepChange last = lastPendingChange(zoneName);
+        if (last != null && last.kind == TepChange.Kind.REMOVE) {
+            last.dpns.addAll(dpns);
+        } else {
+            pend(zoneName, new TepChange(TepChange.Kind.REMOVE, dpns, originalTZone, null));
+        }
+    }
+
+    /**
+     * Queues a job of a transport zone after its pending changes, without aggregating it.
+     */
+    public synchronized void enqueueJob(String zoneName, Callable<List<ListenableFuture<Void>>> job) {
+        if (pendingChanges.containsKey(zoneName)) {
+            pendingChanges.get(zoneName).add(new TepChange(TepChange.Kind.JOB, null, null, job));
+        } else {
+            jobCoordinator.enqueueJob(zoneName, job);
+        }
+    }
+
+    private TepChange lastPendingChange(String zoneName) {
+        List<TepChange> changes = pendingChanges.get(zoneName);
+        return changes != null ? changes.get(changes.size() - 1) : null;
+    }
+
+    private void pend(String zoneName, TepChange change) {
+        List<TepChange> changes = pendingChanges.get(zoneName);
+        if (changes != null) {
+            changes.add(change);
+            return;
+        }
+        changes = new ArrayList<>();
+        changes.add(change);
+        pendingChanges.put(zoneName, changes);
+        try {
+            scheduler.schedule(() -> dispatch(zoneName), windowMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // closed
+            dispatch(zoneName);
+        }
+    }
+
+    private synchronized void dispatch(String zoneName) {
+        List<TepChange> changes = pendingChanges.remove(zoneName);
+        if (changes == null) {
+            // already dispatched by close()
+            return;
+        }
+        LOG.debug("Dispatching {} aggregated TEP changes of transport zone {}", changes.size(), zoneName);
+        for (TepChange change : changes) {
+            switch (change.kind) {
+                case ADD:
+                    jobCoordinator.enqueueJob(zoneName, addWorkerFactory.apply(change.dpns));
+                    break;
+                case REMOVE:
+                    jobCoordinator.enqueueJob(zoneName, removeWorkerFactory.apply(change.dpns, change.originalTZone));
+                    break;
+                default:
+                    jobCoordinator.enqueueJob(zoneName, change.job);
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        scheduler.shutdownNow();
+        // The TEP changes still within their window are not dropped, so the tunnels match the transport zones
+        new ArrayList<>(pendingChanges.keySet()).forEach(this::dispatch);
+    }
+
+    private static final class TepChange {
+        enum Kind { ADD, REMOVE, JOB }
+
+        final Kind kind;
+        final List<DPNTEPsInfo> dpns;
+        final TransportZone originalTZone;
+        final Callable<List<ListenableFuture<Void>>> job;
+
+        TepChange(Kind kind, List<DPNTEPsInfo> dpns, TransportZone originalTZone,
+                Callable<List<ListenableFuture<Void>>> job) {
+            this.kind = kind;
+            this.dpns = dpns != null ? new ArrayList<>(dpns) : null;
+            this.originalTZone = originalTZone;
+            this.job = job;
+        }
+    }
+}
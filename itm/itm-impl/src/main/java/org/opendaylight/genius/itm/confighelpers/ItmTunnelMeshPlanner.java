@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.confighelpers;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.dpn.teps.info.TunnelEndPoints;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.dpn.teps.info.tunnel.end.points.TzMembership;
+
+/**
+ * Plans the internal tunnels of the full mesh incrementally.
+ *
+ * <p>The TEPs of the meshed DPNs are indexed by transport zone, so the tunnels of an added or removed TEP are found
+ * by looking its transport zones up, rather than by intersecting its transport zones with those of every TEP of
+ * every meshed DPN. A DPN is meshed once its tunnels are planned, so the DPNs added together are meshed with each
+ * other too.
+ */
+public final class ItmTunnelMeshPlanner {
+
+    // Transport zone name -> TEPs of the meshed DPNs in the transport zone
+    private final Map<String, List<MeshedTep>> tepsByZone = new HashMap<>();
+    private int meshedDpnCount;
+
+    public ItmTunnelMeshPlanner(@Nullable Collection<DPNTEPsInfo> meshedDpns) {
+        if (meshedDpns != null) {
+            meshedDpns.forEach(this::addToMesh);
+        }
+    }
+
+    public void addToMesh(DPNTEPsInfo dpn) {
+        int dpnIndex = meshedDpnCount++;
+        List<TunnelEndPoints> teps = nullToEmpty(dpn.getTunnelEndPoints());
+        for (int tepIndex = 0; tepIndex < teps.size(); tepIndex++) {
+            MeshedTep meshedTep = new MeshedTep(dpn.getDPNID(), dpnIndex, tepIndex, teps.get(tepIndex));
+            for (TzMembership zone : nullToEmpty(meshedTep.tep.getTzMembership())) {
+                tepsByZone.computeIfAbsent(zone.getZoneName(), zoneName -> new ArrayList<>()).add(meshedTep);
+            }
+        }
+    }
+
+    public void removeFromMesh(BigInteger dpnId, TunnelEndPoints tep) {
+        for (TzMembership zone : nullToEmpty(tep.getTzMembership())) {
+            List<MeshedTep> zoneTeps = tepsByZone.get(zone.getZoneName());
+            if (zoneTeps != null) {
+                zoneTeps.removeIf(meshedTep -> meshedTep.dpnId.equals(dpnId)
+                        && meshedTep.tep.getIpAddress().equals(tep.getIpAddress()));
+            }
+        }
+    }
+
+    /**
+     * Returns the tunnels from the TEPs of a DPN to the TEPs of the other meshed DPNs sharing a transport zone with
+     * them.
+     *
+     * @param allTepsPerDpn whether to plan tunnels to all the TEPs of each other DPN sharing a transport zone, as
+     *     with tunnel aggregation, or only to the first one
+     */
+    public List<TunnelPair> planTunnelsFrom(DPNTEPsInfo srcDpn, boolean allTepsPerDpn) {
+        List<TunnelPair> pairs = new ArrayList<>();
+        for (TunnelEndPoints srcTep : nullToEmpty(srcDpn.getTunnelEndPoints())) {
+            pairs.addAll(planTunnelsFrom(srcDpn.getDPNID(), srcTep, allTepsPerDpn));
+        }
+        return pairs;
+    }
+
+    /**
+     * Returns the tunnels from a TEP to the TEPs of the other meshed DPNs sharing a transport zone with it.
+     *
+     * @see #planTunnelsFrom(DPNTEPsInfo, boolean)
+     */
+    public List<TunnelPair> planTunnelsFrom(BigInteger srcDpnId, TunnelEndPoints srcTep, boolean allTepsPerDpn) {
+        // Meshed DPN -> its TEPs sharing a transport zone with srcTep, in the order of its TEPs
+        SortedMap<Integer, SortedMap<Integer, MeshedTep>> dstTeps = new TreeMap<>();
+        for (TzMembership zone : nullToEmpty(srcTep.getTzMembership())) {
+            for (MeshedTep dstTep : tepsByZone.getOrDefault(zone.getZoneName(), Collections.emptyList())) {
+                if (!dstTep.dpnId.equals(srcDpnId)) {
+                    dstTeps.computeIfAbsent(dstTep.dpnIndex, dpnIndex -> new TreeMap<>())
+                            .put(dstTep.tepIndex, dstTep);
+                }
+            }
+        }
+        List<TunnelPair> pairs = new ArrayList<>();
+        for (SortedMap<Integer, MeshedTep> dpnTeps : dstTeps.values()) {
+            // Assumption -- One end point per Dpn per transport zone, unless tunnels are aggregated
+            Collection<MeshedTep> selectedTeps =
+                    allTepsPerDpn ? dpnTeps.values() : Collections.singleton(dpnTeps.get(dpnTeps.firstKey()));
+            for (MeshedTep dstTep : selectedTeps) {
+                pairs.add(new TunnelPair(srcDpnId, srcTep, dstTep.dpnId, dstTep.tep));
+            }
+        }
+        return pairs;
+    }
+
+    private static <T> List<T> nullToEmpty(@Nullable List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /**
+     * A bidirectional tunnel between the TEPs of two DPNs.
+     */
+    public static final class TunnelPair {
+        private final BigInteger srcDpnId;
+        private final TunnelEndPoints srcTep;
+        private final BigInteger dstDpnId;
+        private final TunnelEndPoints dstTep;
+
+        TunnelPair(BigInteger srcDpnId, TunnelEndPoints srcTep, BigInteger dstDpnId, TunnelEndPoints dstTep) {
+            this.srcDpnId = srcDpnId;
+            this.srcTep = srcTep;
+            this.dstDpnId = dstDpnId;
+            this.dstTep = dstTep;
+        }
+
+        public BigInteger getSrcDpnId() {
+            return srcDpnId;
+        }
+
+        public TunnelEndPoints getSrcTep() {
+            return srcTep;
+        }
+
+        public BigInteger getDstDpnId() {
+            return dstDpnId;
+        }
+
+        public TunnelEndPoints getDstTep() {
+            return dstTep;
+        }
+
+        @Override
+        public String toString() {
+            return srcDpnId + ":" + new String(srcTep.getIpAddress().getValue()) + " <-> " + dstDpnId + ":"
+                    + new String(dstTep.getIpAddress().getValue());
+        }
+    }
+
+    private static final class MeshedTep {
+        final BigInteger dpnId;
+        // Position of the DPN in the mesh, and of the TEP in the DPN, to select TEPs in the order of the mesh
+        final int dpnIndex;
+        final int tepIndex;
+        final TunnelEndPoints tep;
+
+        MeshedTep(BigInteger dpnId, int dpnIndex, int tepIndex, TunnelEndPoints tep) {
+            this.dpnId = dpnId;
+            this.dpnIndex = dpnIndex;
+            this.tepIndex = tepIndex;
+            this.tep = tep;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.impl;
+
+import com.google.common.collect.ImmutableList;
+import java.math.BigInteger;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfo;
+
+/**
+ * Index of the DPNs meshed by ITM, with their TEPs, by DPN and by the IP address of their first TEP.
+ *
+ * <p>The index is maintained by {@link org.opendaylight.genius.itm.listeners.cache.DpnTepsInfoListener}. Each change
+ * only updates the entries of the changed DPN and of its first TEP IP address. The meshed DPNs are returned as an
+ * immutable snapshot, which is built on the first read after a change, so a burst of changes is paid for once and a
+ * snapshot is never changed while it is being used.
+ */
+public final class DpnTepsIndex {
+
+    public enum View {
+        MESH, DPN, FIRST_TEP_IP
+    }
+
+    private final Map<BigInteger, DPNTEPsInfo> byDpn = new ConcurrentHashMap<>();
+    private final Map<IpAddress, DPNTEPsInfo> byFirstTepIp = new ConcurrentHashMap<>();
+
+    // The DPNs in the order they were meshed, guarded by this
+    private final Map<BigInteger, DPNTEPsInfo> mesh = new LinkedHashMap<>();
+    // Null when the mesh changed since the last snapshot
+    private volatile ImmutableList<DPNTEPsInfo> meshedDpns;
+    private volatile boolean maintained;
+
+    private final Map<View, LongAdder> hits = new EnumMap<>(View.class);
+    private final Map<View, LongAdder> misses = new EnumMap<>(View.class);
+
+    public DpnTepsIndex() {
+        for (View view : View.values()) {
+            hits.put(view, new LongAdder());
+            misses.put(view, new LongAdder());
+        }
+    }
+
+    /**
+     * Marks the index as maintained by a listener, so it reflects the datastore and can be read instead of it.
+     */
+    public void setMaintained(boolean maintained) {
+        this.maintained = maintained;
+    }
+
+    public boolean isMaintained() {
+        return maintained;
+    }
+
+    public synchronized void put(DPNTEPsInfo dpn) {
+        DPNTEPsInfo old = mesh.put(dpn.getDPNID(), dpn);
+        byDpn.put(dpn.getDPNID(), dpn);
+        reindex(old, dpn);
+        meshedDpns = null;
+    }
+
+    public synchronized void remove(BigInteger dpnId) {
+        DPNTEPsInfo old = mesh.remove(dpnId);
+        if (old != null) {
+            byDpn.remove(dpnId);
+            reindex(old, null);
+            meshedDpns = null;
+        }
+    }
+
+    /**
+     * Removes all the DPNs, the counters are kept.
+     */
+    public synchronized void clear() {
+        mesh.clear();
+        byDpn.clear();
+        byFirstTepIp.clear();
+        meshedDpns = null;
+    }
+
+    // The new first TEP IP address is added before the stale one is removed, so a first TEP IP address which stays
+    // on the DPN is never missing from the index while the DPN is updated
+    private void reindex(@Nullable DPNTEPsInfo old, @Nullable DPNTEPsInfo dpn) {
+        IpAddress firstTepIp = getFirstTepIp(dpn);
+        if (firstTepIp != null) {
+            byFirstTepIp.put(firstTepIp, dpn);
+        }
+        IpAddress oldFirstTepIp = getFirstTepIp(old);
+        if (oldFirstTepIp != null && !oldFirstTepIp.equals(firstTepIp)) {
+            byFirstTepIp.remove(oldFirstTepIp, old);
+        }
+    }
+
+    @Nullable
+    static IpAddress getFirstTepIp(@Nullable DPNTEPsInfo dpn) {
+        if (dpn == null || dpn.getTunnelEndPoints() == null || dpn.getTunnelEndPoints().isEmpty()) {
+            return null;
+        }
+        return dpn.getTunnelEndPoints().get(0).getIpAddress();
+    }
+
+    /**
+     * Returns the meshed DPNs, or null if the index is not maintained.
+     */
+    @Nullable
+    public List<DPNTEPsInfo> getMeshedDpns() {
+        if (!maintained) {
+            misses.get(View.MESH).increment();
+            return null;
+        }
+        hits.get(View.MESH).increment();
+        ImmutableList<DPNTEPsInfo> dpns = meshedDpns;
+        return dpns != null ? dpns : snapshotMesh();
+    }
+
+    private synchronized ImmutableList<DPNTEPsInfo> snapshotMesh() {
+        ImmutableList<DPNTEPsInfo> dpns = meshedDpns;
+        if (dpns == null) {
+            dpns = ImmutableList.copyOf(mesh.values());
+            meshedDpns = dpns;
+        }
+        return dpns;
+    }
+
+    @Nullable
+    public DPNTEPsInfo getDpn(BigInteger dpnId) {
+        return count(View.DPN, byDpn.get(dpnId));
+    }
+
+    /**
+     * Returns the DPN whose first TEP has an IP address; the other TEPs of a DPN are not looked up.
+     */
+    @Nullable
+    public DPNTEPsInfo getDpnByFirstTepIp(IpAddress tepIp) {
+        return count(View.FIRST_TEP_IP, byFirstTepIp.get(tepIp));
+    }
+
+    private <T> T count(View view, @Nullable T value) {
+        (value != null ? hits : misses).get(view).increment();
+        return value;
+    }
+
+    public long getHitCount(View view) {
+        return hits.get(view).sum();
+    }
+
+    public long getMissCount(View view) {
+        return misses.get(view).sum();
+    }
+
+    /**
+     * Returns the hit and miss counts of each view, by counter name.
+     */
+    public Map<String, String> getCounterMap() {
+        Map<String, String> counterMap = new LinkedHashMap<>();
+        for (View view : View.values()) {
+            counterMap.put("DpnTepsIndexHits:view_" + view + "_DpnTepsIndexHits", String.valueOf(getHitCount(view)));
+            counterMap.put("DpnTepsIndexMisses:view_" + view + "_DpnTepsIndexMisses",
+                    String.valueOf(getMissCount(view)));
+        }
+        return counterMap;
+    }
+
+    public int size() {
+        return byDpn.size();
+    }
+}
@@ -8,11 +8,11 @@
 package org.opendaylight.genius.itm.impl;
 
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.genius.utils.batching.ActionableResource;
 import org.opendaylight.genius.utils.batching.ActionableResourceImpl;
+import org.opendaylight.genius.utils.batching.BoundedResourceQueue;
 import org.opendaylight.genius.utils.batching.DefaultBatchHandler;
 import org.opendaylight.genius.utils.batching.ResourceBatchingManager;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -27,6 +27,9 @@ public class ITMBatchingUtils {
     public static Integer batchSize;
     public static Integer batchInterval;
     private static DataBroker dataBroker;
+    private static final String DEFAULT_OPERATIONAL_RES_TYPE = "ITM-DEFAULT-OPERATIONAL";
+    private static final String DEFAULT_CONFIG_RES_TYPE = "ITM-DEFAULT-CONFIG";
+
     private static BlockingQueue<ActionableResource> defaultOperationalShardBufferQ;
     private static BlockingQueue<ActionableResource> defaultConfigShardBufferQ;
 
@@ -55,9 +58,9 @@ public class ITMBatchingUtils {
             batchInterval = Integer.getInteger("batch.wait.time");
         }
         ResourceBatchingManager resBatchingManager = ResourceBatchingManager.getInstance();
-        resBatchingManager.registerBatchableResource("ITM-DEFAULT-OPERATIONAL", defaultOperationalShardBufferQ,
+        resBatchingManager.registerBatchableResource(DEFAULT_OPERATIONAL_RES_TYPE, defaultOperationalShardBufferQ,
                 new DefaultBatchHandler(dataBroker, LogicalDatastoreType.OPERATIONAL, batchSize, batchInterval));
-        resBatchingManager.registerBatchableResource("ITM-DEFAULT-CONFIG", defaultConfigShardBufferQ,
+        resBatchingManager.registerBatchableResource(DEFAULT_CONFIG_RES_TYPE, defaultConfigShardBufferQ,
                 new DefaultBatchHandler(dataBroker, LogicalDatastoreType.CONFIGURATION, batchSize, batchInterval));
     }
 
@@ -101,7 +104,7 @@ public class ITMBatchingUtils {
     }
 
     static {
-        defaultOperationalShardBufferQ = new LinkedBlockingQueue<>();
-        defaultConfigShardBufferQ = new LinkedBlockingQueue<>();
+        defaultOperationalShardBufferQ = BoundedResourceQueue.newDefaultQueue(DEFAULT_OPERATIONAL_RES_TYPE);
+        defaultConfigShardBufferQ = BoundedResourceQueue.newDefaultQueue(DEFAULT_CONFIG_RES_TYPE);
     }
 }
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.net.util.SubnetUtils;
 import org.apache.commons.net.util.SubnetUtils.SubnetInfo;
@@ -47,7 +48,6 @@ import org.opendaylight.genius.mdsalutil.actions.ActionPuntToController;
 import org.opendaylight.genius.mdsalutil.instructions.InstructionApplyActions;
 import org.opendaylight.genius.mdsalutil.interfaces.IMdsalApiManager;
 import org.opendaylight.genius.mdsalutil.matches.MatchTunnelId;
-import org.opendaylight.genius.utils.cache.DataStoreCache;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.iana._if.type.rev140508.Tunnel;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpPrefix;
@@ -145,10 +145,12 @@ import org.slf4j.LoggerFactory;
 
 public final class ItmUtils {
 
-    private static final String TUNNEL = "tun";
+    static final String TUNNEL = "tun";
     private static final IpPrefix DUMMY_IP_PREFIX = new IpPrefix(ITMConstants.DUMMY_PREFIX.toCharArray());
     private static final long DEFAULT_MONITORING_INTERVAL = 100L;
     public static final ItmCache ITM_CACHE = new ItmCache();
+    public static final TunnelNameRegistry TUNNEL_NAMES = new TunnelNameRegistry();
+    public static final DpnTepsIndex DPN_TEPS_INDEX = new DpnTepsIndex();
 
     private static final Logger LOG = LoggerFactory.getLogger(ItmUtils.class);
 
@@ -233,32 +235,35 @@ public final class ItmUtils {
 
     public static String getTrunkInterfaceName(String parentInterfaceName,
                                                String localHostName, String remoteHostName, String tunnelType) {
-        String tunnelTypeStr;
-        if (tunnelType.contains("TunnelTypeGre")) {
-            tunnelTypeStr = ITMConstants.TUNNEL_TYPE_GRE;
-        } else if (tunnelType.contains("TunnelTypeLogicalGroup")) {
-            tunnelTypeStr = ITMConstants.TUNNEL_TYPE_LOGICAL_GROUP_VXLAN;
-        } else {
-            tunnelTypeStr = ITMConstants.TUNNEL_TYPE_VXLAN;
-        }
-        String trunkInterfaceName = String.format("%s:%s:%s:%s", parentInterfaceName, localHostName,
-                remoteHostName, tunnelTypeStr);
-        LOG.trace("trunk interface name is {}", trunkInterfaceName);
-        trunkInterfaceName = String.format("%s%s", TUNNEL, getUniqueIdString(trunkInterfaceName));
-        return trunkInterfaceName;
+        return TUNNEL_NAMES.getName(parentInterfaceName, localHostName, remoteHostName,
+                getTrunkInterfaceTypeString(tunnelType));
+    }
+
+    /**
+     * Returns the name of a trunk interface being deleted, without registering it; release it once deleted.
+     */
+    public static String lookupTrunkInterfaceName(String parentInterfaceName,
+                                                  String localHostName, String remoteHostName, String tunnelType) {
+        return TUNNEL_NAMES.lookupName(parentInterfaceName, localHostName, remoteHostName,
+                getTrunkInterfaceTypeString(tunnelType));
     }
 
     public static void releaseIdForTrunkInterfaceName(String parentInterfaceName,
                                                       String localHostName, String remoteHostName, String tunnelType) {
-        String tunnelTypeStr;
+        LOG.trace("Releasing Id for trunkInterface - {}:{}:{}:{}", parentInterfaceName, localHostName,
+                remoteHostName, tunnelType);
+        TUNNEL_NAMES.release(parentInterfaceName, localHostName, remoteHostName,
+                getTrunkInterfaceTypeString(tunnelType));
+    }
+
+    private static String getTrunkInterfaceTypeString(String tunnelType) {
         if (tunnelType.contains("TunnelTypeGre")) {
-            tunnelTypeStr = ITMConstants.TUNNEL_TYPE_GRE;
+            return ITMConstants.TUNNEL_TYPE_GRE;
+        } else if (tunnelType.contains("TunnelTypeLogicalGroup")) {
+            return ITMConstants.TUNNEL_TYPE_LOGICAL_GROUP_VXLAN;
         } else {
-            tunnelTypeStr = ITMConstants.TUNNEL_TYPE_VXLAN;
+            return ITMConstants.TUNNEL_TYPE_VXLAN;
         }
-        String trunkInterfaceName = String.format("%s:%s:%s:%s", parentInterfaceName, localHostName,
-                remoteHostName, tunnelTypeStr);
-        LOG.trace("Releasing Id for trunkInterface - {}", trunkInterfaceName);
     }
 
     public static String getLogicalTunnelGroupName(BigInteger srcDpnId, BigInteger destDpnId) {
@@ -415,9 +420,13 @@ public final class ItmUtils {
                 .setTransportType(tunType).build();
     }
 
+    /**
+     * Returns the meshed DPNs, from the DPN TEPs index if it is maintained, otherwise from the datastore; the list
+     * must not be modified.
+     */
     public static List<DPNTEPsInfo> getTunnelMeshInfo(DataBroker dataBroker) {
-        // Read the Mesh Information from Cache if not read from the DS
-        List<DPNTEPsInfo> dpnTEPs = getTunnelMeshInfo() ;
+        // Read the Mesh Information from the index if not read from the DS
+        List<DPNTEPsInfo> dpnTEPs = DPN_TEPS_INDEX.getMeshedDpns();
         if (dpnTEPs != null) {
             return dpnTEPs;
         }
@@ -436,26 +445,22 @@ public final class ItmUtils {
         return dpnTEPs;
     }
 
-    // Reading the Mesh Information from Cache
-    private static List<DPNTEPsInfo> getTunnelMeshInfo() {
-        List<DPNTEPsInfo> dpnTepsInfo = null;
-        List<Object> values = DataStoreCache.getValues(ITMConstants.DPN_TEPs_Info_CACHE_NAME);
-        if (values != null) {
-            dpnTepsInfo = new ArrayList<>() ;
-            for (Object value : values) {
-                dpnTepsInfo.add((DPNTEPsInfo)value) ;
-            }
-        }
-        return dpnTepsInfo;
-    }
-
-    private static String getUniqueIdString(String idKey) {
+    static String getUniqueIdString(String idKey) {
         return UUID.nameUUIDFromBytes(idKey.getBytes()).toString().substring(0, 12).replace("-", "");
     }
 
     public static List<DPNTEPsInfo> getDpnTepListFromDpnId(DataBroker dataBroker, List<BigInteger> dpnIds) {
-        List<DPNTEPsInfo> meshedDpnList = getTunnelMeshInfo(dataBroker) ;
         List<DPNTEPsInfo> cfgDpnList = new ArrayList<>();
+        if (DPN_TEPS_INDEX.isMaintained()) {
+            for (BigInteger dpnId : dpnIds) {
+                DPNTEPsInfo teps = DPN_TEPS_INDEX.getDpn(dpnId);
+                if (teps != null) {
+                    cfgDpnList.add(teps);
+                }
+            }
+            return cfgDpnList;
+        }
+        List<DPNTEPsInfo> meshedDpnList = getTunnelMeshInfo(dataBroker) ;
         if (null != meshedDpnList) {
             for (BigInteger dpnId : dpnIds) {
                 for (DPNTEPsInfo teps : meshedDpnList) {
@@ -468,6 +473,26 @@ public final class ItmUtils {
         return cfgDpnList;
     }
 
+    /**
+     * Returns the meshed DPN whose first TEP has an IP address, from the DPN TEPs index if it is maintained, otherwise
+     * from the datastore.
+     */
+    @Nullable
+    public static DPNTEPsInfo getDpnByFirstTepIp(DataBroker dataBroker, IpAddress tepIp) {
+        if (DPN_TEPS_INDEX.isMaintained()) {
+            return DPN_TEPS_INDEX.getDpnByFirstTepIp(tepIp);
+        }
+        List<DPNTEPsInfo> meshedDpnList = getTunnelMeshInfo(dataBroker);
+        if (meshedDpnList != null) {
+            for (DPNTEPsInfo teps : meshedDpnList) {
+                if (tepIp.equals(DpnTepsIndex.getFirstTepIp(teps))) {
+                    return teps;
+                }
+            }
+        }
+        return null;
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     public static void setUpOrRemoveTerminatingServiceTable(BigInteger dpnId, IMdsalApiManager mdsalManager,
                                                             boolean addFlag) {
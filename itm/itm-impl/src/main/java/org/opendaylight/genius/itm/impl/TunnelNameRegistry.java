@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.impl;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * Registry of the names of the trunk interfaces of tunnels, by parent interface, local and remote end points and
+ * tunnel type.
+ *
+ * <p>A name is derived from a digest of its key once, and then memoized until its tunnel is released; the key of a
+ * name can be looked up as well. Tunnels being deleted look their name up without registering it, and release it.
+ * Names are the same as those derived before the registry, as they are persisted in the datastores.
+ */
+public final class TunnelNameRegistry {
+
+    private final ConcurrentMap<TunnelKey, String> names = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TunnelKey> keys = new ConcurrentHashMap<>();
+
+    public String getName(String parentInterfaceName, String localHostName, String remoteHostName,
+            String tunnelType) {
+        TunnelKey key = new TunnelKey(parentInterfaceName, localHostName, remoteHostName, tunnelType);
+        String name = names.get(key);
+        if (name == null) {
+            name = key.deriveName();
+            String previousName = names.putIfAbsent(key, name);
+            if (previousName != null) {
+                return previousName;
+            }
+            keys.put(name, key);
+        }
+        return name;
+    }
+
+    /**
+     * Returns the name of a tunnel without registering it, for tunnels being deleted.
+     */
+    public String lookupName(String parentInterfaceName, String localHostName, String remoteHostName,
+            String tunnelType) {
+        TunnelKey key = new TunnelKey(parentInterfaceName, localHostName, remoteHostName, tunnelType);
+        String name = names.get(key);
+        return name != null ? name : key.deriveName();
+    }
+
+    /**
+     * Returns the key of a trunk interface name, or null if it is not registered.
+     */
+    @Nullable
+    public TunnelKey getKey(String name) {
+        return keys.get(name);
+    }
+
+    public void release(String parentInterfaceName, String localHostName, String remoteHostName, String tunnelType) {
+        String name = names.remove(new TunnelKey(parentInterfaceName, localHostName, remoteHostName, tunnelType));
+        if (name != null) {
+            keys.remove(name);
+        }
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public static final class TunnelKey {
+        private final String parentInterfaceName;
+        private final String localHostName;
+        private final String remoteHostName;
+        private final String tunnelType;
+        private final int hashCode;
+
+        TunnelKey(String parentInterfaceName, String localHostName, String remoteHostName, String tunnelType) {
+            this.parentInterfaceName = parentInterfaceName;
+            this.localHostName = localHostName;
+            this.remoteHostName = remoteHostName;
+            this.tunnelType = tunnelType;
+            this.hashCode = Objects.hash(parentInterfaceName, localHostName, remoteHostName, tunnelType);
+        }
+
+        public String getParentInterfaceName() {
+            return parentInterfaceName;
+        }
+
+        public String getLocalHostName() {
+            return localHostName;
+        }
+
+        public String getRemoteHostName() {
+            return remoteHostName;
+        }
+
+        public String getTunnelType() {
+            return tunnelType;
+        }
+
+        String deriveName() {
+            return ItmUtils.TUNNEL + ItmUtils.getUniqueIdString(
+                    parentInterfaceName + ":" + localHostName + ":" + remoteHostName + ":" + tunnelType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TunnelKey)) {
+                return false;
+            }
+            TunnelKey other = (TunnelKey) obj;
+            return Objects.equals(parentInterfaceName, other.parentInterfaceName)
+                    && Objects.equals(localHostName, other.localHostName)
+                    && Objects.equals(remoteHostName, other.remoteHostName)
+                    && Objects.equals(tunnelType, other.tunnelType);
+        }
+
+        @Override
+        public String toString() {
+            return parentInterfaceName + ":" + localHostName + ":" + remoteHostName + ":" + tunnelType;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.opendaylight.genius.itm.confighelpers.HwVtep;
 import org.opendaylight.genius.itm.confighelpers.ItmInternalTunnelAddWorker;
 import org.opendaylight.genius.itm.confighelpers.ItmInternalTunnelDeleteWorker;
 import org.opendaylight.genius.itm.confighelpers.ItmTepAddWorker;
+import org.opendaylight.genius.itm.confighelpers.ItmTepChangeAggregator;
 import org.opendaylight.genius.itm.confighelpers.ItmTepRemoveWorker;
 import org.opendaylight.genius.itm.confighelpers.ItmTepsNotHostedMoveWorker;
 import org.opendaylight.genius.itm.confighelpers.ItmTepsNotHostedRemoveWorker;
@@ -70,15 +71,16 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
         implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(TransportZoneListener.class);
+    private static final long TEP_CHANGE_WINDOW_MILLIS = Long.getLong("itm.tep.change.window.ms", 200);
 
     private final DataBroker dataBroker;
-    private final JobCoordinator jobCoordinator;
     private final IdManagerService idManagerService;
     private final IMdsalApiManager mdsalManager;
     private final ITMManager itmManager;
     private final ItmConfig itmConfig;
     private final ItmInternalTunnelDeleteWorker itmInternalTunnelDeleteWorker;
     private final ItmInternalTunnelAddWorker itmInternalTunnelAddWorker;
+    private final ItmTepChangeAggregator tepChangeAggregator;
 
     @Inject
     public TransportZoneListener(final DataBroker dataBroker, final IdManagerService idManagerService,
@@ -86,7 +88,6 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
                                  final ItmConfig itmConfig, JobCoordinator jobCoordinator) {
         super(TransportZone.class, TransportZoneListener.class);
         this.dataBroker = dataBroker;
-        this.jobCoordinator = jobCoordinator;
         this.idManagerService = idManagerService;
         initializeTZNode(dataBroker);
         this.itmManager = itmManager;
@@ -94,6 +95,11 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
         this.itmConfig = itmConfig;
         this.itmInternalTunnelDeleteWorker = new ItmInternalTunnelDeleteWorker(dataBroker, jobCoordinator);
         this.itmInternalTunnelAddWorker = new ItmInternalTunnelAddWorker(dataBroker, jobCoordinator);
+        this.tepChangeAggregator = new ItmTepChangeAggregator(jobCoordinator, TEP_CHANGE_WINDOW_MILLIS,
+            addedDpns -> new ItmTepAddWorker(addedDpns, Collections.emptyList(), dataBroker, idManagerService,
+                    mdsalManager, itmConfig, itmInternalTunnelAddWorker),
+            (removedDpns, tzOld) -> new ItmTepRemoveWorker(removedDpns, Collections.emptyList(), tzOld, dataBroker,
+                    idManagerService, mdsalManager, itmInternalTunnelDeleteWorker));
     }
 
     @PostConstruct
@@ -105,6 +111,7 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
     @Override
     @PreDestroy
     public void close() {
+        tepChangeAggregator.close();
         LOG.info("tzChangeListener Closed");
     }
 
@@ -171,7 +178,7 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
             LOG.trace("Delete: Invoking deleteTunnels in ItmManager with DpnList {}", opDpnList);
             if (!opDpnList.isEmpty() || !hwVtepList.isEmpty()) {
                 LOG.trace("Delete: Invoking ItmManager with hwVtep List {} ", hwVtepList);
-                jobCoordinator.enqueueJob(tzOld.getZoneName(),
+                tepChangeAggregator.enqueueJob(tzOld.getZoneName(),
                                           new ItmTepRemoveWorker(opDpnList, hwVtepList, tzOld, dataBroker,
                                                                  idManagerService, mdsalManager,
                                                                  itmInternalTunnelDeleteWorker));
@@ -202,17 +209,11 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
         LOG.trace("newcopy Size {}", newDpnTepsList.size());
         if (!newDpnTepsList.isEmpty()) {
             LOG.trace("Adding TEPs ");
-            jobCoordinator.enqueueJob(tzNew.getZoneName(),
-                                      new ItmTepAddWorker(newDpnTepsList, Collections.emptyList(), dataBroker,
-                                                          idManagerService, mdsalManager, itmConfig,
-                                                          itmInternalTunnelAddWorker));
+            tepChangeAggregator.addTeps(tzNew.getZoneName(), newDpnTepsList);
         }
         if (!oldDpnTepsList.isEmpty()) {
             LOG.trace("Removing TEPs ");
-            jobCoordinator.enqueueJob(tzNew.getZoneName(),
-                                      new ItmTepRemoveWorker(oldDpnTepsList, Collections.emptyList(), tzOld, dataBroker,
-                                                             idManagerService, mdsalManager,
-                                                             itmInternalTunnelDeleteWorker));
+            tepChangeAggregator.removeTeps(tzNew.getZoneName(), oldDpnTepsList, tzOld);
         }
         List<HwVtep> oldHwList = createhWVteps(tzOld);
         List<HwVtep> newHwList = createhWVteps(tzNew);
@@ -231,14 +232,14 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
         LOG.trace("newHwListcopy {}", newHwListcopy);
         if (!newHwList.isEmpty()) {
             LOG.trace("Adding HW TEPs ");
-            jobCoordinator.enqueueJob(tzNew.getZoneName(),
+            tepChangeAggregator.enqueueJob(tzNew.getZoneName(),
                                       new ItmTepAddWorker(Collections.emptyList(), newHwList, dataBroker,
                                                           idManagerService, mdsalManager, itmConfig,
                                                           itmInternalTunnelAddWorker));
         }
         if (!oldHwList.isEmpty()) {
             LOG.trace("Removing HW TEPs ");
-            jobCoordinator.enqueueJob(tzNew.getZoneName(),
+            tepChangeAggregator.enqueueJob(tzNew.getZoneName(),
                                       new ItmTepRemoveWorker(Collections.emptyList(), oldHwList, tzOld, dataBroker,
                                                              idManagerService, mdsalManager,
                                                              itmInternalTunnelDeleteWorker));
@@ -255,7 +256,7 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
         if (!opDpnList.isEmpty() || !hwVtepList.isEmpty()) {
             LOG.trace("Add: Invoking ItmManager with DPN List {} ", opDpnList);
             LOG.trace("Add: Invoking ItmManager with hwVtep List {} ", hwVtepList);
-            jobCoordinator.enqueueJob(tzNew.getZoneName(),
+            tepChangeAggregator.enqueueJob(tzNew.getZoneName(),
                                       new ItmTepAddWorker(opDpnList, hwVtepList, dataBroker, idManagerService,
                                                           mdsalManager, itmConfig, itmInternalTunnelAddWorker));
         }
@@ -313,7 +314,7 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
                 // into DataStoreJobCoordinator
                 ItmTepsNotHostedRemoveWorker
                     removeWorker = new ItmTepsNotHostedRemoveWorker(newZoneName, ipAddress, dpnID, dataBroker);
-                jobCoordinator.enqueueJob(newZoneName, removeWorker);
+                tepChangeAggregator.enqueueJob(newZoneName, removeWorker);
             }
         }
 
@@ -321,7 +322,7 @@ public class TransportZoneListener extends AsyncDataTreeChangeListenerBase<Trans
         // into DataStoreJobCoordinator
         ItmTepsNotHostedMoveWorker
             moveWorker = new ItmTepsNotHostedMoveWorker(vtepsList, newZoneName, dataBroker);
-        jobCoordinator.enqueueJob(newZoneName, moveWorker);
+        tepChangeAggregator.enqueueJob(newZoneName, moveWorker);
 
         if (mapNotHostedDPNToTunnelEndpt.size() > 0) {
             Set<BigInteger> keys = mapNotHostedDPNToTunnelEndpt.keySet();
@@ -14,8 +14,7 @@ import javax.inject.Singleton;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.genius.datastoreutils.AsyncClusteredDataTreeChangeListenerBase;
-import org.opendaylight.genius.itm.globals.ITMConstants;
-import org.opendaylight.genius.utils.cache.DataStoreCache;
+import org.opendaylight.genius.itm.impl.ItmUtils;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.DpnEndpoints;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfo;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -38,7 +37,7 @@ public class DpnTepsInfoListener extends AsyncClusteredDataTreeChangeListenerBas
     @Inject
     public DpnTepsInfoListener(final DataBroker dataBroker) {
         super(DPNTEPsInfo.class, DpnTepsInfoListener.class);
-        DataStoreCache.create(ITMConstants.DPN_TEPs_Info_CACHE_NAME) ;
+        ItmUtils.DPN_TEPS_INDEX.setMaintained(true);
         this.broker = dataBroker;
     }
 
@@ -51,28 +50,30 @@ public class DpnTepsInfoListener extends AsyncClusteredDataTreeChangeListenerBas
     @Override
     @PreDestroy
     public void close() {
+        super.close();
+        // The index is no longer maintained, so the mesh is read from the datastore again
+        ItmUtils.DPN_TEPS_INDEX.setMaintained(false);
+        ItmUtils.DPN_TEPS_INDEX.clear();
         LOG.info("dpnTepsInfo Listener Closed");
     }
 
     @Override
     protected void remove(InstanceIdentifier<DPNTEPsInfo> identifier, DPNTEPsInfo del) {
-        LOG.debug("Remove from cache {} Invoked for data Obj {}",
-                ITMConstants.DPN_TEPs_Info_CACHE_NAME, del.getDPNID());
-        DataStoreCache.remove(ITMConstants.DPN_TEPs_Info_CACHE_NAME, del.getDPNID()) ;
+        LOG.debug("Remove from DPN TEPs index Invoked for data Obj {}", del.getDPNID());
+        ItmUtils.DPN_TEPS_INDEX.remove(del.getDPNID());
     }
 
     @Override
     protected void update(InstanceIdentifier<DPNTEPsInfo> identifier, DPNTEPsInfo original,
                           DPNTEPsInfo update) {
-        LOG.debug("Update to cache {} Invoked for data Obj {}",
-                ITMConstants.DPN_TEPs_Info_CACHE_NAME, update.getDPNID());
-        DataStoreCache.add(ITMConstants.DPN_TEPs_Info_CACHE_NAME, update.getDPNID(), update);
+        LOG.debug("Update to DPN TEPs index Invoked for data Obj {}", update.getDPNID());
+        ItmUtils.DPN_TEPS_INDEX.put(update);
     }
 
     @Override
     protected void add(InstanceIdentifier<DPNTEPsInfo> identifier, DPNTEPsInfo add) {
-        LOG.debug("Add to cache {} Invoked for data Obj {}", ITMConstants.DPN_TEPs_Info_CACHE_NAME, add.getDPNID());
-        DataStoreCache.add(ITMConstants.DPN_TEPs_Info_CACHE_NAME, add.getDPNID(), add);
+        LOG.debug("Add to DPN TEPs index Invoked for data Obj {}", add.getDPNID());
+        ItmUtils.DPN_TEPS_INDEX.put(add);
     }
 
     @Override
@@ -26,6 +26,12 @@ public class DataPathAlarm extends NotificationBroadcasterSupport implements Dat
     private List<String> raiseAlarmObject = new ArrayList<>();
     private List<String> clearAlarmObject = new ArrayList<>();
 
+    private volatile TunnelAlarmQueue alarmQueue;
+
+    void setAlarmQueue(TunnelAlarmQueue alarmQueue) {
+        this.alarmQueue = alarmQueue;
+    }
+
     @Override
     public void setRaiseAlarmObject(List<String> raiseAlarmObject) {
         this.raiseAlarmObject = raiseAlarmObject;
@@ -68,4 +74,28 @@ public class DataPathAlarm extends NotificationBroadcasterSupport implements Dat
         setClearAlarmObject(clearAlarmObject);
         clearAlarmObject.clear();
     }
+
+    @Override
+    public long getAlarmBacklogDepth() {
+        TunnelAlarmQueue queue = alarmQueue;
+        return queue != null ? queue.getBacklogDepth() : 0;
+    }
+
+    @Override
+    public long getCoalescedAlarmCount() {
+        TunnelAlarmQueue queue = alarmQueue;
+        return queue != null ? queue.getCoalescedCount() : 0;
+    }
+
+    @Override
+    public long getAverageAlarmLatencyMillis() {
+        TunnelAlarmQueue queue = alarmQueue;
+        return queue != null ? queue.getAverageLatencyMillis() : 0;
+    }
+
+    @Override
+    public long getMaxAlarmLatencyMillis() {
+        TunnelAlarmQueue queue = alarmQueue;
+        return queue != null ? queue.getMaxLatencyMillis() : 0;
+    }
 }
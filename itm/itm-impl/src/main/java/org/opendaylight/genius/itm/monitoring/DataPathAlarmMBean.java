@@ -29,4 +29,15 @@ public interface DataPathAlarmMBean {
     void raiseAlarm(String alarmName, String additionalText, String source);
 
     void clearAlarm(String alarmName, String additionalText, String source);
+
+    /**
+     * Returns the number of tunnels with a data path alarm being raised or cleared.
+     */
+    long getAlarmBacklogDepth();
+
+    long getCoalescedAlarmCount();
+
+    long getAverageAlarmLatencyMillis();
+
+    long getMaxAlarmLatencyMillis();
 }
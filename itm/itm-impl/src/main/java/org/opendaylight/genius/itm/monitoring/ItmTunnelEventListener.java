@@ -20,7 +20,6 @@ import javax.management.JMException;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.genius.datastoreutils.AsyncDataTreeChangeListenerBase;
-import org.opendaylight.genius.itm.globals.ITMConstants;
 import org.opendaylight.genius.itm.impl.ItmUtils;
 import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.TunnelOperStatus;
@@ -37,18 +36,21 @@ public class ItmTunnelEventListener extends AsyncDataTreeChangeListenerBase<Stat
         ItmTunnelEventListener> implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(ItmTunnelEventListener.class);
+    private static final long DEFAULT_ALARM_COALESCING_WINDOW_MILLIS = 500;
 
     private final DataBroker broker;
-    private final JobCoordinator jobCoordinator;
+    private final TunnelAlarmQueue alarmQueue;
     private JMXAlarmAgent alarmAgent;
 
     @Inject
     public ItmTunnelEventListener(final DataBroker dataBroker, JobCoordinator jobCoordinator) {
         super(StateTunnelList.class, ItmTunnelEventListener.class);
         this.broker = dataBroker;
-        this.jobCoordinator = jobCoordinator;
+        this.alarmQueue = new TunnelAlarmQueue(jobCoordinator,
+                Long.getLong("itm.alarm.coalescing.window.ms", DEFAULT_ALARM_COALESCING_WINDOW_MILLIS));
         try {
             this.alarmAgent = new JMXAlarmAgent();
+            this.alarmAgent.setAlarmQueue(alarmQueue);
         } catch (JMException e) {
             LOG.error("Can not initialize the Alarm agent", e);
         }
@@ -67,6 +69,7 @@ public class ItmTunnelEventListener extends AsyncDataTreeChangeListenerBase<Stat
     @Override
     @PreDestroy
     public void close() {
+        alarmQueue.close();
         try {
             if (alarmAgent != null) {
                 alarmAgent.unregisterMbean();
@@ -100,8 +103,7 @@ public class ItmTunnelEventListener extends AsyncDataTreeChangeListenerBase<Stat
     protected void remove(InstanceIdentifier<StateTunnelList> identifier, StateTunnelList del) {
         LOG.trace("Tunnel Interface added: {}", del.getTunnelInterfaceName());
         ItmTunnelRemoveAlarmWorker itmTunnelRemoveAlarmWorker = new ItmTunnelRemoveAlarmWorker(del);
-        // For now, its all queued in one queue. If any delay in alarm being raised, queue based on interface Name
-        jobCoordinator.enqueueJob(ITMConstants.ITM_ALARM, itmTunnelRemoveAlarmWorker);
+        alarmQueue.enqueue(del.getTunnelInterfaceName(), itmTunnelRemoveAlarmWorker);
     }
 
     @Override
@@ -111,17 +113,23 @@ public class ItmTunnelEventListener extends AsyncDataTreeChangeListenerBase<Stat
         TunnelOperStatus operStatus = update.getOperState();
         if (!Objects.equals(original.getOperState(), update.getOperState())) {
             LOG.debug("Tunnel Interface {} changed state to {}", original.getTunnelInterfaceName(), operStatus);
-            ItmTunnelUpdateAlarmWorker itmTunnelUpdateAlarmWorker = new ItmTunnelUpdateAlarmWorker(original, update);
-            jobCoordinator.enqueueJob(ITMConstants.ITM_ALARM, itmTunnelUpdateAlarmWorker);
+            // Unknown neither raises nor clears the alarm, so it must not supersede a pending alarm worker
+            if (operStatus != TunnelOperStatus.Unknown) {
+                ItmTunnelUpdateAlarmWorker itmTunnelUpdateAlarmWorker =
+                        new ItmTunnelUpdateAlarmWorker(original, update);
+                alarmQueue.enqueue(update.getTunnelInterfaceName(), itmTunnelUpdateAlarmWorker);
+            }
         }
     }
 
     @Override
     protected void add(InstanceIdentifier<StateTunnelList> identifier, StateTunnelList add) {
         LOG.debug("Tunnel Interface of type Tunnel added: {}", add.getTunnelInterfaceName());
-        ItmTunnelAddAlarmWorker itmTunnelAddAlarmWorker = new ItmTunnelAddAlarmWorker(add);
-        // For now, its all queued in one queue. If any delay in alarm being raised, queue based on interface Name
-        jobCoordinator.enqueueJob(ITMConstants.ITM_ALARM, itmTunnelAddAlarmWorker);
+        // A tunnel added up neither raises nor clears the alarm, so it must not supersede a pending alarm worker
+        if (!isTunnelInterfaceUp(add)) {
+            ItmTunnelAddAlarmWorker itmTunnelAddAlarmWorker = new ItmTunnelAddAlarmWorker(add);
+            alarmQueue.enqueue(add.getTunnelInterfaceName(), itmTunnelAddAlarmWorker);
+        }
     }
 
     public void raiseInternalDataPathAlarm(String srcDpnId, String dstDpnId, String tunnelType, String alarmText) {
@@ -65,6 +65,10 @@ public class JMXAlarmAgent {
         }
     }
 
+    public void setAlarmQueue(TunnelAlarmQueue alarmQueue) {
+        alarmBean.setAlarmQueue(alarmQueue);
+    }
+
     public void invokeFMraisemethod(String alarmId, String text, String src) {
         try {
             mbs.invoke(alarmName, "raiseAlarm", new Object[] { alarmId, text, src },
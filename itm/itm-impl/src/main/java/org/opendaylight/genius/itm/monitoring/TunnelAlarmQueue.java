@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.monitoring;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.opendaylight.genius.itm.globals.ITMConstants;
+import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues the alarm workers of tunnels, one job queue per tunnel interface.
+ *
+ * <p>The alarm workers of a tunnel are coalesced within a window, and only the last one is run: a tunnel flapping
+ * within the window has its alarm raised or cleared once, according to its last state. Closing the queue queues the
+ * pending alarms right away, and so are the alarms of tunnels enqueued afterwards.
+ */
+public final class TunnelAlarmQueue implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TunnelAlarmQueue.class);
+
+    static final int ALARM_JOB_RETRIES = 3;
+
+    private final JobCoordinator jobCoordinator;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+
+    // Tunnel interface name -> alarm worker waiting for its window to end
+    private final ConcurrentMap<String, PendingAlarm> pendingAlarms = new ConcurrentHashMap<>();
+
+    private final AtomicLong backlogDepth = new AtomicLong();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public TunnelAlarmQueue(JobCoordinator jobCoordinator, long windowMillis) {
+        this(jobCoordinator, Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryProvider.builder().namePrefix("ITM-TunnelAlarmQueue").logger(LOG).build().get()),
+                windowMillis);
+    }
+
+    TunnelAlarmQueue(JobCoordinator jobCoordinator, ScheduledExecutorService scheduler, long windowMillis) {
+        this.jobCoordinator = jobCoordinator;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+    }
+
+    public void enqueue(String tunnelInterfaceName, Callable<List<ListenableFuture<Void>>> worker) {
+        PendingAlarm alarm = pendingAlarms.compute(tunnelInterfaceName,
+                (name, pending) -> pending == null ? new PendingAlarm(worker, System.nanoTime(), false)
+                        : new PendingAlarm(worker, pending.firstEventNanos, true));
+        if (alarm.coalesced) {
+            coalescedCount.increment();
+        } else {
+            backlogDepth.incrementAndGet();
+            try {
+                scheduler.schedule(() -> dispatch(tunnelInterfaceName), windowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // closed
+                dispatch(tunnelInterfaceName);
+            }
+        }
+    }
+
+    private void dispatch(String tunnelInterfaceName) {
+        PendingAlarm alarm = pendingAlarms.remove(tunnelInterfaceName);
+        if (alarm == null) {
+            // already dispatched by close()
+            return;
+        }
+        AtomicInteger attempts = new AtomicInteger();
+        jobCoordinator.enqueueJob(ITMConstants.ITM_ALARM + ":" + tunnelInterfaceName,
+            () -> runWorker(alarm, attempts), ALARM_JOB_RETRIES);
+    }
+
+    /**
+     * Runs an attempt of the job of an alarm. The alarm leaves the backlog once its job is over: when an attempt
+     * succeeds, when the worker throws, which is not retried, or when the last attempt fails.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private List<ListenableFuture<Void>> runWorker(PendingAlarm alarm, AtomicInteger attempts) throws Exception {
+        List<ListenableFuture<Void>> futures;
+        try {
+            futures = alarm.worker.call();
+        } catch (Exception e) {
+            processed(alarm);
+            throw e;
+        }
+        if (futures == null || futures.isEmpty()) {
+            processed(alarm);
+            return futures;
+        }
+        Futures.addCallback(Futures.allAsList(futures), new FutureCallback<List<Void>>() {
+            @Override
+            public void onSuccess(List<Void> result) {
+                processed(alarm);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                if (attempts.incrementAndGet() > ALARM_JOB_RETRIES) {
+                    processed(alarm);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        return futures;
+    }
+
+    private void processed(PendingAlarm alarm) {
+        long latencyNanos = System.nanoTime() - alarm.firstEventNanos;
+        backlogDepth.decrementAndGet();
+        processedCount.increment();
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /**
+     * Returns the number of tunnels with an alarm waiting for its window to end or for its job to be over.
+     */
+    public long getBacklogDepth() {
+        return backlogDepth.get();
+    }
+
+    /**
+     * Returns the number of alarm workers superseded by a later one of the same tunnel within the window.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getProcessedCount() {
+        return processedCount.sum();
+    }
+
+    /**
+     * Returns the average time from the first event of an alarm to the end of its job, in milliseconds.
+     */
+    public long getAverageLatencyMillis() {
+        long processed = processedCount.sum();
+        return processed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.sum() / processed);
+    }
+
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        // The alarms still within their window are not dropped, so the alarm states match the tunnel states
+        LOG.debug("Queueing {} pending tunnel alarms on close", pendingAlarms.size());
+        pendingAlarms.keySet().forEach(this::dispatch);
+    }
+
+    private static final class PendingAlarm {
+        final Callable<List<ListenableFuture<Void>>> worker;
+        final long firstEventNanos;
+        // Whether the alarm supersedes an earlier one of the same tunnel, already scheduled for dispatch
+        final boolean coalesced;
+
+        PendingAlarm(Callable<List<ListenableFuture<Void>>> worker, long firstEventNanos, boolean coalesced) {
+            this.worker = worker;
+            this.firstEventNanos = firstEventNanos;
+            this.coalesced = coalesced;
+        }
+    }
+}
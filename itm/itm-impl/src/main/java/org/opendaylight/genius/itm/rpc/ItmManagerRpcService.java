@@ -408,44 +408,38 @@ public class ItmManagerRpcService implements ItmRpcService {
             resultBld = RpcResultBuilder.success();
             resultBld.withResult(output.build()) ;
         } else {
-            List<DPNTEPsInfo> meshedDpnList = ItmUtils.getTunnelMeshInfo(dataBroker);
-            if (meshedDpnList == null) {
-                LOG.error("There are no tunnel mesh info in config DS");
+            // Look for external tunnels if not look for internal tunnel
+            DPNTEPsInfo teps = ItmUtils.getDpnByFirstTepIp(dataBroker, dstIp);
+            if (teps == null) {
+                LOG.error("There is no tunnel mesh info in config DS for destination IP {}", dstIp);
                 return Futures.immediateFuture(resultBld.build());
             }
-            // Look for external tunnels if not look for internal tunnel
-            for (DPNTEPsInfo teps : meshedDpnList) {
-                TunnelEndPoints firstEndPt = teps.getTunnelEndPoints().get(0);
-                if (dstIp.equals(firstEndPt.getIpAddress())) {
-                    Optional<InternalTunnel> optTunnel = Optional.absent();
-                    if (ItmUtils.isTunnelAggregationUsed(input.getTunnelType())) {
-                        optTunnel = ItmUtils.getInternalTunnelFromDS(srcDpn, teps.getDPNID(),
-                                                                     TunnelTypeLogicalGroup.class, dataBroker);
-                        LOG.debug("MULTIPLE_VxLAN_TUNNELS: getInternalOrExternalInterfaceName {}", optTunnel);
-                    }
-                    if (!optTunnel.isPresent()) {
-                        optTunnel = ItmUtils.getInternalTunnelFromDS(srcDpn, teps.getDPNID(),
-                                                                     input.getTunnelType(), dataBroker);
-                    }
-                    if (optTunnel.isPresent()) {
-                        InternalTunnel tunnel = optTunnel.get();
-                        List<String> tunnelInterfaces = tunnel.getTunnelInterfaceNames();
-                        if (tunnelInterfaces != null && !tunnelInterfaces.isEmpty()) {
-                            GetInternalOrExternalInterfaceNameOutputBuilder
-                                    output =
-                                    new GetInternalOrExternalInterfaceNameOutputBuilder()
-                                            .setInterfaceName(tunnelInterfaces.get(0));
-                            resultBld = RpcResultBuilder.success();
-                            resultBld.withResult(output.build());
-                        } else {
-                            LOG.error("No tunnel interface found between source DPN {} ans destination IP {}", srcDpn,
-                                    dstIp);
-                        }
-                        break;
-                    } else {
-                        LOG.error("Tunnel not found for source DPN {} ans destination IP {}", srcDpn, dstIp);
-                    }
+            Optional<InternalTunnel> optTunnel = Optional.absent();
+            if (ItmUtils.isTunnelAggregationUsed(input.getTunnelType())) {
+                optTunnel = ItmUtils.getInternalTunnelFromDS(srcDpn, teps.getDPNID(),
+                                                             TunnelTypeLogicalGroup.class, dataBroker);
+                LOG.debug("MULTIPLE_VxLAN_TUNNELS: getInternalOrExternalInterfaceName {}", optTunnel);
+            }
+            if (!optTunnel.isPresent()) {
+                optTunnel = ItmUtils.getInternalTunnelFromDS(srcDpn, teps.getDPNID(),
+                                                             input.getTunnelType(), dataBroker);
+            }
+            if (optTunnel.isPresent()) {
+                InternalTunnel tunnel = optTunnel.get();
+                List<String> tunnelInterfaces = tunnel.getTunnelInterfaceNames();
+                if (tunnelInterfaces != null && !tunnelInterfaces.isEmpty()) {
+                    GetInternalOrExternalInterfaceNameOutputBuilder
+                            output =
+                            new GetInternalOrExternalInterfaceNameOutputBuilder()
+                                    .setInterfaceName(tunnelInterfaces.get(0));
+                    resultBld = RpcResultBuilder.success();
+                    resultBld.withResult(output.build());
+                } else {
+                    LOG.error("No tunnel interface found between source DPN {} ans destination IP {}", srcDpn,
+                            dstIp);
                 }
+            } else {
+                LOG.error("Tunnel not found for source DPN {} ans destination IP {}", srcDpn, dstIp);
             }
         }
         return Futures.immediateFuture(resultBld.build());
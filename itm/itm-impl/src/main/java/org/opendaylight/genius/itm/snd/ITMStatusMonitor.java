@@ -8,6 +8,7 @@
 package org.opendaylight.genius.itm.snd;
 
 import java.lang.management.ManagementFactory;
+import java.util.Map;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanRegistrationException;
@@ -15,6 +16,7 @@ import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
+import org.opendaylight.genius.itm.impl.ItmUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,6 +71,11 @@ public class ITMStatusMonitor implements ITMStatusMonitorMBean {
         return serviceStatus;
     }
 
+    @Override
+    public Map<String, String> retrieveDpnTepsIndexCounterMap() {
+        return ItmUtils.DPN_TEPS_INDEX.getCounterMap();
+    }
+
     public void reportStatus(@SuppressWarnings("hiding") String serviceStatus) {
         this.serviceStatus = serviceStatus;
     }
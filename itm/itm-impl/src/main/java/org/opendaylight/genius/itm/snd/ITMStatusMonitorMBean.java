@@ -7,7 +7,14 @@
  */
 package org.opendaylight.genius.itm.snd;
 
+import java.util.Map;
+
 public interface ITMStatusMonitorMBean {
 
     String acquireServiceStatus();
+
+    /**
+     * Returns the hit and miss counts of the DPN TEPs index, by counter name.
+     */
+    Map<String, String> retrieveDpnTepsIndexCounterMap();
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.confighelpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfoBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfoKey;
+
+public class ItmTepChangeAggregatorTest {
+
+    private static final String ZONE = "TZA";
+
+    private final JobCoordinator jobCoordinator = mock(JobCoordinator.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<String> ranJobs = new ArrayList<>();
+    private final ItmTepChangeAggregator aggregator = new ItmTepChangeAggregator(jobCoordinator, scheduler, 200,
+        dpns -> job("add " + dpns.size()),
+        (dpns, tzOld) -> job("remove " + dpns.size()));
+
+    @Before
+    public void setUp() {
+        doAnswer(invocation -> ((Callable<?>) invocation.getArguments()[1]).call()).when(jobCoordinator)
+                .enqueueJob(anyString(), any(Callable.class));
+    }
+
+    @Test
+    public void testConsecutiveChangesAreAggregatedInOrder() {
+        aggregator.addTeps(ZONE, Collections.singletonList(dpn(1)));
+        aggregator.addTeps(ZONE, Collections.singletonList(dpn(2)));
+        aggregator.addTeps(ZONE, Collections.singletonList(dpn(3)));
+        aggregator.removeTeps(ZONE, Collections.singletonList(dpn(1)), null);
+        aggregator.enqueueJob(ZONE, job("hardware VTEPs"));
+        aggregator.addTeps(ZONE, Collections.singletonList(dpn(1)));
+        verify(jobCoordinator, never()).enqueueJob(anyString(), any(Callable.class));
+
+        ArgumentCaptor<Runnable> windowEnd = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(windowEnd.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        windowEnd.getValue().run();
+
+        assertEquals(4, ranJobs.size());
+        assertEquals("add 3", ranJobs.get(0));
+        assertEquals("remove 1", ranJobs.get(1));
+        assertEquals("hardware VTEPs", ranJobs.get(2));
+        assertEquals("add 1", ranJobs.get(3));
+    }
+
+    @Test
+    public void testJobWithoutPendingChangesIsQueuedRightAway() {
+        aggregator.enqueueJob(ZONE, job("hardware VTEPs"));
+        assertEquals(Collections.singletonList("hardware VTEPs"), ranJobs);
+    }
+
+    @Test
+    public void testPendingChangesAreQueuedOnClose() {
+        aggregator.addTeps(ZONE, Collections.singletonList(dpn(1)));
+        aggregator.removeTeps(ZONE, Collections.singletonList(dpn(2)), null);
+        aggregator.close();
+        verify(scheduler).shutdownNow();
+        assertEquals(Arrays.asList("add 1", "remove 1"), ranJobs);
+
+        // the window end, had it already started running, finds nothing left to queue
+        ArgumentCaptor<Runnable> windowEnd = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(windowEnd.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        windowEnd.getValue().run();
+        assertEquals(2, ranJobs.size());
+    }
+
+    private Callable<List<ListenableFuture<Void>>> job(String name) {
+        return () -> {
+            ranJobs.add(name);
+            return Collections.emptyList();
+        };
+    }
+
+    private static DPNTEPsInfo dpn(long dpnId) {
+        BigInteger dpId = BigInteger.valueOf(dpnId);
+        return new DPNTEPsInfoBuilder().setDPNID(dpId).setKey(new DPNTEPsInfoKey(dpId)).build();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.genius.itm.impl.DpnTepsIndex.View;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rev160406.TunnelTypeVxlan;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfoBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfoKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.dpn.teps.info.TunnelEndPoints;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.dpn.teps.info.TunnelEndPointsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.dpn.teps.info.tunnel.end.points.TzMembership;
+
+public class DpnTepsIndexTest {
+
+    private final DpnTepsIndex index = new DpnTepsIndex();
+
+    @Test
+    public void testMeshIsOnlyReadWhenMaintained() {
+        assertNull(index.getMeshedDpns());
+        index.setMaintained(true);
+        assertTrue(index.getMeshedDpns().isEmpty());
+        assertEquals(1, index.getHitCount(View.MESH));
+        assertEquals(1, index.getMissCount(View.MESH));
+    }
+
+    @Test
+    public void testLookupsFollowChanges() {
+        index.setMaintained(true);
+        DPNTEPsInfo dpn1 = dpn(1, tep("10.0.0.1", "TZA"), tep("10.0.1.1", "TZA", "TZB"));
+        DPNTEPsInfo dpn2 = dpn(2, tep("10.0.0.2", "TZB"));
+        index.put(dpn1);
+        index.put(dpn2);
+
+        List<DPNTEPsInfo> snapshot = index.getMeshedDpns();
+        assertEquals(Arrays.asList(dpn1, dpn2), snapshot);
+        assertSame(dpn1, index.getDpn(BigInteger.valueOf(1)));
+        assertSame(dpn1, index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.0.1")));
+        assertSame(dpn2, index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.0.2")));
+
+        index.remove(BigInteger.valueOf(1));
+        assertNull(index.getDpn(BigInteger.valueOf(1)));
+        assertNull(index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.0.1")));
+        // snapshots already handed out are unchanged
+        assertEquals(2, snapshot.size());
+        assertEquals(1, index.size());
+
+        assertEquals(1, index.getHitCount(View.DPN));
+        assertEquals(1, index.getMissCount(View.DPN));
+        assertEquals(2, index.getHitCount(View.FIRST_TEP_IP));
+        assertEquals(1, index.getMissCount(View.FIRST_TEP_IP));
+    }
+
+    @Test
+    public void testOnlyTheFirstTepOfADpnIsLookedUp() {
+        index.setMaintained(true);
+        DPNTEPsInfo dpn1 = dpn(1, tep("10.0.0.1", "TZA"), tep("10.0.1.1", "TZB"));
+        index.put(dpn1);
+
+        assertSame(dpn1, index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.0.1")));
+        assertNull(index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.1.1")));
+    }
+
+    @Test
+    public void testUpdateMovesTheFirstTepIpAddress() {
+        index.setMaintained(true);
+        index.put(dpn(1, tep("10.0.0.1", "TZA"), tep("10.0.1.1", "TZB")));
+        DPNTEPsInfo updated = dpn(1, tep("10.0.0.1", "TZA"), tep("10.0.2.1", "TZB"));
+        index.put(updated);
+        assertSame(updated, index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.0.1")));
+
+        DPNTEPsInfo moved = dpn(1, tep("10.0.2.1", "TZB"));
+        index.put(moved);
+        assertSame(moved, index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.2.1")));
+        assertNull(index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.0.1")));
+        assertEquals(Collections.singletonList(moved), index.getMeshedDpns());
+
+        index.clear();
+        assertNull(index.getDpnByFirstTepIp(IpAddressBuilder.getDefaultInstance("10.0.2.1")));
+        assertTrue(index.getMeshedDpns().isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    private static DPNTEPsInfo dpn(long dpnId, TunnelEndPoints... teps) {
+        BigInteger dpId = BigInteger.valueOf(dpnId);
+        return new DPNTEPsInfoBuilder().setDPNID(dpId).setKey(new DPNTEPsInfoKey(dpId))
+                .setTunnelEndPoints(new ArrayList<>(Arrays.asList(teps))).build();
+    }
+
+    private static TunnelEndPoints tep(String ip, String... zoneNames) {
+        List<TzMembership> zones = new ArrayList<>();
+        for (String zoneName : zoneNames) {
+            ItmUtils.addTransportZoneMembership(zones, zoneName);
+        }
+        return new TunnelEndPointsBuilder().setIpAddress(IpAddressBuilder.getDefaultInstance(ip))
+                .setPortname("phy0").setVLANID(0).setTunnelType(TunnelTypeVxlan.class).setTzMembership(zones)
+                .build();
+    }
+}
@@ -8,6 +8,10 @@
 
 package org.opendaylight.genius.itm.impl;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 
@@ -16,6 +20,7 @@ import com.google.common.util.concurrent.Futures;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import org.junit.After;
 import org.junit.Before;
@@ -224,6 +229,9 @@ public class ItmInternalTunnelAddTest {
         doReturn(mockReadTx).when(dataBroker).newReadOnlyTransaction();
         doReturn(mockWriteTx).when(dataBroker).newWriteOnlyTransaction();
         doReturn(Futures.immediateCheckedFuture(null)).when(mockWriteTx).submit();
+        // Run the jobs wiring up the tunnels right away
+        doAnswer(invocation -> ((Callable<?>) invocation.getArguments()[1]).call()).when(jobCoordinator)
+                .enqueueJob(anyString(), any(Callable.class), anyInt());
     }
 
     @Test
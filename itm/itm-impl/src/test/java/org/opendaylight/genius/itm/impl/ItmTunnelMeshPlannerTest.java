@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.genius.itm.confighelpers.ItmTunnelMeshPlanner;
+import org.opendaylight.genius.itm.confighelpers.ItmTunnelMeshPlanner.TunnelPair;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.interfacemanager.rev160406.TunnelTypeVxlan;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfo;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfoBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.DPNTEPsInfoKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.dpn.teps.info.TunnelEndPoints;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.dpn.teps.info.TunnelEndPointsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.itm.op.rev160406.dpn.endpoints.dpn.teps.info.tunnel.end.points.TzMembership;
+
+public class ItmTunnelMeshPlannerTest {
+
+    private static final String TZ_A = "TZA";
+    private static final String TZ_B = "TZB";
+
+    @Test
+    public void testOnlyDpnsSharingATransportZoneAreMeshed() {
+        DPNTEPsInfo dpn1 = dpn(1, tep("10.0.0.1", TZ_A));
+        DPNTEPsInfo dpn2 = dpn(2, tep("10.0.0.2", TZ_A));
+        DPNTEPsInfo dpn3 = dpn(3, tep("10.0.0.3", TZ_B));
+        ItmTunnelMeshPlanner planner = new ItmTunnelMeshPlanner(Arrays.asList(dpn1, dpn2, dpn3));
+
+        List<TunnelPair> pairs = planner.planTunnelsFrom(dpn(4, tep("10.0.0.4", TZ_A)), false);
+
+        assertEquals(2, pairs.size());
+        assertEquals(BigInteger.valueOf(1), pairs.get(0).getDstDpnId());
+        assertEquals(BigInteger.valueOf(2), pairs.get(1).getDstDpnId());
+    }
+
+    @Test
+    public void testFirstTepOfEachDpnUnlessAllTeps() {
+        DPNTEPsInfo dpn1 = dpn(1, tep("10.0.0.1", TZ_A), tep("10.0.1.1", TZ_A, TZ_B));
+        ItmTunnelMeshPlanner planner = new ItmTunnelMeshPlanner(Arrays.asList(dpn1));
+        DPNTEPsInfo dpn2 = dpn(2, tep("10.0.0.2", TZ_A, TZ_B));
+
+        List<TunnelPair> pairs = planner.planTunnelsFrom(dpn2, false);
+        assertEquals(1, pairs.size());
+        assertEquals("10.0.0.1", new String(pairs.get(0).getDstTep().getIpAddress().getValue()));
+
+        // a TEP in several shared transport zones is still a single tunnel
+        assertEquals(2, planner.planTunnelsFrom(dpn2, true).size());
+    }
+
+    @Test
+    public void testAddedAndRemovedTeps() {
+        ItmTunnelMeshPlanner planner = new ItmTunnelMeshPlanner(null);
+        DPNTEPsInfo dpn1 = dpn(1, tep("10.0.0.1", TZ_A));
+        assertTrue(planner.planTunnelsFrom(dpn1, false).isEmpty());
+        planner.addToMesh(dpn1);
+
+        DPNTEPsInfo dpn2 = dpn(2, tep("10.0.0.2", TZ_A));
+        assertEquals(1, planner.planTunnelsFrom(dpn2, false).size());
+
+        planner.removeFromMesh(BigInteger.valueOf(1), dpn1.getTunnelEndPoints().get(0));
+        assertTrue(planner.planTunnelsFrom(dpn2, false).isEmpty());
+    }
+
+    private static DPNTEPsInfo dpn(long dpnId, TunnelEndPoints... teps) {
+        BigInteger dpId = BigInteger.valueOf(dpnId);
+        return new DPNTEPsInfoBuilder().setDPNID(dpId).setKey(new DPNTEPsInfoKey(dpId))
+                .setTunnelEndPoints(new ArrayList<>(Arrays.asList(teps))).build();
+    }
+
+    private static TunnelEndPoints tep(String ip, String... zoneNames) {
+        List<TzMembership> zones = new ArrayList<>();
+        for (String zoneName : zoneNames) {
+            ItmUtils.addTransportZoneMembership(zones, zoneName);
+        }
+        return new TunnelEndPointsBuilder().setIpAddress(IpAddressBuilder.getDefaultInstance(ip))
+                .setPortname("phy0").setVLANID(0).setTunnelType(TunnelTypeVxlan.class).setTzMembership(zones)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.UUID;
+import org.junit.Test;
+import org.opendaylight.genius.itm.globals.ITMConstants;
+
+public class TunnelNameRegistryTest {
+
+    private static final String PARENT = "phy0";
+    private static final String LOCAL = "10.0.0.1";
+    private static final String REMOTE = "10.0.0.2";
+
+    private final TunnelNameRegistry registry = new TunnelNameRegistry();
+
+    @Test
+    public void testNamesAreUnchanged() {
+        String key = PARENT + ":" + LOCAL + ":" + REMOTE + ":" + ITMConstants.TUNNEL_TYPE_VXLAN;
+        String expectedName = "tun" + UUID.nameUUIDFromBytes(key.getBytes()).toString().substring(0, 12)
+                .replace("-", "");
+        assertEquals(expectedName, registry.getName(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_VXLAN));
+        assertNotEquals(expectedName, registry.getName(PARENT, REMOTE, LOCAL, ITMConstants.TUNNEL_TYPE_VXLAN));
+    }
+
+    @Test
+    public void testNamesAreMemoizedUntilReleased() {
+        String name = registry.getName(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_GRE);
+        assertSame(name, registry.getName(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_GRE));
+        assertEquals(1, registry.size());
+
+        TunnelNameRegistry.TunnelKey key = registry.getKey(name);
+        assertEquals(LOCAL, key.getLocalHostName());
+        assertEquals(REMOTE, key.getRemoteHostName());
+        assertEquals(ITMConstants.TUNNEL_TYPE_GRE, key.getTunnelType());
+
+        registry.release(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_GRE);
+        assertNull(registry.getKey(name));
+        assertEquals(0, registry.size());
+        assertEquals(name, registry.getName(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_GRE));
+    }
+
+    @Test
+    public void testLookupDoesNotRegisterNames() {
+        String name = registry.lookupName(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_VXLAN);
+        assertEquals(0, registry.size());
+        assertNull(registry.getKey(name));
+        assertEquals(name, registry.getName(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_VXLAN));
+        assertSame(registry.getName(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_VXLAN),
+                registry.lookupName(PARENT, LOCAL, REMOTE, ITMConstants.TUNNEL_TYPE_VXLAN));
+    }
+}
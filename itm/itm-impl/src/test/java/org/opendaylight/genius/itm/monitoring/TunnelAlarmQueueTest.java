@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.itm.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.genius.itm.globals.ITMConstants;
+import org.opendaylight.infrautils.jobcoordinator.JobCoordinator;
+
+public class TunnelAlarmQueueTest {
+
+    private static final String TUNNEL_1 = "tun1";
+    private static final String TUNNEL_2 = "tun2";
+
+    private final JobCoordinator jobCoordinator = mock(JobCoordinator.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final TunnelAlarmQueue alarmQueue = new TunnelAlarmQueue(jobCoordinator, scheduler, 500);
+    private final List<String> ranWorkers = new ArrayList<>();
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testAlarmsOfATunnelAreCoalescedWithinTheWindow() throws Exception {
+        alarmQueue.enqueue(TUNNEL_1, worker("raise"));
+        alarmQueue.enqueue(TUNNEL_1, worker("clear"));
+        alarmQueue.enqueue(TUNNEL_1, worker("raise again"));
+        alarmQueue.enqueue(TUNNEL_2, worker("raise 2"));
+        assertEquals(2, alarmQueue.getBacklogDepth());
+        assertEquals(2, alarmQueue.getCoalescedCount());
+
+        ArgumentCaptor<Runnable> windowEnds = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(2)).schedule(windowEnds.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        windowEnds.getAllValues().forEach(Runnable::run);
+
+        ArgumentCaptor<Callable> jobs = ArgumentCaptor.forClass(Callable.class);
+        verify(jobCoordinator).enqueueJob(eq(ITMConstants.ITM_ALARM + ":" + TUNNEL_1), jobs.capture(), anyInt());
+        verify(jobCoordinator).enqueueJob(eq(ITMConstants.ITM_ALARM + ":" + TUNNEL_2), jobs.capture(), anyInt());
+        for (Callable<?> job : jobs.getAllValues()) {
+            job.call();
+        }
+        assertEquals(2, ranWorkers.size());
+        assertEquals("raise again", ranWorkers.get(0));
+        assertEquals("raise 2", ranWorkers.get(1));
+        assertEquals(0, alarmQueue.getBacklogDepth());
+        assertEquals(2, alarmQueue.getProcessedCount());
+    }
+
+    @Test
+    public void testAlarmAfterTheWindowIsScheduledAgain() {
+        alarmQueue.enqueue(TUNNEL_1, worker("raise"));
+        ArgumentCaptor<Runnable> windowEnd = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(windowEnd.capture(), anyLong(), any(TimeUnit.class));
+        windowEnd.getValue().run();
+
+        alarmQueue.enqueue(TUNNEL_1, worker("clear"));
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        assertEquals(0, alarmQueue.getCoalescedCount());
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testPendingAlarmsAreQueuedOnClose() throws Exception {
+        alarmQueue.enqueue(TUNNEL_1, worker("raise"));
+        alarmQueue.enqueue(TUNNEL_1, worker("clear"));
+        alarmQueue.close();
+        verify(scheduler).shutdownNow();
+
+        ArgumentCaptor<Callable> job = ArgumentCaptor.forClass(Callable.class);
+        verify(jobCoordinator).enqueueJob(eq(ITMConstants.ITM_ALARM + ":" + TUNNEL_1), job.capture(), anyInt());
+        job.getValue().call();
+        assertEquals(Collections.singletonList("clear"), ranWorkers);
+
+        // the window end of the alarm, had it already started running, finds nothing left to queue
+        ArgumentCaptor<Runnable> windowEnd = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(windowEnd.capture(), anyLong(), any(TimeUnit.class));
+        windowEnd.getValue().run();
+        verify(jobCoordinator, times(1)).enqueueJob(any(String.class), any(Callable.class), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testAlarmLeavesTheBacklogOnceItsJobIsOver() throws Exception {
+        alarmQueue.enqueue(TUNNEL_1, () -> {
+            ranWorkers.add("raise");
+            return Collections.singletonList(Futures.immediateFailedFuture(new IllegalStateException("failed")));
+        });
+        alarmQueue.close();
+
+        ArgumentCaptor<Callable> job = ArgumentCaptor.forClass(Callable.class);
+        verify(jobCoordinator).enqueueJob(any(String.class), job.capture(),
+                eq(TunnelAlarmQueue.ALARM_JOB_RETRIES));
+        // the failed attempts are retried by the job coordinator, the alarm stays in the backlog until the last one
+        for (int attempt = 0; attempt < TunnelAlarmQueue.ALARM_JOB_RETRIES; attempt++) {
+            job.getValue().call();
+            assertEquals(1, alarmQueue.getBacklogDepth());
+        }
+        job.getValue().call();
+        assertEquals(0, alarmQueue.getBacklogDepth());
+        assertEquals(1, alarmQueue.getProcessedCount());
+        assertEquals(TunnelAlarmQueue.ALARM_JOB_RETRIES + 1, ranWorkers.size());
+    }
+
+    private Callable<List<ListenableFuture<Void>>> worker(String name) {
+        return () -> {
+            ranWorkers.add(name);
+            return null;
+        };
+    }
+}
@@ -7,8 +7,6 @@
  */
 package org.opendaylight.genius.lockmanager.impl;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.concurrent.CompletableFuture;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
@@ -39,18 +37,10 @@ public class LockListener extends AsyncClusteredDataTreeChangeListenerBase<Lock,
     }
 
     @Override
-    @SuppressFBWarnings("NP_NONNULL_PARAM_VIOLATION")
     protected void remove(InstanceIdentifier<Lock> key, Lock remove) {
         String lockName = remove.getLockName();
         LOG.debug("Received remove for lock {} : {}", lockName, remove);
-        CompletableFuture<Void> lock = lockManager.getSynchronizerForLock(lockName);
-        if (lock != null) {
-            // FindBugs flags a false violation here - "passes a null value as the parameter of a method which must be
-            // non-null. Either this parameter has been explicitly marked as @Nonnull, or analysis has determined that
-            // this parameter is always dereferenced.". However neither is true. The type param is Void so you have to
-            // pas null.
-            lock.complete(null);
-        }
+        lockManager.lockRemoved(lockName);
     }
 
     @Override
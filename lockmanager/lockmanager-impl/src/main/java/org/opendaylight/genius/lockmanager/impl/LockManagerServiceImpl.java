@@ -11,19 +11,25 @@ package org.opendaylight.genius.lockmanager.impl;
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.Futures;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.Locale;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.OptimisticLockFailedException;
+import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.LockManagerService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.genius.lockmanager.rev160413.TryLockInput;
@@ -36,29 +42,80 @@ import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Cluster wide named locks, backed by {@link Lock} entries in the operational datastore.
+ *
+ * <p>In the {@link Mode#LEASE} and {@link Mode#LOCAL} modes, set through the {@code lockmanager.mode} system
+ * property, locks are first taken in a local table of per lock name permits. In {@link Mode#LEASE} mode the
+ * datastore {@link Lock} entry is then held as a lease on behalf of all local holders, for at least
+ * {@code lockmanager.lease.ms} (default 500): while the lease is held, local threads lock and unlock without
+ * any datastore access. {@link Mode#LOCAL} mode never uses the datastore and is only safe on a single node.
+ */
 @Singleton
 public class LockManagerServiceImpl implements LockManagerService {
 
+    public enum Mode {
+        /** Every lock and unlock reads and writes the datastore. */
+        DATASTORE,
+        /** Locks are granted locally while this node holds the datastore lock as a lease. */
+        LEASE,
+        /** Locks are only granted locally, for single node deployments. */
+        LOCAL
+    }
+
     private static final int DEFAULT_NUMBER_LOCKING_ATTEMPS = 30;
     private static final int DEFAULT_RETRY_COUNT = 3;
     private static final int DEFAULT_WAIT_TIME_IN_MILLIS = 1000;
 
-    private final ConcurrentHashMap<String, CompletableFuture<Void>> lockSynchronizerMap =
-            new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LockWaitQueue> waitQueues = new ConcurrentHashMap<>();
+    private final LockWaitStatistics waitStatistics = new LockWaitStatistics();
 
     private static final Logger LOG = LoggerFactory.getLogger(LockManagerServiceImpl.class);
 
     private final DataBroker broker;
+    private final Mode mode;
+    private final long leaseNanos;
+    private final ConcurrentHashMap<String, LocalLock> localLocks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leaseScheduler;
 
     @Inject
     public LockManagerServiceImpl(final DataBroker dataBroker) {
+        this(dataBroker, parseMode(System.getProperty("lockmanager.mode", "datastore")),
+                Long.getLong("lockmanager.lease.ms", 500));
+    }
+
+    static Mode parseMode(String mode) {
+        try {
+            return Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Unknown lockmanager.mode {}, using the datastore instead", mode);
+            return Mode.DATASTORE;
+        }
+    }
+
+    public LockManagerServiceImpl(final DataBroker dataBroker, Mode mode, long leaseMillis) {
         this.broker = dataBroker;
+        this.mode = mode;
+        this.leaseNanos = TimeUnit.MILLISECONDS.toNanos(leaseMillis);
+        this.leaseScheduler = mode == Mode.LEASE ? Executors.newSingleThreadScheduledExecutor(
+                ThreadFactoryProvider.builder().namePrefix("LockManager-Lease").logger(LOG).build().get()) : null;
+        LOG.info("{} started in {} mode", getClass().getSimpleName(), mode);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (leaseScheduler != null) {
+            leaseScheduler.shutdownNow();
+        }
     }
 
     @Override
     public Future<RpcResult<Void>> lock(LockInput input) {
         String lockName = input.getLockName();
         LOG.debug("Locking {}", lockName);
+        if (mode != Mode.DATASTORE) {
+            return lockLocally(lockName);
+        }
         InstanceIdentifier<Lock> lockInstanceIdentifier = LockManagerUtils.getLockInstanceIdentifier(lockName);
         Lock lockData = LockManagerUtils.buildLockData(lockName);
         try {
@@ -82,6 +139,9 @@ public class LockManagerServiceImpl implements LockManagerService {
                 : LockManagerUtils.convertToTimeUnit(input.getTimeUnit());
         waitTime = timeUnit.toMillis(waitTime);
         long retryCount = waitTime / DEFAULT_WAIT_TIME_IN_MILLIS;
+        if (mode != Mode.DATASTORE) {
+            return tryLockLocally(lockName, waitTime, retryCount);
+        }
         InstanceIdentifier<Lock> lockInstanceIdentifier = LockManagerUtils.getLockInstanceIdentifier(lockName);
         Lock lockData = LockManagerUtils.buildLockData(lockName);
 
@@ -105,19 +165,21 @@ public class LockManagerServiceImpl implements LockManagerService {
     public Future<RpcResult<Void>> unlock(UnlockInput input) {
         String lockName = input.getLockName();
         LOG.debug("Unlocking {}", lockName);
-        InstanceIdentifier<Lock> lockInstanceIdentifier = LockManagerUtils.getLockInstanceIdentifier(lockName);
+        if (mode != Mode.DATASTORE) {
+            LocalLock localLock = localLocks.get(lockName);
+            if (localLock != null && localLock.locked.compareAndSet(true, false)) {
+                return unlockLocally(lockName, localLock);
+            }
+            if (mode == Mode.LOCAL || localLock != null && localLock.leaseHeld) {
+                // never delete our own lease, other nodes could then take the lock while local threads hold it
+                LOG.debug("unlock ignored, as unnecessary; lock is already unlocked: {}", lockName);
+                return RpcResultBuilder.<Void>success().buildFuture();
+            }
+        }
 
         RpcResultBuilder<Void> lockRpcBuilder;
         try {
-            ReadWriteTransaction tx = broker.newReadWriteTransaction();
-            Optional<Lock> result = tx.read(LogicalDatastoreType.OPERATIONAL, lockInstanceIdentifier).get();
-            if (!result.isPresent()) {
-                LOG.debug("unlock ignored, as unnecessary; lock is already unlocked: {}", lockName);
-                tx.cancel();
-            } else {
-                tx.delete(LogicalDatastoreType.OPERATIONAL, lockInstanceIdentifier);
-                tx.submit().get();
-            }
+            deleteLock(lockName);
             lockRpcBuilder = RpcResultBuilder.success();
         } catch (InterruptedException | ExecutionException e) {
             LOG.error("unlock() failed: {}", lockName, e);
@@ -127,8 +189,166 @@ public class LockManagerServiceImpl implements LockManagerService {
         return lockRpcBuilder.buildFuture();
     }
 
-    public CompletableFuture<Void> getSynchronizerForLock(String lockName) {
-        return lockSynchronizerMap.get(lockName);
+    private void deleteLock(String lockName) throws InterruptedException, ExecutionException {
+        InstanceIdentifier<Lock> lockInstanceIdentifier = LockManagerUtils.getLockInstanceIdentifier(lockName);
+        ReadWriteTransaction tx = broker.newReadWriteTransaction();
+        Optional<Lock> result = tx.read(LogicalDatastoreType.OPERATIONAL, lockInstanceIdentifier).get();
+        if (!result.isPresent()) {
+            LOG.debug("unlock ignored, as unnecessary; lock is already unlocked: {}", lockName);
+            tx.cancel();
+        } else {
+            tx.delete(LogicalDatastoreType.OPERATIONAL, lockInstanceIdentifier);
+            tx.submit().get();
+        }
+    }
+
+    private Future<RpcResult<Void>> lockLocally(String lockName) {
+        LocalLock localLock = useLocalLock(lockName);
+        try {
+            localLock.permit.acquire();
+        } catch (InterruptedException e) {
+            releaseLocalLock(lockName);
+            LOG.error("Failed to get lock {}", lockName, e);
+            return RpcResultBuilder.<Void>failed().buildFuture();
+        }
+        try {
+            if (mode == Mode.LEASE && !localLock.leaseHeld) {
+                getLock(LockManagerUtils.getLockInstanceIdentifier(lockName), LockManagerUtils.buildLockData(lockName));
+                acquiredLease(lockName, localLock);
+            }
+        } catch (InterruptedException e) {
+            localLock.permit.release();
+            releaseLocalLock(lockName);
+            LOG.error("Failed to get lock {}", lockName, e);
+            return RpcResultBuilder.<Void>failed().buildFuture();
+        }
+        localLock.locked.set(true);
+        LOG.debug("Acquired lock {}", lockName);
+        return RpcResultBuilder.<Void>success().buildFuture();
+    }
+
+    private Future<RpcResult<Void>> tryLockLocally(String lockName, long waitTimeMillis, long retryCount) {
+        LocalLock localLock = useLocalLock(lockName);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeMillis);
+        try {
+            if (localLock.permit.tryAcquire(waitTimeMillis, TimeUnit.MILLISECONDS)) {
+                if (mode != Mode.LEASE || localLock.leaseHeld) {
+                    localLock.locked.set(true);
+                    LOG.debug("Acquired lock {}", lockName);
+                    return RpcResultBuilder.<Void>success().buildFuture();
+                }
+                long remainingRetries = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())
+                        / DEFAULT_WAIT_TIME_IN_MILLIS);
+                if (getLock(LockManagerUtils.getLockInstanceIdentifier(lockName),
+                        LockManagerUtils.buildLockData(lockName), remainingRetries)) {
+                    acquiredLease(lockName, localLock);
+                    localLock.locked.set(true);
+                    LOG.debug("Acquired lock {}", lockName);
+                    return RpcResultBuilder.<Void>success().buildFuture();
+                }
+                localLock.permit.release();
+            }
+            LOG.error("Failed to get lock {} after {} retries", lockName, retryCount);
+        } catch (InterruptedException e) {
+            LOG.error("Failed to get lock {}", lockName, e);
+        }
+        releaseLocalLock(lockName);
+        return RpcResultBuilder.<Void>failed().buildFuture();
+    }
+
+    private Future<RpcResult<Void>> unlockLocally(String lockName, LocalLock localLock) {
+        RpcResultBuilder<Void> lockRpcBuilder = RpcResultBuilder.success();
+        // Give the lease up once it is due, so that other nodes get their turn even if local threads keep
+        // locking; the next local holder then takes the datastore lock again, like any other node
+        if (localLock.leaseHeld && System.nanoTime() - localLock.leaseAcquiredNanos >= leaseNanos) {
+            try {
+                releaseLease(lockName, localLock);
+            } catch (InterruptedException | ExecutionException e) {
+                LOG.error("unlock() failed: {}", lockName, e);
+                lockRpcBuilder = RpcResultBuilder.failed();
+                lockRpcBuilder.withError(ErrorType.APPLICATION, "unlock() failed: " + lockName, e);
+                scheduleLeaseExpiry(lockName, localLock);
+            }
+        }
+        localLock.permit.release();
+        releaseLocalLock(lockName);
+        return lockRpcBuilder.buildFuture();
+    }
+
+    /**
+     * Must be called while holding the permit of the local lock.
+     */
+    private void acquiredLease(String lockName, LocalLock localLock) {
+        localLock.leaseAcquiredNanos = System.nanoTime();
+        localLock.leaseHeld = true;
+        scheduleLeaseExpiry(lockName, localLock);
+    }
+
+    private void scheduleLeaseExpiry(String lockName, LocalLock localLock) {
+        leaseScheduler.schedule(() -> expireLease(lockName, localLock), leaseNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gives a due lease up, unless a local thread holds the lock; its unlock then gives the lease up. If the lease
+     * cannot be given up, the local lock is kept, as it still holds the lease, and giving it up is tried again later.
+     */
+    private void expireLease(String lockName, LocalLock localLock) {
+        if (!localLock.permit.tryAcquire()) {
+            return;
+        }
+        try {
+            if (localLock.leaseHeld) {
+                releaseLease(lockName, localLock);
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            LOG.error("Failed to release the lease of lock {}, retrying later", lockName, e);
+            scheduleLeaseExpiry(lockName, localLock);
+        } finally {
+            localLock.permit.release();
+            localLocks.computeIfPresent(lockName,
+                (name, existing) -> existing.users == 0 && !existing.leaseHeld ? null : existing);
+        }
+    }
+
+    /**
+     * Must be called while holding the permit of the local lock.
+     */
+    private void releaseLease(String lockName, LocalLock localLock) throws InterruptedException, ExecutionException {
+        deleteLock(lockName);
+        localLock.leaseHeld = false;
+        LOG.debug("Released the lease of lock {}", lockName);
+    }
+
+    private LocalLock useLocalLock(String lockName) {
+        return localLocks.compute(lockName, (name, existing) -> {
+            LocalLock localLock = existing != null ? existing : new LocalLock();
+            localLock.users++;
+            return localLock;
+        });
+    }
+
+    private void releaseLocalLock(String lockName) {
+        localLocks.computeIfPresent(lockName, (name, existing) -> {
+            existing.users--;
+            return existing.users == 0 && !existing.leaseHeld ? null : existing;
+        });
+    }
+
+    /**
+     * Called by the {@link LockListener} when a lock was deleted from the datastore, by any node.
+     */
+    void lockRemoved(String lockName) {
+        LockWaitQueue waitQueue = waitQueues.get(lockName);
+        if (waitQueue != null) {
+            waitQueue.wakeUpFirst();
+        }
+    }
+
+    /**
+     * Returns the wait statistics of all the locks callers had to queue for.
+     */
+    public LockWaitStatistics getLockWaitStatistics() {
+        return waitStatistics;
     }
 
     /**
@@ -136,15 +356,48 @@ public class LockManagerServiceImpl implements LockManagerService {
      */
     private void getLock(final InstanceIdentifier<Lock> lockInstanceIdentifier, final Lock lockData)
             throws InterruptedException {
-        // Count from 1 to provide human-comprehensible messages
+        getLock(lockInstanceIdentifier, lockData, Long.MAX_VALUE);
+    }
+
+    /**
+     * Try to acquire lock for mentioned retryCount. Returns true if
+     * successfully acquired lock.
+     *
+     * <p>If the lock is taken, the caller joins the FIFO {@link LockWaitQueue} of the lock name. Only its first
+     * waiter retries, whenever the {@link LockListener} reports the lock deleted, or after
+     * {@value #DEFAULT_WAIT_TIME_IN_MILLIS}ms in case a notification was missed.
+     */
+    private boolean getLock(InstanceIdentifier<Lock> lockInstanceIdentifier, Lock lockData, long retryCount)
+            throws InterruptedException {
         String lockName = lockData.getLockName();
-        for (int retry = 1;; retry++) {
-            try {
-                lockSynchronizerMap.putIfAbsent(lockName, new CompletableFuture<>());
-                if (readWriteLock(lockInstanceIdentifier, lockData)) {
-                    return;
-                } else {
-                    if (retry >= DEFAULT_NUMBER_LOCKING_ATTEMPS) {
+        boolean fastPathTried = !waitQueues.containsKey(lockName);
+        if (fastPathTried && tryReadWriteLock(lockInstanceIdentifier, lockData, 0)) {
+            return true;
+        }
+        long startNanos = System.nanoTime();
+        LockWaitQueue.Waiter waiter = new LockWaitQueue.Waiter();
+        AtomicInteger queueDepth = new AtomicInteger();
+        LockWaitQueue waitQueue = waitQueues.compute(lockName, (name, existing) -> {
+            LockWaitQueue queue = existing != null ? existing : new LockWaitQueue();
+            queueDepth.set(queue.enqueue(waiter));
+            return queue;
+        });
+        waitStatistics.queued(queueDepth.get());
+        boolean acquired = false;
+        try {
+            // Count from 1 to provide human-comprehensible messages
+            for (long retry = 1; retry <= retryCount; retry++) {
+                // right after the fast path failed, the first waiter waits for the lock to be deleted first
+                if (waitQueue.isFirst(waiter) && !(retry == 1 && fastPathTried)) {
+                    waitStatistics.retried();
+                    if (tryReadWriteLock(lockInstanceIdentifier, lockData, retry)) {
+                        acquired = true;
+                        return true;
+                    }
+                    if (retryCount != Long.MAX_VALUE) {
+                        LOG.debug("Already locked for {} after waiting {}ms, try {} of {}", lockName,
+                                DEFAULT_WAIT_TIME_IN_MILLIS, retry, retryCount);
+                    } else if (retry >= DEFAULT_NUMBER_LOCKING_ATTEMPS) {
                         LOG.debug("Already locked for {} after waiting {}ms, try {}",
                                 lockName, DEFAULT_WAIT_TIME_IN_MILLIS, retry);
                     } else {
@@ -152,50 +405,28 @@ public class LockManagerServiceImpl implements LockManagerService {
                                 lockName, DEFAULT_WAIT_TIME_IN_MILLIS, retry);
                     }
                 }
-            } catch (ExecutionException e) {
-                logUnlessCauseIsOptimisticLockFailedException(lockName, retry, e);
-            }
-            CompletableFuture<Void> future = lockSynchronizerMap.get(lockName);
-            if (future != null) {
-                try {
-                    // Making this as timed get to avoid any missing signal for lock remove notifications
-                    // in LockListener (which does the future.complete())
-                    future.get(DEFAULT_WAIT_TIME_IN_MILLIS, TimeUnit.MILLISECONDS);
-                } catch (InterruptedException | ExecutionException e) {
-                    LOG.error("Problems in waiting on lock synchronizer {}", lockName, e);
-                } catch (TimeoutException e) {
-                    LOG.info("Waiting for the lock {} is timed out. retrying again", lockName);
-                }
-                lockSynchronizerMap.remove(lockName);
+                waiter.await(DEFAULT_WAIT_TIME_IN_MILLIS, TimeUnit.MILLISECONDS);
             }
+            return false;
+        } finally {
+            boolean lastWaiter = acquired;
+            waitQueues.computeIfPresent(lockName,
+                (name, queue) -> queue.remove(waiter, lastWaiter) ? null : queue);
+            waitStatistics.dequeued(System.nanoTime() - startNanos);
         }
     }
 
-    /**
-     * Try to acquire lock for mentioned retryCount. Returns true if
-     * successfully acquired lock.
-     */
-    private boolean getLock(InstanceIdentifier<Lock> lockInstanceIdentifier, Lock lockData, long retryCount)
+    private boolean tryReadWriteLock(InstanceIdentifier<Lock> lockInstanceIdentifier, Lock lockData, long retry)
             throws InterruptedException {
-        // Count from 1 to provide human-comprehensible messages
-        String lockName = lockData.getLockName();
-        for (int retry = 1; retry <= retryCount; retry++) {
-            try {
-                if (readWriteLock(lockInstanceIdentifier, lockData)) {
-                    return true;
-                } else {
-                    LOG.debug("Already locked for {} after waiting {}ms, try {} of {}", lockName,
-                            DEFAULT_WAIT_TIME_IN_MILLIS, retry, retryCount);
-                }
-            } catch (ExecutionException e) {
-                logUnlessCauseIsOptimisticLockFailedException(lockName, retry, e);
-            }
-            Thread.sleep(DEFAULT_WAIT_TIME_IN_MILLIS);
+        try {
+            return readWriteLock(lockInstanceIdentifier, lockData);
+        } catch (ExecutionException e) {
+            logUnlessCauseIsOptimisticLockFailedException(lockData.getLockName(), retry, e);
+            return false;
         }
-        return false;
     }
 
-    private void logUnlessCauseIsOptimisticLockFailedException(String name, int retry, ExecutionException exception) {
+    private void logUnlessCauseIsOptimisticLockFailedException(String name, long retry, ExecutionException exception) {
         // Log anything else than OptimisticLockFailedException with level error.
         // Bug 8059: We do not log OptimisticLockFailedException, as those are "normal" in the current design,
         //           and this class is explicitly designed to retry obtained a lock in case of an
@@ -207,6 +438,18 @@ public class LockManagerServiceImpl implements LockManagerService {
         }
     }
 
+    /**
+     * Local state of a lock name. Its users, i.e. holders and waiters, are counted under the lock of the
+     * {@link #localLocks} entry; its lease state is only changed while holding its permit.
+     */
+    private static final class LocalLock {
+        final Semaphore permit = new Semaphore(1, true);
+        final AtomicBoolean locked = new AtomicBoolean();
+        int users;
+        volatile boolean leaseHeld;
+        volatile long leaseAcquiredNanos;
+    }
+
     /**
      * Read and write the lock immediately if available. Returns true if
      * successfully locked.
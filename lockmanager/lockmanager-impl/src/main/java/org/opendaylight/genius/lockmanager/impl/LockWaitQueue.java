@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.lockmanager.impl;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FIFO queue of the local threads waiting for a datastore lock. Only the first waiter tries to write the lock,
+ * and only the first waiter is woken when the lock is deleted, so an unlock causes one write attempt on this
+ * node instead of one per waiter.
+ */
+final class LockWaitQueue {
+
+    /**
+     * A waiting thread. Wake-ups are remembered until the waiter awaits them, so none is lost while the
+     * waiter is busy trying the lock.
+     */
+    static final class Waiter {
+        private final Semaphore wakeUp = new Semaphore(0);
+
+        /**
+         * Waits until this waiter is woken, or the timeout elapses.
+         */
+        void await(long timeout, TimeUnit unit) throws InterruptedException {
+            if (wakeUp.tryAcquire(timeout, unit)) {
+                wakeUp.drainPermits();
+            }
+        }
+
+        void wakeUp() {
+            wakeUp.release();
+        }
+    }
+
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+    /**
+     * Enqueues the waiter.
+     *
+     * @return the number of waiters, including this one
+     */
+    synchronized int enqueue(Waiter waiter) {
+        waiters.addLast(waiter);
+        return waiters.size();
+    }
+
+    synchronized boolean isFirst(Waiter waiter) {
+        return waiters.peekFirst() == waiter;
+    }
+
+    /**
+     * Removes the waiter. If the first waiter gives up without acquiring the lock, the next one is woken
+     * to try in its place.
+     *
+     * @return true if no waiter is left
+     */
+    synchronized boolean remove(Waiter waiter, boolean acquired) {
+        boolean wasFirst = waiters.peekFirst() == waiter;
+        waiters.remove(waiter);
+        if (wasFirst && !acquired) {
+            wakeUpFirst();
+        }
+        return waiters.isEmpty();
+    }
+
+    synchronized void wakeUpFirst() {
+        Waiter first = waiters.peekFirst();
+        if (first != null) {
+            first.wakeUp();
+        }
+    }
+
+    synchronized int size() {
+        return waiters.size();
+    }
+}
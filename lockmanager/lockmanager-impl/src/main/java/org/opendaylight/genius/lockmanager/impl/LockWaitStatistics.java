@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.lockmanager.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention statistics of the locks of a node: how often callers had to queue for a lock, how long they waited,
+ * how deep a wait queue got and how many datastore write attempts the queued callers made. They are aggregated
+ * over all lock names, so they take constant memory however many lock names are used.
+ */
+public class LockWaitStatistics {
+
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder retries = new LongAdder();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    void queued(int depth) {
+        queueDepth.incrementAndGet();
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    void retried() {
+        retries.increment();
+    }
+
+    void dequeued(long waitedNanos) {
+        queueDepth.decrementAndGet();
+        waits.increment();
+        waitNanos.add(waitedNanos);
+        maxWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+    }
+
+    /**
+     * Number of lock attempts which had to queue.
+     */
+    public long getWaitCount() {
+        return waits.sum();
+    }
+
+    public long getTotalWaitTime(TimeUnit unit) {
+        return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxWaitTime(TimeUnit unit) {
+        return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Number of datastore write attempts made by queued callers.
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Number of callers currently queued, for any lock.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Largest number of callers which queued for the same lock at once.
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    @Override
+    public String toString() {
+        return "LockWaitStatistics [waits=" + getWaitCount() + ", totalWaitMs="
+                + getTotalWaitTime(TimeUnit.MILLISECONDS) + ", maxWaitMs=" + getMaxWaitTime(TimeUnit.MILLISECONDS)
+                + ", retries=" + getRetryCount() + ", queueDepth=" + getQueueDepth()
+                + ", maxQueueDepth=" + getMaxQueueDepth() + "]";
+    }
+}
@@ -9,9 +9,13 @@ package org.opendaylight.genius.lockmanager.tests;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -23,10 +27,14 @@ import org.junit.Test;
 import org.junit.rules.MethodRule;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.OptimisticLockFailedException;
+import org.opendaylight.genius.datastoreutils.SingleTransactionDataBroker;
 import org.opendaylight.genius.datastoreutils.testutils.DataBrokerFailures;
 import org.opendaylight.genius.datastoreutils.testutils.DataBrokerFailuresModule;
 import org.opendaylight.genius.lockmanager.impl.LockManagerServiceImpl;
+import org.opendaylight.genius.lockmanager.impl.LockManagerUtils;
+import org.opendaylight.genius.lockmanager.impl.LockWaitStatistics;
 import org.opendaylight.infrautils.inject.guice.testutils.GuiceRule;
 import org.opendaylight.infrautils.testutils.LogCaptureRule;
 import org.opendaylight.infrautils.testutils.LogRule;
@@ -119,6 +127,90 @@ public class LockManagerTest extends AbstractConcurrentDataBrokerTest {
         assertSuccessfulFutureRpcResult(lockManager.lock(lockInput));
     }
 
+    @Test
+    public void testLeaseModeLocksLocallyWhileLeaseIsHeld() throws Exception {
+        LockManagerServiceImpl leaseLockManager =
+                new LockManagerServiceImpl(dataBroker, LockManagerServiceImpl.Mode.LEASE, 1000);
+        try {
+            LockInput lockInput = new LockInputBuilder().setLockName("testLeaseLock").build();
+            UnlockInput unlockInput = new UnlockInputBuilder().setLockName("testLeaseLock").build();
+            assertSuccessfulFutureRpcResult(leaseLockManager.lock(lockInput));
+            assertThat(isLockInDatastore("testLeaseLock")).isTrue();
+
+            // the lease survives the unlock, so that the next lock is granted without datastore access
+            assertSuccessfulFutureRpcResult(leaseLockManager.unlock(unlockInput));
+            assertThat(isLockInDatastore("testLeaseLock")).isTrue();
+            assertSuccessfulFutureRpcResult(leaseLockManager.lock(lockInput));
+
+            // while locked, other local threads wait for the local unlock
+            runUnlockTimerTask(leaseLockManager, "testLeaseLock", 500);
+            assertSuccessfulFutureRpcResult(leaseLockManager.lock(lockInput));
+            assertSuccessfulFutureRpcResult(leaseLockManager.unlock(unlockInput));
+
+            // once idle, the lease is given up
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (isLockInDatastore("testLeaseLock") && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(isLockInDatastore("testLeaseLock")).isFalse();
+        } finally {
+            leaseLockManager.close();
+        }
+    }
+
+    @Test
+    public void testLocalModeDoesNotUseDatastore() throws Exception {
+        logCaptureRule.expectError("Failed to get lock testLocalLock after 1 retries");
+
+        LockManagerServiceImpl localLockManager =
+                new LockManagerServiceImpl(dataBroker, LockManagerServiceImpl.Mode.LOCAL, 0);
+        LockInput lockInput = new LockInputBuilder().setLockName("testLocalLock").build();
+        assertSuccessfulFutureRpcResult(localLockManager.lock(lockInput));
+        assertThat(isLockInDatastore("testLocalLock")).isFalse();
+
+        TryLockInput tryLockInput = new TryLockInputBuilder().setLockName("testLocalLock").setTime(1L)
+                .setTimeUnit(TimeUnits.Seconds).build();
+        assertFailedFutureRpcResult(localLockManager.tryLock(tryLockInput));
+
+        assertSuccessfulFutureRpcResult(
+                localLockManager.unlock(new UnlockInputBuilder().setLockName("testLocalLock").build()));
+        assertSuccessfulFutureRpcResult(localLockManager.tryLock(tryLockInput));
+    }
+
+    @Test
+    public void testContendedLockWaitersAreQueued() throws Exception {
+        LockInput lockInput = new LockInputBuilder().setLockName("testQueuedLock").build();
+        UnlockInput unlockInput = new UnlockInputBuilder().setLockName("testQueuedLock").build();
+        assertSuccessfulFutureRpcResult(lockManager.lock(lockInput));
+
+        int waiters = 3;
+        ExecutorService executor = Executors.newFixedThreadPool(waiters);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < waiters; i++) {
+            futures.add(executor.submit(() -> {
+                assertSuccessfulFutureRpcResult(lockManager.lock(lockInput));
+                assertSuccessfulFutureRpcResult(lockManager.unlock(unlockInput));
+                return null;
+            }));
+        }
+        runUnlockTimerTask("testQueuedLock", 2000);
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        LockWaitStatistics statistics = ((LockManagerServiceImpl) lockManager).getLockWaitStatistics();
+        assertThat(statistics.getWaitCount()).isEqualTo(waiters);
+        assertThat(statistics.getMaxQueueDepth()).isAtLeast(2);
+        assertThat(statistics.getQueueDepth()).isEqualTo(0);
+        assertThat(statistics.getMaxWaitTime(TimeUnit.MILLISECONDS)).isAtLeast(1000L);
+    }
+
+    private boolean isLockInDatastore(String lockName) throws Exception {
+        return SingleTransactionDataBroker.syncReadOptional(dataBroker, LogicalDatastoreType.OPERATIONAL,
+                LockManagerUtils.getLockInstanceIdentifier(lockName)).isPresent();
+    }
+
     private void assertSuccessfulFutureRpcResult(Future<RpcResult<Void>> futureRpcResult)
             throws InterruptedException, ExecutionException, TimeoutException {
         assertThat(futureRpcResult.get(5, TimeUnit.SECONDS).isSuccessful()).isTrue();
@@ -131,13 +223,17 @@ public class LockManagerTest extends AbstractConcurrentDataBrokerTest {
     }
 
     private void runUnlockTimerTask(String lockKey, long delay) {
+        runUnlockTimerTask(lockManager, lockKey, delay);
+    }
+
+    private void runUnlockTimerTask(LockManagerService service, String lockKey, long delay) {
         Timer timer = new Timer();
         timer.schedule(new TimerTask() {
             @Override
             public void run() {
                 UnlockInput unlockInput = new UnlockInputBuilder().setLockName(lockKey).build();
                 try {
-                    assertSuccessfulFutureRpcResult(lockManager.unlock(unlockInput));
+                    assertSuccessfulFutureRpcResult(service.unlock(unlockInput));
                 } catch (InterruptedException | ExecutionException | TimeoutException e) {
                     LOG.error("runUnlockTimerTask() failed", e);
                     // throw new RuntimeException(e) is useless here, as this in a BG Thread, and it would go nowhere
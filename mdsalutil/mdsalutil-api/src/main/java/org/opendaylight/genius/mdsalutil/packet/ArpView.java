@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet;
+
+/**
+ * Flyweight view of an ARP packet for Ethernet and IPv4, see {@link PacketView}.
+ */
+public class ArpView extends PacketView {
+
+    private static final int HEADER_LENGTH = 28;
+
+    public ArpView wrap(byte[] packetData, int packetOffset, int packetLength) {
+        wrapBytes(packetData, packetOffset, packetLength);
+        return this;
+    }
+
+    @Override
+    public boolean isValid() {
+        return length >= HEADER_LENGTH && getHardwareAddressLength() == 6 && getProtocolAddressLength() == 4;
+    }
+
+    public short getHardwareType() {
+        return (short) getUnsignedShort(0);
+    }
+
+    public short getProtocolType() {
+        return (short) getUnsignedShort(2);
+    }
+
+    public int getHardwareAddressLength() {
+        return getUnsignedByte(4);
+    }
+
+    public int getProtocolAddressLength() {
+        return getUnsignedByte(5);
+    }
+
+    /**
+     * The operation, {@link ARP#REQUEST} or {@link ARP#REPLY}.
+     */
+    public short getOpCode() {
+        return (short) getUnsignedShort(6);
+    }
+
+    public long getSenderHardwareAddress() {
+        return getMacAddress(8);
+    }
+
+    public byte[] copySenderHardwareAddress() {
+        return copyBytes(8, 6);
+    }
+
+    public int getSenderProtocolAddress() {
+        return getInt(14);
+    }
+
+    public byte[] copySenderProtocolAddress() {
+        return copyBytes(14, 4);
+    }
+
+    public long getTargetHardwareAddress() {
+        return getMacAddress(18);
+    }
+
+    public byte[] copyTargetHardwareAddress() {
+        return copyBytes(18, 6);
+    }
+
+    public int getTargetProtocolAddress() {
+        return getInt(24);
+    }
+
+    public byte[] copyTargetProtocolAddress() {
+        return copyBytes(24, 4);
+    }
+}
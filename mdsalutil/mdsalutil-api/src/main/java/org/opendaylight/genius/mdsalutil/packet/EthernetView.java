@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet;
+
+import org.opendaylight.controller.liblldp.EtherTypes;
+
+/**
+ * Flyweight view of an Ethernet frame, see {@link PacketView}. 802.1Q tags are skipped to find the payload.
+ */
+public class EthernetView extends PacketView {
+
+    private static final int HEADER_LENGTH = 14;
+    private static final int VLAN_TAG_LENGTH = 4;
+    private static final int ETHER_TYPE_OFFSET = 12;
+    private static final long BROADCAST_MAC = 0xFFFFFFFFFFFFL;
+
+    private ArpView arp;
+    private IPv4View ipv4;
+
+    /**
+     * Wraps the given frame.
+     */
+    public EthernetView wrap(byte[] frame) {
+        return wrap(frame, 0, frame.length);
+    }
+
+    public EthernetView wrap(byte[] frame, int frameOffset, int frameLength) {
+        wrapBytes(frame, frameOffset, frameLength);
+        return this;
+    }
+
+    @Override
+    public boolean isValid() {
+        return length >= HEADER_LENGTH && getPayloadOffset() <= offset + length;
+    }
+
+    public long getDestinationMACAddress() {
+        return getMacAddress(0);
+    }
+
+    public long getSourceMACAddress() {
+        return getMacAddress(6);
+    }
+
+    public byte[] copyDestinationMACAddress() {
+        return copyBytes(0, 6);
+    }
+
+    public byte[] copySourceMACAddress() {
+        return copyBytes(6, 6);
+    }
+
+    public boolean isBroadcast() {
+        return getDestinationMACAddress() == BROADCAST_MAC;
+    }
+
+    public boolean isMulticast() {
+        return !isBroadcast() && (getUnsignedByte(0) & 0x01) != 0;
+    }
+
+    /**
+     * The EtherType of the frame itself, which is {@link EtherTypes#VLANTAGGED} for a tagged frame.
+     */
+    public short getEtherType() {
+        return (short) getUnsignedShort(ETHER_TYPE_OFFSET);
+    }
+
+    /**
+     * The EtherType of the payload, after any 802.1Q tags.
+     */
+    public short getPayloadEtherType() {
+        return (short) getUnsignedShort(getPayloadOffset() - offset - 2);
+    }
+
+    /**
+     * The VLAN id of the outermost 802.1Q tag, or -1 if the frame is untagged.
+     */
+    public int getVlanId() {
+        return isVlanTagged(getEtherType()) ? getUnsignedShort(HEADER_LENGTH) & 0x0FFF : -1;
+    }
+
+    /**
+     * Offset of the payload in the wrapped array.
+     */
+    public int getPayloadOffset() {
+        int etherTypeOffset = ETHER_TYPE_OFFSET;
+        while (etherTypeOffset + 2 <= length && isVlanTagged((short) getUnsignedShort(etherTypeOffset))) {
+            etherTypeOffset += VLAN_TAG_LENGTH;
+        }
+        return offset + etherTypeOffset + 2;
+    }
+
+    /**
+     * Returns the ARP payload, or null if the payload is not ARP.
+     */
+    public ArpView getArp() {
+        if (getPayloadEtherType() != EtherTypes.ARP.shortValue()) {
+            return null;
+        }
+        if (arp == null) {
+            arp = new ArpView();
+        }
+        int payloadOffset = getPayloadOffset();
+        return arp.wrap(data, payloadOffset, offset + length - payloadOffset);
+    }
+
+    /**
+     * Returns the IPv4 payload, or null if the payload is not IPv4.
+     */
+    public IPv4View getIPv4() {
+        if (getPayloadEtherType() != EtherTypes.IPv4.shortValue()) {
+            return null;
+        }
+        if (ipv4 == null) {
+            ipv4 = new IPv4View();
+        }
+        int payloadOffset = getPayloadOffset();
+        return ipv4.wrap(data, payloadOffset, offset + length - payloadOffset);
+    }
+
+    private static boolean isVlanTagged(short etherType) {
+        return etherType == EtherTypes.VLANTAGGED.shortValue() || etherType == EtherTypes.QINQ.shortValue()
+                || etherType == EtherTypes.OLDQINQ.shortValue() || etherType == EtherTypes.CISCOQINQ.shortValue();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet;
+
+/**
+ * Flyweight view of an IPv4 packet, see {@link PacketView}. The views of the transport payloads are only
+ * available for the first fragment.
+ */
+public class IPv4View extends PacketView {
+
+    private static final int MIN_HEADER_LENGTH = 20;
+
+    private UdpView udp;
+    private TcpView tcp;
+    private IcmpView icmp;
+
+    public IPv4View wrap(byte[] packetData, int packetOffset, int packetLength) {
+        wrapBytes(packetData, packetOffset, packetLength);
+        return this;
+    }
+
+    @Override
+    public boolean isValid() {
+        return length >= MIN_HEADER_LENGTH && getVersion() == 4 && getHeaderLength() >= MIN_HEADER_LENGTH
+                && getHeaderLength() <= length;
+    }
+
+    public int getVersion() {
+        return getUnsignedByte(0) >>> 4;
+    }
+
+    /**
+     * Length of the header, in bytes.
+     */
+    public int getHeaderLength() {
+        return (getUnsignedByte(0) & 0x0F) * 4;
+    }
+
+    public int getDiffServ() {
+        return getUnsignedByte(1) >>> 2;
+    }
+
+    public int getTotalLength() {
+        return getUnsignedShort(2);
+    }
+
+    public int getIdentification() {
+        return getUnsignedShort(4);
+    }
+
+    public int getFlags() {
+        return getUnsignedByte(6) >>> 5;
+    }
+
+    /**
+     * Fragment offset, in 8 bytes units.
+     */
+    public int getFragmentOffset() {
+        return getUnsignedShort(6) & 0x1FFF;
+    }
+
+    public int getTtl() {
+        return getUnsignedByte(8);
+    }
+
+    /**
+     * The protocol of the payload, see {@link IPProtocols}.
+     */
+    public int getProtocol() {
+        return getUnsignedByte(9);
+    }
+
+    public int getChecksum() {
+        return getUnsignedShort(10);
+    }
+
+    public int getSourceAddress() {
+        return getInt(12);
+    }
+
+    public byte[] copySourceAddress() {
+        return copyBytes(12, 4);
+    }
+
+    public int getDestinationAddress() {
+        return getInt(16);
+    }
+
+    public byte[] copyDestinationAddress() {
+        return copyBytes(16, 4);
+    }
+
+    /**
+     * Returns the UDP payload, or null if the payload is not UDP or not the first fragment.
+     */
+    public UdpView getUdp() {
+        if (!hasTransportPayload(IPProtocols.UDP)) {
+            return null;
+        }
+        if (udp == null) {
+            udp = new UdpView();
+        }
+        return udp.wrap(data, offset + getHeaderLength(), getPayloadLength());
+    }
+
+    /**
+     * Returns the TCP payload, or null if the payload is not TCP or not the first fragment.
+     */
+    public TcpView getTcp() {
+        if (!hasTransportPayload(IPProtocols.TCP)) {
+            return null;
+        }
+        if (tcp == null) {
+            tcp = new TcpView();
+        }
+        return tcp.wrap(data, offset + getHeaderLength(), getPayloadLength());
+    }
+
+    /**
+     * Returns the ICMP payload, or null if the payload is not ICMP or not the first fragment.
+     */
+    public IcmpView getIcmp() {
+        if (!hasTransportPayload(IPProtocols.ICMP)) {
+            return null;
+        }
+        if (icmp == null) {
+            icmp = new IcmpView();
+        }
+        return icmp.wrap(data, offset + getHeaderLength(), getPayloadLength());
+    }
+
+    private boolean hasTransportPayload(IPProtocols protocol) {
+        return getProtocol() == protocol.intValue() && getFragmentOffset() == 0;
+    }
+
+    private int getPayloadLength() {
+        // Ethernet may pad short packets, so trust the total length if it is consistent
+        int totalLength = getTotalLength();
+        return (totalLength >= getHeaderLength() && totalLength <= length ? totalLength : length) - getHeaderLength();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet;
+
+/**
+ * Flyweight view of an ICMP message, see {@link PacketView}. The identifier and sequence number are those of
+ * echo requests and replies.
+ */
+public class IcmpView extends PacketView {
+
+    private static final int HEADER_LENGTH = 8;
+
+    public IcmpView wrap(byte[] packetData, int packetOffset, int packetLength) {
+        wrapBytes(packetData, packetOffset, packetLength);
+        return this;
+    }
+
+    @Override
+    public boolean isValid() {
+        return length >= HEADER_LENGTH;
+    }
+
+    public int getType() {
+        return getUnsignedByte(0);
+    }
+
+    public int getCode() {
+        return getUnsignedByte(1);
+    }
+
+    public int getChecksum() {
+        return getUnsignedShort(2);
+    }
+
+    public int getIdentifier() {
+        return getUnsignedShort(4);
+    }
+
+    public int getSequenceNumber() {
+        return getUnsignedShort(6);
+    }
+}
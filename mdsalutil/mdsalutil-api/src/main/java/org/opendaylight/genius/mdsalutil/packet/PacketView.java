@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet;
+
+import java.util.Arrays;
+
+/**
+ * Flyweight over the header of a packet in a byte array.
+ *
+ * <p>Unlike {@link Ethernet}, {@link ARP}, {@link IPv4} etc., which copy every header field into a map when they
+ * deserialize a packet, a view copies nothing: its accessors read their field at a fixed offset of the array when
+ * called, and the views of the payloads are only created when asked for. A view can be re-wrapped around
+ * another packet, so a caller which decodes many packets on one thread can reuse its views.
+ *
+ * <p>Accessors do not check the length of the packet; callers must check {@link #isValid()} first.
+ * Views are not thread-safe.
+ */
+public abstract class PacketView {
+
+    protected byte[] data;
+    protected int offset;
+    protected int length;
+
+    protected void wrapBytes(byte[] packetData, int packetOffset, int packetLength) {
+        this.data = packetData;
+        this.offset = packetOffset;
+        this.length = packetLength;
+    }
+
+    /**
+     * Returns whether the wrapped bytes are long enough for the header of this protocol.
+     */
+    public abstract boolean isValid();
+
+    /**
+     * Offset of the header in the wrapped array.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Length of the header and its payload.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    protected final int getUnsignedByte(int fieldOffset) {
+        return data[offset + fieldOffset] & 0xFF;
+    }
+
+    protected final int getUnsignedShort(int fieldOffset) {
+        int index = offset + fieldOffset;
+        return (data[index] & 0xFF) << 8 | data[index + 1] & 0xFF;
+    }
+
+    protected final int getInt(int fieldOffset) {
+        int index = offset + fieldOffset;
+        return (data[index] & 0xFF) << 24 | (data[index + 1] & 0xFF) << 16 | (data[index + 2] & 0xFF) << 8
+                | data[index + 3] & 0xFF;
+    }
+
+    /**
+     * Reads a 6 bytes MAC address as the low 48 bits of a long.
+     */
+    protected final long getMacAddress(int fieldOffset) {
+        return (long) getUnsignedShort(fieldOffset) << 32 | getInt(fieldOffset + 2) & 0xFFFFFFFFL;
+    }
+
+    protected final byte[] copyBytes(int fieldOffset, int fieldLength) {
+        return Arrays.copyOfRange(data, offset + fieldOffset, offset + fieldOffset + fieldLength);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet;
+
+/**
+ * Flyweight view of a TCP segment, see {@link PacketView}.
+ */
+public class TcpView extends PacketView {
+
+    private static final int MIN_HEADER_LENGTH = 20;
+
+    public TcpView wrap(byte[] packetData, int packetOffset, int packetLength) {
+        wrapBytes(packetData, packetOffset, packetLength);
+        return this;
+    }
+
+    @Override
+    public boolean isValid() {
+        return length >= MIN_HEADER_LENGTH && getHeaderLength() >= MIN_HEADER_LENGTH && getHeaderLength() <= length;
+    }
+
+    public int getSourcePort() {
+        return getUnsignedShort(0);
+    }
+
+    public int getDestinationPort() {
+        return getUnsignedShort(2);
+    }
+
+    public long getSequenceNumber() {
+        return getInt(4) & 0xFFFFFFFFL;
+    }
+
+    public long getAcknowledgementNumber() {
+        return getInt(8) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Length of the header, in bytes.
+     */
+    public int getHeaderLength() {
+        return (getUnsignedByte(12) >>> 4) * 4;
+    }
+
+    /**
+     * The 9 flag bits, NS to FIN.
+     */
+    public int getFlags() {
+        return getUnsignedShort(12) & 0x01FF;
+    }
+
+    public int getWindowSize() {
+        return getUnsignedShort(14);
+    }
+
+    public int getChecksum() {
+        return getUnsignedShort(16);
+    }
+
+    public int getUrgentPointer() {
+        return getUnsignedShort(18);
+    }
+
+    /**
+     * Offset of the data in the wrapped array.
+     */
+    public int getPayloadOffset() {
+        return offset + getHeaderLength();
+    }
+}
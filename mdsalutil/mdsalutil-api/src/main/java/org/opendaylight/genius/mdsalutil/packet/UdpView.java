@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.packet;
+
+/**
+ * Flyweight view of a UDP datagram, see {@link PacketView}.
+ */
+public class UdpView extends PacketView {
+
+    private static final int HEADER_LENGTH = 8;
+
+    public UdpView wrap(byte[] packetData, int packetOffset, int packetLength) {
+        wrapBytes(packetData, packetOffset, packetLength);
+        return this;
+    }
+
+    @Override
+    public boolean isValid() {
+        return length >= HEADER_LENGTH;
+    }
+
+    public int getSourcePort() {
+        return getUnsignedShort(0);
+    }
+
+    public int getDestinationPort() {
+        return getUnsignedShort(2);
+    }
+
+    /**
+     * Length of the header and data, as written in the header.
+     */
+    public int getUdpLength() {
+        return getUnsignedShort(4);
+    }
+
+    public int getChecksum() {
+        return getUnsignedShort(6);
+    }
+
+    /**
+     * Offset of the data in the wrapped array.
+     */
+    public int getPayloadOffset() {
+        return offset + HEADER_LENGTH;
+    }
+}
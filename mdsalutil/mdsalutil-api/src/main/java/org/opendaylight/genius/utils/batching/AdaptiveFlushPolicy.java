@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when {@link ResourceBatchingManager} flushes a batch of a resource type.
+ *
+ * <p>A batch is committed as soon as it holds {@link #getBatchSize()} resources, or once the
+ * oldest resource in it has waited {@link #getMaxWaitNanos()}, whichever comes first.
+ * The batch size adapts to the observed commit latency: it shrinks by half whenever a commit
+ * takes longer than the target latency, and grows back additively after every full batch that
+ * committed within it, never exceeding the batch size configured by the {@link ResourceHandler}.
+ *
+ * <p>Commit feedback may arrive from the lanes of a {@link CommitPipeline}, so updates are synchronized.
+ */
+class AdaptiveFlushPolicy {
+
+    private static final int MIN_BATCH_SIZE = 16;
+    private static final int GROWTH_STEPS = 10;
+
+    private final int maxBatchSize;
+    private final int minBatchSize;
+    private final int growthIncrement;
+    private final long maxWaitNanos;
+    private final long targetCommitLatencyNanos;
+    private volatile int batchSize;
+
+    AdaptiveFlushPolicy(int maxBatchSize, long maxWaitMillis, long targetCommitLatencyMillis) {
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive: %s", maxBatchSize);
+        Preconditions.checkArgument(maxWaitMillis >= 0, "maxWaitMillis must not be negative: %s", maxWaitMillis);
+        Preconditions.checkArgument(targetCommitLatencyMillis > 0, "targetCommitLatencyMillis must be positive: %s",
+                targetCommitLatencyMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.minBatchSize = Math.min(MIN_BATCH_SIZE, maxBatchSize);
+        this.growthIncrement = Math.max(1, maxBatchSize / GROWTH_STEPS);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.targetCommitLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetCommitLatencyMillis);
+        this.batchSize = maxBatchSize;
+    }
+
+    /**
+     * Number of resources after which the current batch is flushed without waiting any longer.
+     */
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Maximum time the oldest resource of a batch waits before the batch is flushed.
+     */
+    long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * Feeds back the outcome of a commit so that the next batch size can be adjusted.
+     *
+     * @param committedSize number of resources which were part of the committed batch
+     * @param commitLatencyNanos time the transaction submit took to complete
+     */
+    synchronized void onCommit(int committedSize, long commitLatencyNanos) {
+        int current = batchSize;
+        if (commitLatencyNanos > targetCommitLatencyNanos) {
+            batchSize = Math.max(minBatchSize, current / 2);
+        } else if (committedSize >= current && current < maxBatchSize) {
+            batchSize = Math.min(maxBatchSize, current + growthIncrement);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Collapses a batch of {@link ActionableResource}s to the operations which actually have an effect.
+ *
+ * <p>A {@link ActionableResource#CREATE} (put) or {@link ActionableResource#DELETE} replaces whatever
+ * was previously written at its {@link InstanceIdentifier}, so every earlier operation on exactly the same
+ * identifier within the batch is elided. {@link ActionableResource#UPDATE} (merge) builds on top of the
+ * previous state and therefore never supersedes anything. Surviving operations keep their relative order.
+ *
+ * <p>The result future of an elided operation completes with the outcome of the operation which superseded it.
+ */
+final class BatchCoalescer {
+
+    private BatchCoalescer() {
+    }
+
+    /**
+     * Returns the effective operations of the batch, in their original order.
+     *
+     * @param batch the operations, in submission order
+     * @return the passed batch itself if nothing could be elided, otherwise a new list
+     */
+    @SuppressWarnings("unchecked")
+    static List<ActionableResource> coalesce(List<ActionableResource> batch) {
+        Map<InstanceIdentifier<?>, Integer> lastOverwrite = new HashMap<>();
+        int overwrites = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            ActionableResource actResource = batch.get(i);
+            if (isOverwrite(actResource)) {
+                lastOverwrite.put(actResource.getInstanceIdentifier(), i);
+                overwrites++;
+            }
+        }
+        if (overwrites == 0) {
+            return batch;
+        }
+
+        List<ActionableResource> effective = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            ActionableResource actResource = batch.get(i);
+            InstanceIdentifier<?> identifier = actResource.getInstanceIdentifier();
+            Integer last = identifier != null ? lastOverwrite.get(identifier) : null;
+            if (last != null && i < last) {
+                ((SettableFuture<Void>) actResource.getResultFuture()).setFuture(
+                        batch.get(last).getResultFuture());
+            } else {
+                effective.add(actResource);
+            }
+        }
+        return effective.size() == batch.size() ? batch : effective;
+    }
+
+    private static boolean isOverwrite(ActionableResource actResource) {
+        return actResource.getInstanceIdentifier() != null
+                && (actResource.getAction() == ActionableResource.CREATE
+                    || actResource.getAction() == ActionableResource.DELETE);
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue of {@link ActionableResource}s to be batched by the {@link ResourceBatchingManager}.
+ *
+ * <p>Once the queue holds its capacity, {@link #add(ActionableResource)} and {@link #offer(ActionableResource)}
+ * hand the resource to the queue's {@link OverflowPolicy}. The default policy makes the producer wait for room, so
+ * no resource is lost. Other policies may reject the resource after a bounded wait, or shed other queued work. A
+ * rejected or shed resource has its result future failed with a {@link RejectedExecutionException}, so
+ * {@link #add(ActionableResource)} never throws; fire-and-forget producers keep working unchanged.
+ *
+ * <p>The queue tracks its high-water mark and how many resources were rejected or shed; each of those is logged.
+ */
+public class BoundedResourceQueue extends AbstractQueue<ActionableResource>
+        implements BlockingQueue<ActionableResource> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BoundedResourceQueue.class);
+
+    public static final int DEFAULT_CAPACITY = 100_000;
+    public static final long DEFAULT_OFFER_TIMEOUT_MS = 100;
+
+    private final String name;
+    private final LinkedBlockingQueue<ActionableResource> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public BoundedResourceQueue(int capacity, OverflowPolicy overflowPolicy) {
+        this("batching", capacity, overflowPolicy);
+    }
+
+    public BoundedResourceQueue(String name, int capacity, OverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+        this.name = name;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy, "overflowPolicy");
+    }
+
+    /**
+     * Creates the queue of a resource type, with the capacity of the {@code resource.manager.batch.queue.capacity}
+     * system property (default {@value #DEFAULT_CAPACITY}). Once full, the queue makes its producers wait for room,
+     * unless dropping resources is enabled for the resource type through the
+     * {@code resource.manager.batch.queue.<resourceType>.overflow} system property: {@code timeout} rejects a
+     * resource after waiting {@code resource.manager.batch.queue.<resourceType>.offer.timeout.ms} (default
+     * {@value #DEFAULT_OFFER_TIMEOUT_MS}), {@code reject} rejects it right away and {@code shed} evicts lower
+     * priority work.
+     */
+    public static BoundedResourceQueue newDefaultQueue(String resourceType) {
+        int capacity = Integer.getInteger("resource.manager.batch.queue.capacity", DEFAULT_CAPACITY);
+        String prefix = "resource.manager.batch.queue." + resourceType;
+        String overflow = System.getProperty(prefix + ".overflow", "block");
+        switch (overflow) {
+            case "block":
+                return new BoundedResourceQueue(resourceType, capacity, OverflowPolicy.block());
+            case "timeout":
+                long offerTimeout = Long.getLong(prefix + ".offer.timeout.ms", DEFAULT_OFFER_TIMEOUT_MS);
+                return new BoundedResourceQueue(resourceType, capacity,
+                        OverflowPolicy.block(offerTimeout, TimeUnit.MILLISECONDS));
+            case "reject":
+                return new BoundedResourceQueue(resourceType, capacity, OverflowPolicy.reject());
+            case "shed":
+                return new BoundedResourceQueue(resourceType, capacity,
+                        OverflowPolicy.shedLowestPriority(OverflowPolicy::actionPriority));
+            default:
+                LOG.warn("Unknown {}.overflow {}, blocking producers instead", prefix, overflow);
+                return new BoundedResourceQueue(resourceType, capacity, OverflowPolicy.block());
+        }
+    }
+
+    /**
+     * Enqueues the resource, applying the overflow policy if the queue is full.
+     *
+     * @return false if the resource was rejected, in which case its result future has failed
+     */
+    @Override
+    public boolean offer(ActionableResource resource) {
+        if (queue.offer(resource)) {
+            recordDepth();
+            return true;
+        }
+        if (overflowPolicy.onOverflow(this, resource)) {
+            return true;
+        }
+        rejected.increment();
+        LOG.warn("Batching queue {} full, rejected {}", name, resource.getKey());
+        return false;
+    }
+
+    /**
+     * Same as {@link #offer(ActionableResource)}; unlike other queues this does not throw when full.
+     */
+    @Override
+    public boolean add(ActionableResource resource) {
+        return offer(resource);
+    }
+
+    /**
+     * Enqueues the resource if there is room, without consulting the overflow policy.
+     */
+    public boolean tryEnqueue(ActionableResource resource) {
+        if (queue.offer(resource)) {
+            recordDepth();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Enqueues the resource, waiting for room if necessary, without consulting the overflow policy.
+     */
+    public void enqueueBlocking(ActionableResource resource) throws InterruptedException {
+        queue.put(resource);
+        recordDepth();
+    }
+
+    @Override
+    public void put(ActionableResource resource) throws InterruptedException {
+        enqueueBlocking(resource);
+    }
+
+    @Override
+    public boolean offer(ActionableResource resource, long timeout, TimeUnit unit) throws InterruptedException {
+        if (queue.offer(resource, timeout, unit)) {
+            recordDepth();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public ActionableResource take() throws InterruptedException {
+        return queue.take();
+    }
+
+    @Override
+    public ActionableResource poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    @Override
+    public ActionableResource poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public ActionableResource peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public boolean remove(Object resource) {
+        return queue.remove(resource);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    @Override
+    public int drainTo(Collection<? super ActionableResource> collection) {
+        return queue.drainTo(collection);
+    }
+
+    @Override
+    public int drainTo(Collection<? super ActionableResource> collection, int maxElements) {
+        return queue.drainTo(collection, maxElements);
+    }
+
+    @Override
+    public Iterator<ActionableResource> iterator() {
+        return queue.iterator();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * Largest number of resources the queue has held at once.
+     */
+    public int getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    /**
+     * Number of offered resources which the overflow policy rejected.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Number of queued resources which the overflow policy evicted to make room for others.
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    void recordShed(ActionableResource victim) {
+        shed.increment();
+        LOG.warn("Batching queue {} full, shed {}", name, victim.getKey());
+    }
+
+    private void recordDepth() {
+        int depth = queue.size();
+        if (depth > highWaterMark.get()) {
+            highWaterMark.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static void fail(ActionableResource resource, String message) {
+        ((SettableFuture<Void>) resource.getResultFuture()).setException(new RejectedExecutionException(message));
+    }
+}
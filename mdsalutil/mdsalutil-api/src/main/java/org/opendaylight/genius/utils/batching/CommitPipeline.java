@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.IdentifiableItem;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier.PathArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commits the batches of one resource type over several lanes, keeping up to a window of
+ * transactions in flight instead of committing them one after the other.
+ *
+ * <p>Every {@link ActionableResource} is hashed to a lane by the leading path arguments of its
+ * {@link InstanceIdentifier}, up to and including the first keyed list entry (e.g. the {@code Node}
+ * of a flow). Each lane commits its share of the batches serially, so operations on the same
+ * identifier, and on identifiers below the same top-level list entry, are never reordered.
+ * A batch with an identifier above any list entry (e.g. {@code Nodes} itself), which overlaps
+ * the identifiers of every lane, is a barrier: it is committed as a whole once all the
+ * transactions in flight are committed, and holds off the following batches until it is committed.
+ * A lane whose batch transaction fails falls back to the one-by-one retry of its committer.
+ */
+class CommitPipeline implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommitPipeline.class);
+
+    private static final long CLOSE_TIMEOUT_IN_MS = 10000;
+
+    private final List<ExecutorService> lanes;
+    private final Semaphore window;
+    private final Consumer<List<ActionableResource>> committer;
+
+    CommitPipeline(String resourceType, int windowSize, Consumer<List<ActionableResource>> committer) {
+        Preconditions.checkArgument(windowSize > 1, "windowSize must be greater than 1: %s", windowSize);
+        this.committer = Preconditions.checkNotNull(committer, "committer");
+        this.window = new Semaphore(windowSize);
+        this.lanes = new ArrayList<>(windowSize);
+        for (int i = 0; i < windowSize; i++) {
+            lanes.add(Executors.newSingleThreadExecutor(ThreadFactoryProvider.builder()
+                    .namePrefix("ResourceBatchingManager-" + resourceType + "-lane" + i).logger(LOG).build().get()));
+        }
+    }
+
+    int getWindowSize() {
+        return lanes.size();
+    }
+
+    /**
+     * Splits the batch over the lanes and hands each part to its lane for committing,
+     * blocking while the window of in-flight transactions is full.
+     *
+     * @param batch the operations to commit, in submission order; not retained
+     * @param onCommitted called once every part of the batch has been committed,
+     *                    with the longest commit latency of its parts in nanoseconds
+     * @throws InterruptedException if interrupted before any part of the batch was handed to a lane; once a part
+     *                              is, the rest of the batch is dispatched too and the interrupt is only kept
+     */
+    void dispatch(List<ActionableResource> batch, LongConsumer onCommitted) throws InterruptedException {
+        for (ActionableResource actResource : batch) {
+            if (!isBelowListEntry(actResource.getInstanceIdentifier())) {
+                dispatchBarrier(new ArrayList<>(batch), onCommitted);
+                return;
+            }
+        }
+
+        List<List<ActionableResource>> laneBatches = new ArrayList<>(lanes.size());
+        for (int i = 0; i < lanes.size(); i++) {
+            laneBatches.add(new ArrayList<>());
+        }
+        for (ActionableResource actResource : batch) {
+            laneBatches.get(laneOf(actResource.getInstanceIdentifier(), lanes.size())).add(actResource);
+        }
+
+        int parts = 0;
+        for (List<ActionableResource> laneBatch : laneBatches) {
+            if (!laneBatch.isEmpty()) {
+                parts++;
+            }
+        }
+        AtomicInteger pending = new AtomicInteger(parts);
+        AtomicLong maxLatency = new AtomicLong();
+        boolean dispatched = false;
+        for (int i = 0; i < lanes.size(); i++) {
+            List<ActionableResource> laneBatch = laneBatches.get(i);
+            if (laneBatch.isEmpty()) {
+                continue;
+            }
+            // The caller commits the batch again when interrupted, so the batch can no longer be given up once a
+            // part of it is on its way
+            if (dispatched) {
+                window.acquireUninterruptibly();
+            } else {
+                window.acquire();
+            }
+            dispatched = true;
+            lanes.get(i).execute(() -> {
+                try {
+                    long start = System.nanoTime();
+                    committer.accept(laneBatch);
+                    maxLatency.accumulateAndGet(System.nanoTime() - start, Math::max);
+                } finally {
+                    window.release();
+                    if (pending.decrementAndGet() == 0) {
+                        onCommitted.accept(maxLatency.get());
+                    }
+                }
+            });
+        }
+    }
+
+    private void dispatchBarrier(List<ActionableResource> batch, LongConsumer onCommitted)
+            throws InterruptedException {
+        window.acquire(lanes.size());
+        lanes.get(0).execute(() -> {
+            long latency = 0;
+            try {
+                long start = System.nanoTime();
+                committer.accept(batch);
+                latency = System.nanoTime() - start;
+            } finally {
+                window.release(lanes.size());
+                onCommitted.accept(latency);
+            }
+        });
+    }
+
+    /**
+     * Whether the given identifier is below a list entry, and therefore only overlaps the identifiers of its lane.
+     */
+    static boolean isBelowListEntry(InstanceIdentifier<?> identifier) {
+        if (identifier == null) {
+            return false;
+        }
+        for (PathArgument pathArgument : identifier.getPathArguments()) {
+            if (pathArgument instanceof IdentifiableItem) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lane on which operations on the given identifier are committed, if it is below a list entry.
+     */
+    static int laneOf(InstanceIdentifier<?> identifier, int laneCount) {
+        if (identifier == null) {
+            return 0;
+        }
+        int hash = 1;
+        for (PathArgument pathArgument : identifier.getPathArguments()) {
+            hash = 31 * hash + pathArgument.hashCode();
+            if (pathArgument instanceof IdentifiableItem) {
+                break;
+            }
+        }
+        return Math.floorMod(hash, laneCount);
+    }
+
+    /**
+     * Stops the lanes once they have committed the batches already dispatched to them.
+     */
+    @Override
+    public void close() {
+        lanes.forEach(ExecutorService::shutdown);
+        try {
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(CLOSE_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS)) {
+                    LOG.warn("Lane did not commit its batches within {}ms, dropping them", CLOSE_TIMEOUT_IN_MS);
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            lanes.forEach(ExecutorService::shutdownNow);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
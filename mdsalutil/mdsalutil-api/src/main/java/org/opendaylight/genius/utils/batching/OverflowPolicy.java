@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * What a {@link BoundedResourceQueue} does with an {@link ActionableResource} offered while it is full.
+ */
+@FunctionalInterface
+public interface OverflowPolicy {
+
+    /**
+     * Handles a resource which could not be enqueued because the queue is full.
+     *
+     * @param queue the full queue
+     * @param resource the resource which did not fit
+     * @return true if the resource ended up in the queue, false if it was rejected; in the latter
+     *         case the policy must have completed the resource's result future exceptionally
+     */
+    boolean onOverflow(BoundedResourceQueue queue, ActionableResource resource);
+
+    /**
+     * Makes the producer wait for room in the queue, so no resource is ever lost and a full queue slows its
+     * producers down. The resource is only rejected if the producer is interrupted while waiting.
+     */
+    static OverflowPolicy block() {
+        return (queue, resource) -> {
+            try {
+                queue.put(resource);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                BoundedResourceQueue.fail(resource, "Interrupted while waiting for room in the batching queue");
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Makes the producer wait up to the given time for room in the queue, then rejects the resource, failing its
+     * result future.
+     */
+    static OverflowPolicy block(long timeout, TimeUnit unit) {
+        return (queue, resource) -> {
+            try {
+                if (queue.offer(resource, timeout, unit)) {
+                    return true;
+                }
+                BoundedResourceQueue.fail(resource, "Batching queue still full after waiting, rejected "
+                        + resource.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                BoundedResourceQueue.fail(resource, "Interrupted while waiting for room in the batching queue");
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Rejects the resource, failing its result future.
+     */
+    static OverflowPolicy reject() {
+        return (queue, resource) -> {
+            BoundedResourceQueue.fail(resource, "Batching queue full, rejected " + resource.getKey());
+            return false;
+        };
+    }
+
+    /**
+     * Evicts the queued resource of lowest priority to make room, if its priority is lower than the
+     * one of the offered resource; otherwise rejects the offered resource. Evicted resources have their
+     * result future failed. Finding the victim is linear in the queue size, but only happens on overflow.
+     *
+     * @param priority priority of a resource, higher values are kept longer
+     */
+    static OverflowPolicy shedLowestPriority(ToIntFunction<ActionableResource> priority) {
+        return (queue, resource) -> {
+            int offeredPriority = priority.applyAsInt(resource);
+            ActionableResource victim = null;
+            int victimPriority = offeredPriority;
+            for (ActionableResource queued : queue) {
+                int queuedPriority = priority.applyAsInt(queued);
+                if (queuedPriority < victimPriority) {
+                    victim = queued;
+                    victimPriority = queuedPriority;
+                }
+            }
+            if (victim != null && queue.remove(victim)) {
+                queue.recordShed(victim);
+                BoundedResourceQueue.fail(victim, "Batching queue full, shed " + victim.getKey());
+                if (queue.tryEnqueue(resource)) {
+                    return true;
+                }
+            }
+            BoundedResourceQueue.fail(resource, "Batching queue full, rejected " + resource.getKey());
+            return false;
+        };
+    }
+
+    /**
+     * Default priorities for {@link #shedLowestPriority(ToIntFunction)}: deletes are kept longest, as losing
+     * one leaves stale state behind, followed by puts; merges are shed first.
+     */
+    static int actionPriority(ActionableResource resource) {
+        switch (resource.getAction()) {
+            case ActionableResource.DELETE:
+                return 2;
+            case ActionableResource.CREATE:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+}
@@ -8,10 +8,14 @@
 package org.opendaylight.genius.utils.batching;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,7 +23,6 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -27,6 +30,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.infrautils.counters.api.OccurenceCounter;
 import org.opendaylight.infrautils.utils.concurrent.ThreadFactoryProvider;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -46,10 +50,22 @@ public class ResourceBatchingManager implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(ResourceBatchingManager.class);
 
     private static final int INITIAL_DELAY = 3000;
+    private static final long SHUTDOWN_TIMEOUT_IN_MS = 10000;
     private static final TimeUnit TIME_UNIT = TimeUnit.MILLISECONDS;
 
     private static final int PERIODICITY_IN_MS = 500;
     private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_LATENCY_TARGET_IN_MS = 250;
+    private static final int INFLIGHT_WINDOW = 1;
+
+    private static final long COMMIT_LATENCY_TARGET =
+            Long.getLong("resource.manager.batch.commit.latency.target.ms", COMMIT_LATENCY_TARGET_IN_MS);
+
+    /**
+     * Number of batch transactions kept in flight per resource type; 1 commits them serially.
+     */
+    private static final int INFLIGHT_WINDOW_SIZE =
+            Integer.getInteger("resource.manager.batch.inflight.window", INFLIGHT_WINDOW);
 
     public enum ShardResource {
         CONFIG_TOPOLOGY(LogicalDatastoreType.CONFIGURATION),
@@ -57,7 +73,7 @@ public class ResourceBatchingManager implements AutoCloseable {
         CONFIG_INVENTORY(LogicalDatastoreType.CONFIGURATION),
         OPERATIONAL_INVENTORY(LogicalDatastoreType.OPERATIONAL);
 
-        BlockingQueue<ActionableResource> queue = new LinkedBlockingQueue<>();
+        BlockingQueue<ActionableResource> queue = BoundedResourceQueue.newDefaultQueue(name());
         LogicalDatastoreType datastoreType;
 
         ShardResource(LogicalDatastoreType datastoreType) {
@@ -79,6 +95,12 @@ public class ResourceBatchingManager implements AutoCloseable {
     private final ConcurrentHashMap<String, ScheduledThreadPoolExecutor>
             resourceBatchingThreadMapper = new ConcurrentHashMap<>();
 
+    private final ConcurrentHashMap<String, CommitPipeline>
+            resourceCommitPipelineMapper = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, OccurenceCounter>
+            elidedOperationCounters = new ConcurrentHashMap<>();
+
     private static ResourceBatchingManager instance;
 
     static {
@@ -91,8 +113,8 @@ public class ResourceBatchingManager implements AutoCloseable {
 
     @Override
     public void close() {
-        LOG.trace("ResourceBatchingManager Closed, closing all batched resources");
-        resourceBatchingThreadMapper.values().forEach(ScheduledThreadPoolExecutor::shutdown);
+        LOG.trace("ResourceBatchingManager Closed, committing and closing all batched resources");
+        new ArrayList<>(resourceBatchingThreadMapper.keySet()).forEach(this::stopBatching);
     }
 
     public void registerBatchableResource(
@@ -100,6 +122,10 @@ public class ResourceBatchingManager implements AutoCloseable {
         Preconditions.checkNotNull(resQueue, "ResourceQueue to use for batching cannot not be null.");
         Preconditions.checkNotNull(resHandler, "ResourceHandler cannot not be null.");
 
+        if (!(resQueue instanceof BoundedResourceQueue)) {
+            LOG.warn("ResourceType {} registered with a queue which is not a BoundedResourceQueue, "
+                    + "its memory use is not bounded", resourceType);
+        }
         resourceHandlerMapper.put(resourceType, new ImmutablePair<>(resQueue, resHandler));
         ScheduledThreadPoolExecutor resDelegatorService = (ScheduledThreadPoolExecutor)
                 Executors.newScheduledThreadPool(1, ThreadFactoryProvider.builder()
@@ -107,10 +133,17 @@ public class ResourceBatchingManager implements AutoCloseable {
         resourceBatchingThreadMapper.put(resourceType, resDelegatorService);
         LOG.info("Registered resourceType {} with batchSize {} and batchInterval {}", resourceType,
                 resHandler.getBatchSize(), resHandler.getBatchInterval());
-        if (resDelegatorService.getPoolSize() == 0) {
-            resDelegatorService.scheduleWithFixedDelay(
-                    new Batcher(resourceType), INITIAL_DELAY, resHandler.getBatchInterval(), TIME_UNIT);
+        AdaptiveFlushPolicy flushPolicy = new AdaptiveFlushPolicy(resHandler.getBatchSize(),
+                resHandler.getBatchInterval(), COMMIT_LATENCY_TARGET);
+        CommitPipeline pipeline = null;
+        if (INFLIGHT_WINDOW_SIZE > 1) {
+            pipeline = new CommitPipeline(resourceType, INFLIGHT_WINDOW_SIZE,
+                    batch -> new MdsalDsTask<>(resourceType, batch).process());
+            resourceCommitPipelineMapper.put(resourceType, pipeline);
+            LOG.info("Pipelining resourceType {} with {} transactions in flight", resourceType,
+                    INFLIGHT_WINDOW_SIZE);
         }
+        resDelegatorService.schedule(new Batcher(resourceType, flushPolicy, pipeline), INITIAL_DELAY, TIME_UNIT);
     }
 
     public void registerDefaultBatchHandlers(DataBroker broker) {
@@ -196,6 +229,54 @@ public class ResourceBatchingManager implements AutoCloseable {
         }
     }
 
+    /**
+     * Number of operations of the given resource type which were superseded by a later put or delete
+     * of the same {@link InstanceIdentifier} within a batch, and therefore never written to the datastore.
+     */
+    public long getElidedOperationCount(String resourceType) {
+        OccurenceCounter counter = elidedOperationCounters.get(resourceType);
+        return counter != null ? counter.get() : 0;
+    }
+
+    public long getElidedOperationCount(ShardResource shardResource) {
+        return getElidedOperationCount(shardResource.name());
+    }
+
+    /**
+     * Number of resources currently waiting to be batched for the given resource type.
+     */
+    public int getQueueDepth(String resourceType) {
+        BlockingQueue<ActionableResource> queue = getQueue(resourceType);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Largest number of resources which have waited to be batched at once for the given resource type,
+     * or -1 if the resource type was not registered with a {@link BoundedResourceQueue}.
+     */
+    public int getQueueHighWaterMark(String resourceType) {
+        BlockingQueue<ActionableResource> queue = getQueue(resourceType);
+        return queue instanceof BoundedResourceQueue ? ((BoundedResourceQueue) queue).getHighWaterMark() : -1;
+    }
+
+    /**
+     * Number of resources of the given resource type which were rejected or shed because its queue was full,
+     * or -1 if the resource type was not registered with a {@link BoundedResourceQueue}.
+     */
+    public long getQueueDroppedCount(String resourceType) {
+        BlockingQueue<ActionableResource> queue = getQueue(resourceType);
+        if (!(queue instanceof BoundedResourceQueue)) {
+            return -1;
+        }
+        BoundedResourceQueue boundedQueue = (BoundedResourceQueue) queue;
+        return boundedQueue.getRejectedCount() + boundedQueue.getShedCount();
+    }
+
+    private OccurenceCounter getElidedOperationCounter(String resourceType) {
+        return elidedOperationCounters.computeIfAbsent(resourceType, type -> new OccurenceCounter(
+                getClass().getSimpleName(), type + "_elided", "operations elided by batch coalescing"));
+    }
+
     private BlockingQueue<ActionableResource> getQueue(String resourceType) {
         if (resourceHandlerMapper.containsKey(resourceType)) {
             return resourceHandlerMapper.get(resourceType).getLeft();
@@ -204,64 +285,137 @@ public class ResourceBatchingManager implements AutoCloseable {
     }
 
     public void deregisterBatchableResource(String resourceType) {
-        ScheduledThreadPoolExecutor scheduledThreadPoolExecutor = resourceBatchingThreadMapper.get(resourceType);
-        if (scheduledThreadPoolExecutor != null) {
-            scheduledThreadPoolExecutor.shutdown();
-        }
+        stopBatching(resourceType);
         resourceHandlerMapper.remove(resourceType);
-        resourceBatchingThreadMapper.remove(resourceType);
     }
 
+    /**
+     * Stops batching the given resource type; the resources still queued are committed first.
+     */
+    private void stopBatching(String resourceType) {
+        ScheduledThreadPoolExecutor resDelegatorService = resourceBatchingThreadMapper.remove(resourceType);
+        CommitPipeline pipeline = resourceCommitPipelineMapper.remove(resourceType);
+        if (resDelegatorService == null) {
+            return;
+        }
+        if (!resDelegatorService.shutdownNow().isEmpty()) {
+            // the Batcher has not started yet
+            commitRemaining(resourceType, pipeline, new ArrayList<>());
+            return;
+        }
+        // the running Batcher is interrupted, and commits the remaining resources itself
+        try {
+            if (!resDelegatorService.awaitTermination(SHUTDOWN_TIMEOUT_IN_MS, TIME_UNIT)) {
+                LOG.warn("Batching of resourceType {} did not stop within {}ms, queued resources may be lost",
+                        resourceType, SHUTDOWN_TIMEOUT_IN_MS);
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while waiting for the batching of resourceType {} to stop", resourceType);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Commits the given resources and those still queued for the given resource type, after the batches
+     * already handed to its pipeline so that operations on the same identifier are not reordered.
+     */
+    private void commitRemaining(String resourceType, CommitPipeline pipeline, List<ActionableResource> resList) {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+        BlockingQueue<ActionableResource> resQueue = getQueue(resourceType);
+        if (resQueue != null) {
+            resQueue.drainTo(resList);
+        }
+        if (!resList.isEmpty()) {
+            LOG.info("Committing {} remaining resources of resourceType {}", resList.size(), resourceType);
+            new MdsalDsTask<>(resourceType, BatchCoalescer.coalesce(resList)).process();
+        }
+    }
+
+    /**
+     * Long running loop which flushes a batch as soon as it is full or its oldest resource
+     * has waited for the batch interval, see {@link AdaptiveFlushPolicy}. Batches are committed
+     * inline, or handed to the {@link CommitPipeline} of the resource type if there is one.
+     */
     private class Batcher implements Runnable {
         private final String resourceType;
+        private final AdaptiveFlushPolicy flushPolicy;
+        private final CommitPipeline pipeline;
 
-        Batcher(String resourceType) {
+        Batcher(String resourceType, AdaptiveFlushPolicy flushPolicy, CommitPipeline pipeline) {
             this.resourceType = resourceType;
+            this.flushPolicy = flushPolicy;
+            this.pipeline = pipeline;
         }
 
         @Override
         public void run() {
+            Pair<BlockingQueue<ActionableResource>, ResourceHandler> resMapper =
+                    resourceHandlerMapper.get(resourceType);
+            if (resMapper == null) {
+                LOG.error("Unable to find resourceMapper for batching the ResourceType {}", resourceType);
+                return;
+            }
+            BlockingQueue<ActionableResource> resQueue = resMapper.getLeft();
+            OccurenceCounter elidedCounter = getElidedOperationCounter(resourceType);
             List<ActionableResource> resList = new ArrayList<>();
 
             try {
-                Pair<BlockingQueue<ActionableResource>, ResourceHandler> resMapper =
-                        resourceHandlerMapper.get(resourceType);
-                if (resMapper == null) {
-                    LOG.error("Unable to find resourceMapper for batching the ResourceType {}", resourceType);
-                    return;
-                }
-                BlockingQueue<ActionableResource> resQueue = resMapper.getLeft();
-                ResourceHandler resHandler = resMapper.getRight();
-                resList.add(resQueue.take());
-                resQueue.drainTo(resList);
-
-                long start = System.currentTimeMillis();
-                int batchSize = resHandler.getBatchSize();
-
-                int batches = resList.size() / batchSize;
-                if (resList.size() > batchSize) {
-                    LOG.info("Batched up resources of size {} into batches {} for resourcetype {}",
-                            resList.size(), batches, resourceType);
-                    for (int i = 0, j = 0; i < batches; j = j + batchSize,i++) {
-                        new MdsalDsTask<>(resourceType, resList.subList(j, j + batchSize)).process();
+                while (!Thread.currentThread().isInterrupted()) {
+                    collectBatch(resQueue, resList);
+                    List<ActionableResource> effectiveList = BatchCoalescer.coalesce(resList);
+                    int elided = resList.size() - effectiveList.size();
+                    if (elided > 0) {
+                        elidedCounter.add(elided);
                     }
-                    // process remaining routes
-                    LOG.trace("Picked up 1 size {} ", resList.subList(batches * batchSize, resList.size()).size());
-                    new MdsalDsTask<>(resourceType, resList.subList(batches * batchSize, resList.size())).process();
-                } else {
-                    // process less than OR == batchsize routes
-                    LOG.trace("Picked up 2 size {}", resList.size());
-                    new MdsalDsTask<>(resourceType, resList).process();
-                }
-
-                long timetaken = System.currentTimeMillis() - start;
-                LOG.info("Total taken ##time = {}ms for resourceList of size {} for resourceType {}",
-                        timetaken, resList.size(), resourceType);
 
+                    int collected = resList.size();
+                    if (pipeline != null) {
+                        pipeline.dispatch(effectiveList, timetaken -> onCommitted(collected, elided, timetaken));
+                    } else {
+                        long start = System.nanoTime();
+                        new MdsalDsTask<>(resourceType, effectiveList).process();
+                        onCommitted(collected, elided, System.nanoTime() - start);
+                    }
+                    resList.clear();
+                }
             } catch (InterruptedException e) {
-                LOG.error("InterruptedException during run()", e);
+                LOG.trace("Batching of resourceType {} interrupted", resourceType);
             }
+            // the batch being collected, if any, and the queued resources are committed before stopping
+            Thread.interrupted();
+            LOG.info("Batching of resourceType {} stopping", resourceType);
+            commitRemaining(resourceType, pipeline, resList);
+            Thread.currentThread().interrupt();
+        }
 
+        private void onCommitted(int collected, int elided, long timetaken) {
+            flushPolicy.onCommit(collected, timetaken);
+            LOG.debug("Total taken ##time = {}ms for resourceList of size {} ({} elided) "
+                    + "for resourceType {}, next batchSize {}", TimeUnit.NANOSECONDS.toMillis(timetaken),
+                    collected - elided, elided, resourceType, flushPolicy.getBatchSize());
+        }
+
+        private void collectBatch(BlockingQueue<ActionableResource> resQueue, List<ActionableResource> resList)
+                throws InterruptedException {
+            resList.add(resQueue.take());
+            int batchSize = flushPolicy.getBatchSize();
+            long deadline = System.nanoTime() + flushPolicy.getMaxWaitNanos();
+            while (resList.size() < batchSize) {
+                if (resQueue.drainTo(resList, batchSize - resList.size()) > 0) {
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                ActionableResource next = resQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                resList.add(next);
+            }
         }
     }
 
@@ -326,7 +480,16 @@ public class ResourceBatchingManager implements AutoCloseable {
                 long time = System.currentTimeMillis() - start;
                 LOG.trace("##### Time taken for {} = {}ms", actResourceList.size(), time);
 
-            } catch (InterruptedException | ExecutionException e) {
+            } catch (InterruptedException e) {
+                // Batching is stopping: the outcome of the submitted transaction completes the result futures,
+                // without waiting for it or retrying the operations one at a time
+                LOG.warn("Interrupted while committing a batch of resType {}, not waiting for it", resourceType);
+                List<SettableFuture<Void>> resultFutures = new ArrayList<>();
+                actResourceList.forEach(actionableResource ->
+                        resultFutures.add((SettableFuture<Void>) actionableResource.getResultFuture()));
+                completeWith(futures, resultFutures);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
                 LOG.error("Exception occurred while batch writing to datastore", e);
                 LOG.info("Trying to submit transaction operations one at a time for resType {}", resourceType);
                 for (SubTransaction object : transactionObjects) {
@@ -356,7 +519,12 @@ public class ResourceBatchingManager implements AutoCloseable {
                             LOG.error("Subtx object {} has no Actionable-resource associated with it !! ",
                                     object.getInstanceIdentifier());
                         }
-                    } catch (InterruptedException | ExecutionException exception) {
+                    } catch (InterruptedException exception) {
+                        if (txMap.containsKey(object)) {
+                            completeWith(futureOperation, Collections.singletonList(txMap.get(object)));
+                        }
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException exception) {
                         if (txMap.containsKey(object)) {
                             txMap.get(object).setException(exception);
                         }
@@ -366,5 +534,20 @@ public class ResourceBatchingManager implements AutoCloseable {
                 }
             }
         }
+
+        private void completeWith(ListenableFuture<Void> commit, Collection<SettableFuture<Void>> resultFutures) {
+            Futures.addCallback(commit, new FutureCallback<Void>() {
+                @Override
+                public void onSuccess(Void result) {
+                    resultFutures.forEach(resultFuture -> resultFuture.set(null));
+                }
+
+                @Override
+                public void onFailure(Throwable error) {
+                    LOG.error("Batch commit of resType {} failed while stopping", resourceType, error);
+                    resultFutures.forEach(resultFuture -> resultFuture.setException(error));
+                }
+            }, MoreExecutors.directExecutor());
+        }
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.mdsalutil.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opendaylight.controller.liblldp.EtherTypes;
+import org.opendaylight.controller.liblldp.NetUtils;
+import org.opendaylight.genius.mdsalutil.packet.ARP;
+import org.opendaylight.genius.mdsalutil.packet.ArpView;
+import org.opendaylight.genius.mdsalutil.packet.Ethernet;
+import org.opendaylight.genius.mdsalutil.packet.EthernetView;
+import org.opendaylight.genius.mdsalutil.packet.IPv4View;
+import org.opendaylight.genius.mdsalutil.packet.UdpView;
+
+/**
+ * Unit test for the flyweight packet views, against the deserializing packet classes.
+ */
+public class PacketViewTest {
+
+    private static final byte[] SRC_MAC = { 0x00, 0x11, 0x22, 0x33, 0x44, 0x55 };
+    private static final byte[] DST_MAC = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+        (byte) 0xFF };
+    private static final byte[] SRC_IP = { 10, 0, 0, 1 };
+    private static final byte[] DST_IP = { 10, 0, 0, 2 };
+
+    // 802.1Q tagged (VLAN 100) IPv4 UDP packet from 10.0.0.1:68 to 10.0.0.2:67, with 4 bytes of data
+    private static final byte[] VLAN_UDP_FRAME = {
+        // Ethernet
+        0x00, 0x11, 0x22, 0x33, 0x44, 0x66, 0x00, 0x11, 0x22, 0x33, 0x44, 0x55, (byte) 0x81, 0x00,
+        // 802.1Q
+        0x00, 0x64, 0x08, 0x00,
+        // IPv4
+        0x45, 0x00, 0x00, 0x20, 0x12, 0x34, 0x40, 0x00, 0x40, 0x11, 0x00, 0x00, 10, 0, 0, 1, 10, 0, 0, 2,
+        // UDP
+        0x00, 0x44, 0x00, 0x43, 0x00, 0x0C, 0x00, 0x00,
+        // data, then Ethernet padding
+        1, 2, 3, 4, 0, 0, 0, 0 };
+
+    @Test
+    public void testArpMatchesDeserializedArp() throws Exception {
+        ARP arp = new ARP();
+        arp.setHardwareType(ARP.HW_TYPE_ETHERNET).setProtocolType(EtherTypes.IPv4.shortValue())
+                .setHardwareAddressLength((byte) 6).setProtocolAddressLength((byte) 4).setOpCode(ARP.REQUEST)
+                .setSenderHardwareAddress(SRC_MAC).setSenderProtocolAddress(SRC_IP)
+                .setTargetHardwareAddress(new byte[6]).setTargetProtocolAddress(DST_IP);
+        Ethernet ethernet = new Ethernet();
+        ethernet.setSourceMACAddress(SRC_MAC).setDestinationMACAddress(DST_MAC)
+                .setEtherType(EtherTypes.ARP.shortValue()).setPayload(arp);
+        byte[] frame = ethernet.serialize();
+
+        Ethernet decodedEthernet = new Ethernet();
+        decodedEthernet.deserialize(frame, 0, frame.length * NetUtils.NumBitsInAByte);
+        ARP decodedArp = (ARP) decodedEthernet.getPayload();
+
+        EthernetView ethernetView = new EthernetView().wrap(frame);
+        assertTrue(ethernetView.isValid());
+        assertEquals(decodedEthernet.getEtherType(), ethernetView.getEtherType());
+        assertEquals(decodedEthernet.getEtherType(), ethernetView.getPayloadEtherType());
+        assertEquals(-1, ethernetView.getVlanId());
+        assertArrayEquals(decodedEthernet.getSourceMACAddress(), ethernetView.copySourceMACAddress());
+        assertArrayEquals(decodedEthernet.getDestinationMACAddress(), ethernetView.copyDestinationMACAddress());
+        assertEquals(0x001122334455L, ethernetView.getSourceMACAddress());
+        assertTrue(ethernetView.isBroadcast());
+        assertNull(ethernetView.getIPv4());
+
+        ArpView arpView = ethernetView.getArp();
+        assertTrue(arpView.isValid());
+        assertEquals(decodedArp.getHardwareType(), arpView.getHardwareType());
+        assertEquals(decodedArp.getProtocolType(), arpView.getProtocolType());
+        assertEquals(decodedArp.getOpCode(), arpView.getOpCode());
+        assertArrayEquals(decodedArp.getSenderHardwareAddress(), arpView.copySenderHardwareAddress());
+        assertArrayEquals(decodedArp.getSenderProtocolAddress(), arpView.copySenderProtocolAddress());
+        assertArrayEquals(decodedArp.getTargetHardwareAddress(), arpView.copyTargetHardwareAddress());
+        assertArrayEquals(decodedArp.getTargetProtocolAddress(), arpView.copyTargetProtocolAddress());
+        assertEquals(0x0A000001, arpView.getSenderProtocolAddress());
+        assertEquals(0x0A000002, arpView.getTargetProtocolAddress());
+    }
+
+    @Test
+    public void testVlanTaggedUdp() {
+        EthernetView ethernetView = new EthernetView().wrap(VLAN_UDP_FRAME);
+        assertTrue(ethernetView.isValid());
+        assertEquals(EtherTypes.VLANTAGGED.shortValue(), ethernetView.getEtherType());
+        assertEquals(EtherTypes.IPv4.shortValue(), ethernetView.getPayloadEtherType());
+        assertEquals(100, ethernetView.getVlanId());
+        assertFalse(ethernetView.isBroadcast());
+        assertNull(ethernetView.getArp());
+
+        IPv4View ipv4View = ethernetView.getIPv4();
+        assertTrue(ipv4View.isValid());
+        assertEquals(18, ipv4View.getOffset());
+        assertEquals(20, ipv4View.getHeaderLength());
+        assertEquals(32, ipv4View.getTotalLength());
+        assertEquals(0x1234, ipv4View.getIdentification());
+        assertEquals(2, ipv4View.getFlags());
+        assertEquals(64, ipv4View.getTtl());
+        assertArrayEquals(SRC_IP, ipv4View.copySourceAddress());
+        assertArrayEquals(DST_IP, ipv4View.copyDestinationAddress());
+        assertNull(ipv4View.getTcp());
+        assertNull(ipv4View.getIcmp());
+
+        UdpView udpView = ipv4View.getUdp();
+        assertTrue(udpView.isValid());
+        assertEquals(68, udpView.getSourcePort());
+        assertEquals(67, udpView.getDestinationPort());
+        assertEquals(12, udpView.getUdpLength());
+        // the Ethernet padding is not part of the UDP datagram
+        assertEquals(12, udpView.getLength());
+        assertEquals(1, VLAN_UDP_FRAME[udpView.getPayloadOffset()]);
+    }
+
+    @Test
+    public void testTruncatedFramesAreInvalid() {
+        assertFalse(new EthernetView().wrap(new byte[10]).isValid());
+        EthernetView ethernetView = new EthernetView().wrap(VLAN_UDP_FRAME, 0, 16);
+        assertFalse(ethernetView.isValid());
+        ethernetView.wrap(VLAN_UDP_FRAME, 0, 30);
+        assertTrue(ethernetView.isValid());
+        assertFalse(ethernetView.getIPv4().isValid());
+    }
+}
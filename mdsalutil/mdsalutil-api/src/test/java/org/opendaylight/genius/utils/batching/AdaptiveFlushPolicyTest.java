@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Unit Test for {@link AdaptiveFlushPolicy}.
+ */
+public class AdaptiveFlushPolicyTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    public void startsAtConfiguredBatchSize() {
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(1000, 500, 250);
+        assertThat(policy.getBatchSize()).isEqualTo(1000);
+        assertThat(policy.getMaxWaitNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    public void slowCommitShrinksBatchSizeDownToMinimum() {
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(1000, 500, 250);
+        policy.onCommit(1000, SLOW);
+        assertThat(policy.getBatchSize()).isEqualTo(500);
+        for (int i = 0; i < 20; i++) {
+            policy.onCommit(policy.getBatchSize(), SLOW);
+        }
+        assertThat(policy.getBatchSize()).isEqualTo(16);
+    }
+
+    @Test
+    public void fastFullCommitsGrowBatchSizeBackUpToMaximum() {
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(1000, 500, 250);
+        policy.onCommit(1000, SLOW);
+        policy.onCommit(500, FAST);
+        assertThat(policy.getBatchSize()).isEqualTo(600);
+        for (int i = 0; i < 10; i++) {
+            policy.onCommit(policy.getBatchSize(), FAST);
+        }
+        assertThat(policy.getBatchSize()).isEqualTo(1000);
+    }
+
+    @Test
+    public void partialBatchDoesNotGrowBatchSize() {
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(1000, 500, 250);
+        policy.onCommit(1000, SLOW);
+        policy.onCommit(10, FAST);
+        assertThat(policy.getBatchSize()).isEqualTo(500);
+    }
+
+    @Test
+    public void smallMaximumIsNeverExceeded() {
+        AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(4, 500, 250);
+        policy.onCommit(4, SLOW);
+        assertThat(policy.getBatchSize()).isEqualTo(4);
+        policy.onCommit(4, FAST);
+        assertThat(policy.getBatchSize()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Unit Test for {@link BatchCoalescer}.
+ */
+public class BatchCoalescerTest {
+
+    private static final InstanceIdentifier<Node> NODE_A = nodePath("openflow:1");
+    private static final InstanceIdentifier<Node> NODE_B = nodePath("openflow:2");
+
+    @Test
+    public void flapCollapsesToLastWrite() throws InterruptedException, ExecutionException {
+        ActionableResource write1 = resource(NODE_A, ActionableResource.CREATE);
+        ActionableResource delete = resource(NODE_A, ActionableResource.DELETE);
+        ActionableResource write2 = resource(NODE_A, ActionableResource.CREATE);
+        ActionableResource mergeB = resource(NODE_B, ActionableResource.UPDATE);
+
+        List<ActionableResource> effective = BatchCoalescer.coalesce(Arrays.asList(write1, mergeB, delete, write2));
+        assertThat(effective).containsExactly(mergeB, write2).inOrder();
+
+        assertThat(write1.getResultFuture().isDone()).isFalse();
+        ((SettableFuture<Void>) write2.getResultFuture()).set(null);
+        assertThat(write1.getResultFuture().isDone()).isTrue();
+        assertThat(delete.getResultFuture().get()).isNull();
+    }
+
+    @Test
+    public void failureOfSurvivorFailsElidedOperations() {
+        ActionableResource write = resource(NODE_A, ActionableResource.CREATE);
+        ActionableResource delete = resource(NODE_A, ActionableResource.DELETE);
+
+        assertThat(BatchCoalescer.coalesce(Arrays.asList(write, delete))).containsExactly(delete);
+        ((SettableFuture<Void>) delete.getResultFuture()).setException(new IllegalStateException("boom"));
+        try {
+            write.getResultFuture().get();
+            throw new AssertionError("Expected ExecutionException");
+        } catch (InterruptedException | ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void mergesAreNeverElided() {
+        ActionableResource write = resource(NODE_A, ActionableResource.CREATE);
+        ActionableResource merge1 = resource(NODE_A, ActionableResource.UPDATE);
+        ActionableResource merge2 = resource(NODE_A, ActionableResource.UPDATE);
+        List<ActionableResource> batch = Arrays.asList(write, merge1, merge2);
+
+        assertThat(BatchCoalescer.coalesce(batch)).isSameAs(batch);
+    }
+
+    @Test
+    public void writeAfterMergeElidesMerge() {
+        ActionableResource merge = resource(NODE_A, ActionableResource.UPDATE);
+        ActionableResource write = resource(NODE_A, ActionableResource.CREATE);
+
+        assertThat(BatchCoalescer.coalesce(Arrays.asList(merge, write))).containsExactly(write);
+    }
+
+    private static ActionableResource resource(InstanceIdentifier<Node> path, short action) {
+        return new ActionableResourceImpl(path.toString(), path, action, null, null);
+    }
+
+    private static InstanceIdentifier<Node> nodePath(String nodeId) {
+        return InstanceIdentifier.create(Nodes.class).child(Node.class, new NodeKey(new NodeId(nodeId)));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Unit Test for {@link BoundedResourceQueue} and its {@link OverflowPolicy}s.
+ */
+public class BoundedResourceQueueTest {
+
+    @Test
+    public void rejectFailsFutureWithoutThrowing() {
+        BoundedResourceQueue queue = new BoundedResourceQueue(2, OverflowPolicy.reject());
+        ActionableResource first = resource(ActionableResource.CREATE);
+        ActionableResource second = resource(ActionableResource.CREATE);
+        ActionableResource third = resource(ActionableResource.CREATE);
+
+        assertThat(queue.add(first)).isTrue();
+        assertThat(queue.add(second)).isTrue();
+        assertThat(queue.add(third)).isFalse();
+
+        assertThat(queue).containsExactly(first, second).inOrder();
+        assertRejected(third);
+        assertThat(queue.getRejectedCount()).isEqualTo(1);
+        assertThat(queue.getHighWaterMark()).isEqualTo(2);
+    }
+
+    @Test
+    public void blockRejectsOnceTheWaitIsOver() throws InterruptedException {
+        BoundedResourceQueue queue = new BoundedResourceQueue(1, OverflowPolicy.block(10, TimeUnit.MILLISECONDS));
+        ActionableResource first = resource(ActionableResource.CREATE);
+        ActionableResource second = resource(ActionableResource.CREATE);
+
+        assertThat(queue.offer(first)).isTrue();
+        assertThat(queue.offer(second)).isFalse();
+        assertRejected(second);
+        assertThat(queue.getRejectedCount()).isEqualTo(1);
+
+        queue.take();
+        assertThat(queue.offer(second)).isTrue();
+    }
+
+    @Test
+    public void blockWaitsForRoomWithoutLosingResources() throws InterruptedException {
+        BoundedResourceQueue queue = new BoundedResourceQueue(1, OverflowPolicy.block());
+        ActionableResource first = resource(ActionableResource.CREATE);
+        ActionableResource second = resource(ActionableResource.CREATE);
+        queue.add(first);
+
+        Thread producer = new Thread(() -> queue.add(second));
+        producer.start();
+        producer.join(50);
+        assertThat(producer.isAlive()).isTrue();
+
+        assertThat(queue.take()).isSameAs(first);
+        producer.join();
+        assertThat(queue).containsExactly(second);
+        assertThat(second.getResultFuture().isDone()).isFalse();
+        assertThat(queue.getRejectedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void defaultQueueBlocksUnlessDroppingIsEnabled() throws InterruptedException {
+        System.setProperty("resource.manager.batch.queue.capacity", "1");
+        System.setProperty("resource.manager.batch.queue.DROPPING.overflow", "reject");
+        try {
+            BoundedResourceQueue dropping = BoundedResourceQueue.newDefaultQueue("DROPPING");
+            dropping.add(resource(ActionableResource.CREATE));
+            assertThat(dropping.add(resource(ActionableResource.CREATE))).isFalse();
+
+            BoundedResourceQueue blocking = BoundedResourceQueue.newDefaultQueue("BLOCKING");
+            blocking.add(resource(ActionableResource.CREATE));
+            Thread producer = new Thread(() -> blocking.add(resource(ActionableResource.CREATE)));
+            producer.start();
+            producer.join(50);
+            assertThat(producer.isAlive()).isTrue();
+            blocking.take();
+            producer.join();
+            assertThat(blocking.size()).isEqualTo(1);
+            assertThat(blocking.getRejectedCount()).isEqualTo(0);
+        } finally {
+            System.clearProperty("resource.manager.batch.queue.capacity");
+            System.clearProperty("resource.manager.batch.queue.DROPPING.overflow");
+        }
+    }
+
+    @Test
+    public void shedEvictsLowerPriorityWork() {
+        BoundedResourceQueue queue = new BoundedResourceQueue(2,
+                OverflowPolicy.shedLowestPriority(OverflowPolicy::actionPriority));
+        ActionableResource merge = resource(ActionableResource.UPDATE);
+        ActionableResource put = resource(ActionableResource.CREATE);
+        ActionableResource delete = resource(ActionableResource.DELETE);
+        ActionableResource anotherMerge = resource(ActionableResource.UPDATE);
+
+        queue.add(merge);
+        queue.add(put);
+        assertThat(queue.add(delete)).isTrue();
+        assertThat(queue).containsExactly(put, delete).inOrder();
+        assertRejected(merge);
+        assertThat(queue.getShedCount()).isEqualTo(1);
+
+        assertThat(queue.add(anotherMerge)).isFalse();
+        assertRejected(anotherMerge);
+        assertThat(queue.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void highWaterMarkSurvivesDraining() {
+        BoundedResourceQueue queue = new BoundedResourceQueue(10, OverflowPolicy.block(1, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            queue.add(resource(ActionableResource.CREATE));
+        }
+        List<ActionableResource> drained = new ArrayList<>();
+        queue.drainTo(drained);
+
+        assertThat(drained).hasSize(5);
+        assertThat(queue.size()).isEqualTo(0);
+        assertThat(queue.getHighWaterMark()).isEqualTo(5);
+        assertThat(queue.getCapacity()).isEqualTo(10);
+    }
+
+    private static ActionableResource resource(short action) {
+        return new ActionableResourceImpl("key", null, action, null, null);
+    }
+
+    private static void assertRejected(ActionableResource resource) {
+        assertThat(resource.getResultFuture().isDone()).isTrue();
+        try {
+            resource.getResultFuture().get();
+            throw new AssertionError("Expected ExecutionException");
+        } catch (InterruptedException | ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(RejectedExecutionException.class);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2017 Ericsson India Global Services Pvt Ltd. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.genius.utils.batching;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeConnectorId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.NodeId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.Nodes;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.node.NodeConnector;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.node.NodeConnectorKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.Node;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.inventory.rev130819.nodes.NodeKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Unit Test for {@link CommitPipeline}.
+ */
+public class CommitPipelineTest {
+
+    private static final int LANES = 4;
+
+    @Test
+    public void pathsBelowTheSameListEntryShareALane() {
+        InstanceIdentifier<Node> node = nodePath(1);
+        int lane = CommitPipeline.laneOf(node, LANES);
+        assertThat(CommitPipeline.laneOf(nodePath(1), LANES)).isEqualTo(lane);
+        assertThat(CommitPipeline.laneOf(connectorPath(1, 1), LANES)).isEqualTo(lane);
+        assertThat(CommitPipeline.laneOf(connectorPath(1, 2), LANES)).isEqualTo(lane);
+        assertThat(CommitPipeline.laneOf(null, LANES)).isEqualTo(0);
+    }
+
+    @Test
+    public void dispatchPreservesOrderWithinLanes() throws InterruptedException {
+        List<List<ActionableResource>> committed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        try (CommitPipeline pipeline = new CommitPipeline("test", LANES, committed::add)) {
+            List<ActionableResource> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                batch.add(resource(connectorPath(i % 10, i)));
+            }
+            pipeline.dispatch(batch, latency -> done.countDown());
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+
+            int total = 0;
+            for (List<ActionableResource> laneBatch : committed) {
+                total += laneBatch.size();
+                List<ActionableResource> expected = new ArrayList<>(batch);
+                expected.retainAll(laneBatch);
+                assertThat(laneBatch).containsExactlyElementsIn(expected).inOrder();
+            }
+            assertThat(total).isEqualTo(batch.size());
+        }
+    }
+
+    @Test
+    public void batchAboveAnyListEntryIsCommittedAfterTheBatchesInFlight() throws InterruptedException {
+        List<List<ActionableResource>> committed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        try (CommitPipeline pipeline = new CommitPipeline("test", LANES, laneBatch -> {
+            if (laneBatch.get(0).getInstanceIdentifier().equals(nodePath(1))) {
+                awaitUninterruptibly(release);
+            }
+            committed.add(laneBatch);
+        })) {
+            ActionableResource node = resource(nodePath(1));
+            pipeline.dispatch(Collections.singletonList(node), latency -> done.countDown());
+            ActionableResource nodes = resource(InstanceIdentifier.create(Nodes.class));
+            ActionableResource connector = resource(connectorPath(2, 1));
+            Thread releaser = new Thread(() -> {
+                sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+                release.countDown();
+            });
+            releaser.start();
+            pipeline.dispatch(Arrays.asList(nodes, connector), latency -> done.countDown());
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(committed).containsExactly(Collections.singletonList(node), Arrays.asList(nodes, connector))
+                    .inOrder();
+        }
+        assertThat(CommitPipeline.isBelowListEntry(InstanceIdentifier.create(Nodes.class))).isFalse();
+        assertThat(CommitPipeline.isBelowListEntry(null)).isFalse();
+        assertThat(CommitPipeline.isBelowListEntry(nodePath(1))).isTrue();
+    }
+
+    @Test
+    public void interruptedDispatchStillHandsOffTheRestOfThePartlyDispatchedBatch() throws InterruptedException {
+        List<ActionableResource> committed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        ActionableResource blocker = resource(nodePath(0));
+        try (CommitPipeline pipeline = new CommitPipeline("test", LANES, laneBatch -> {
+            awaitUninterruptibly(release);
+            committed.addAll(laneBatch);
+        })) {
+            // every permit of the window but one is held by a commit waiting for the release, so the second part of
+            // the batch waits for a permit
+            for (int i = 0; i < LANES - 1; i++) {
+                pipeline.dispatch(Collections.singletonList(blocker), latency -> { });
+            }
+            ActionableResource first = resource(connectorPath(1, 1));
+            ActionableResource second = resource(connectorPath(1, 1));
+            for (int dpn = 2; CommitPipeline.laneOf(second.getInstanceIdentifier(), LANES)
+                    == CommitPipeline.laneOf(first.getInstanceIdentifier(), LANES); dpn++) {
+                second = resource(connectorPath(dpn, 1));
+            }
+            List<ActionableResource> batch = Arrays.asList(first, second);
+            AtomicBoolean interrupted = new AtomicBoolean();
+            Thread dispatcher = new Thread(() -> {
+                try {
+                    pipeline.dispatch(batch, latency -> done.countDown());
+                    interrupted.set(Thread.currentThread().isInterrupted());
+                } catch (InterruptedException e) {
+                    throw new AssertionError("Interrupted after a part of the batch was dispatched", e);
+                }
+            });
+            dispatcher.start();
+            sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+            dispatcher.interrupt();
+            sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+            release.countDown();
+            dispatcher.join();
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(interrupted.get()).isTrue();
+            assertThat(committed).containsExactly(blocker, blocker, blocker, first, second);
+        }
+    }
+
+    private static ActionableResource resource(InstanceIdentifier<?> path) {
+        return new ActionableResourceImpl(path.toString(), path, ActionableResource.CREATE, null, null);
+    }
+
+    private static InstanceIdentifier<Node> nodePath(int dpn) {
+        return InstanceIdentifier.create(Nodes.class).child(Node.class, new NodeKey(new NodeId("openflow:" + dpn)));
+    }
+
+    private static InstanceIdentifier<NodeConnector> connectorPath(int dpn, int port) {
+        return nodePath(dpn).child(NodeConnector.class,
+                new NodeConnectorKey(new NodeConnectorId("openflow:" + dpn + ":" + port)));
+    }
+}
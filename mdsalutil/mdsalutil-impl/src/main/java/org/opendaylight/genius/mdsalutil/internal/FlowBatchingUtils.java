@@ -8,10 +8,10 @@
 package org.opendaylight.genius.mdsalutil.internal;
 
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.genius.utils.batching.ActionableResource;
 import org.opendaylight.genius.utils.batching.ActionableResourceImpl;
+import org.opendaylight.genius.utils.batching.BoundedResourceQueue;
 import org.opendaylight.genius.utils.batching.ResourceBatchingManager;
 import org.opendaylight.genius.utils.batching.ResourceHandler;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -25,6 +25,7 @@ public class FlowBatchingUtils {
     public static final int PERIODICITY = 500;
     public static Integer batchSize;
     public static Integer batchInterval;
+    private static final String INVENTORY_CONFIG_RES_TYPE = "MDSALUTIL-INVENTORY-CONFIG";
     private static DataBroker dataBroker;
     private static BlockingQueue<ActionableResource> inventoryConfigShardBufferQ;
 
@@ -47,7 +48,7 @@ public class FlowBatchingUtils {
             batchInterval = Integer.getInteger("batch.wait.time");
         }
         ResourceBatchingManager resBatchingManager = ResourceBatchingManager.getInstance();
-        resBatchingManager.registerBatchableResource("MDSALUTIL-INVENTORY-CONFIG", inventoryConfigShardBufferQ,
+        resBatchingManager.registerBatchableResource(INVENTORY_CONFIG_RES_TYPE, inventoryConfigShardBufferQ,
                 resourceHandler);
     }
 
@@ -76,6 +77,6 @@ public class FlowBatchingUtils {
     }
 
     static {
-        inventoryConfigShardBufferQ = new LinkedBlockingQueue<>();
+        inventoryConfigShardBufferQ = BoundedResourceQueue.newDefaultQueue(INVENTORY_CONFIG_RES_TYPE);
     }
 }